@@ -33,6 +33,9 @@ BROWSER="chrome"
 SUITE="testng.xml"
 PARALLEL="false"
 THREAD_COUNT="1"
+RERUN_MANIFEST=""
+CHANGED_SINCE=""
+SHARDS="1"
 
 # Parse command line arguments
 while [[ $# -gt 0 ]]; do
@@ -54,6 +57,24 @@ while [[ $# -gt 0 ]]; do
             TEST_CLASS="$2"
             shift 2
             ;;
+        -r|--rerun)
+            # Optional manifest path; defaults to the one written by the last run
+            if [[ -n "$2" && "$2" != -* ]]; then
+                RERUN_MANIFEST="$2"
+                shift 2
+            else
+                RERUN_MANIFEST="reports/rerun-manifest.json"
+                shift
+            fi
+            ;;
+        --shards)
+            SHARDS="$2"
+            shift 2
+            ;;
+        --changed-since)
+            CHANGED_SINCE="$2"
+            shift 2
+            ;;
         -h|--help)
             echo "Usage: $0 [OPTIONS]"
             echo "Options:"
@@ -61,12 +82,20 @@ while [[ $# -gt 0 ]]; do
             echo "  -s, --suite SUITE         TestNG suite file to run"
             echo "  -p, --parallel COUNT      Run tests in parallel with specified thread count"
             echo "  -t, --test CLASS          Run specific test class"
+            echo "  -r, --rerun [MANIFEST]    Rerun only the failed/skipped tests of a previous run"
+            echo "                            (default manifest: reports/rerun-manifest.json)"
+            echo "      --changed-since REF   Run only the tests affected by the files changed since a git ref"
+            echo "      --shards N            Split the suite across N JVMs balanced by recorded durations and"
+            echo "                            merge their reports (-p sets the workers of each shard)"
             echo "  -h, --help               Show this help message"
             echo ""
             echo "Examples:"
             echo "  $0 -b firefox -s testng.xml"
             echo "  $0 -t LoginTests -b chrome"
             echo "  $0 -p 3 -b chrome"
+            echo "  $0 --rerun -p 4"
+            echo "  $0 --changed-since origin/main"
+            echo "  $0 --shards 3 -p 2"
             exit 0
             ;;
         *)
@@ -89,6 +118,43 @@ case $BROWSER in
         ;;
 esac
 
+if ! [[ "$SHARDS" =~ ^[1-9][0-9]*$ ]]; then
+    print_error "Invalid shard count: $SHARDS"
+    exit 1
+fi
+if [ "$SHARDS" -gt 1 ] && [ ! -z "$TEST_CLASS" ]; then
+    print_error "--shards runs a suite; it cannot be combined with -t"
+    exit 1
+fi
+
+# A rerun needs a manifest with something in it
+if [ ! -z "$RERUN_MANIFEST" ]; then
+    if [ ! -f "$RERUN_MANIFEST" ]; then
+        print_error "Rerun manifest not found: $RERUN_MANIFEST"
+        exit 1
+    fi
+    if ! grep -q '"method"' "$RERUN_MANIFEST"; then
+        print_status "Nothing to rerun: $RERUN_MANIFEST lists no failed or skipped tests."
+        exit 0
+    fi
+    # The run overwrites the manifest with its own failures
+    cp "$RERUN_MANIFEST" "$RERUN_MANIFEST.previous"
+    RERUN_MANIFEST="$RERUN_MANIFEST.previous"
+fi
+
+# Change-based selection: the files changed since REF (committed and uncommitted)
+if [ ! -z "$CHANGED_SINCE" ]; then
+    if ! CHANGED_FILES=$(git diff --name-only "$CHANGED_SINCE" -- 2>/dev/null); then
+        print_error "Cannot diff against git ref: $CHANGED_SINCE"
+        exit 1
+    fi
+    CHANGED_FILES=$(echo "$CHANGED_FILES" | paste -sd, -)
+    if [ -z "$CHANGED_FILES" ]; then
+        print_status "Nothing changed since $CHANGED_SINCE; no tests to run."
+        exit 0
+    fi
+fi
+
 # Clean previous reports
 print_status "Cleaning previous test reports..."
 rm -rf reports/screenshots/*
@@ -112,6 +178,19 @@ fi
 
 MVN_CMD="$MVN_CMD -Dbrowser=$BROWSER"
 
+if [ ! -z "$RERUN_MANIFEST" ]; then
+    MVN_CMD="$MVN_CMD -Drerun.from=$RERUN_MANIFEST"
+    print_status "Rerunning the failed/skipped tests listed in: $RERUN_MANIFEST"
+    if [ "$PARALLEL" = "true" ]; then
+        MVN_CMD="$MVN_CMD -Drerun.thread.count=$THREAD_COUNT"
+    fi
+fi
+
+if [ ! -z "$CHANGED_FILES" ]; then
+    MVN_CMD="$MVN_CMD -Dimpact.changed.files=$CHANGED_FILES"
+    print_status "Running the tests affected by the changes since: $CHANGED_SINCE"
+fi
+
 if [ "$PARALLEL" = "true" ]; then
     MVN_CMD="$MVN_CMD -DthreadCount=$THREAD_COUNT"
     print_status "Parallel execution enabled with $THREAD_COUNT threads"
@@ -119,12 +198,74 @@ fi
 
 # Execute tests
 print_header "Executing Tests"
-print_status "Command: $MVN_CMD"
 
-eval $MVN_CMD
+if [ "$SHARDS" -gt 1 ]; then
+    # One JVM per shard, each in its own working directory (reports/, logs/, test-output/, perf-baselines/);
+    # src/ is shared so config and test data resolve as usual
+    ROOT=$(pwd)
+    SHARD_ROOT="$ROOT/target/shards"
+    JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+    print_status "Compiling and resolving the test classpath..."
+    if ! mvn -q clean test-compile dependency:build-classpath -Dmdep.outputFile="$ROOT/target/classpath.txt"; then
+        print_error "Build failed"
+        exit 1
+    fi
+    CLASSPATH_ALL="$ROOT/target/test-classes:$ROOT/target/classes:$(cat "$ROOT/target/classpath.txt")"
+
+    SHARD_PROPS="-Dshard.count=$SHARDS -Dbrowser=$BROWSER"
+    if [ ! -z "$RERUN_MANIFEST" ]; then
+        SHARD_PROPS="$SHARD_PROPS -Drerun.from=$(cd "$(dirname "$RERUN_MANIFEST")" && pwd)/$(basename "$RERUN_MANIFEST")"
+        if [ "$PARALLEL" = "true" ]; then
+            SHARD_PROPS="$SHARD_PROPS -Drerun.thread.count=$THREAD_COUNT"
+        fi
+    fi
+    if [ ! -z "$CHANGED_FILES" ]; then
+        SHARD_PROPS="$SHARD_PROPS -Dimpact.changed.files=$CHANGED_FILES"
+    fi
+    # Shards run side by side: each serves its live dashboard (if enabled) on the configured port plus its index
+    DASHBOARD_PORT=$(grep -E '^live\.dashboard\.port=' src/main/resources/config.properties | cut -d= -f2 | tr -d '[:space:]')
+    DASHBOARD_PORT=${DASHBOARD_PORT:-8090}
+    TESTNG_ARGS="-d test-output"
+    # Shards run in their own directories: a relative suite path is resolved against the project root
+    case "$SUITE" in
+        /*) SUITE_FILE="$SUITE" ;;
+        *) SUITE_FILE="$ROOT/$SUITE" ;;
+    esac
+    if [ "$PARALLEL" = "true" ]; then
+        TESTNG_ARGS="$TESTNG_ARGS -threadcount $THREAD_COUNT"
+    fi
+
+    for ((i = 0; i < SHARDS; i++)); do
+        SHARD_DIR="$SHARD_ROOT/shard-$i"
+        mkdir -p "$SHARD_DIR"
+        ln -s "$ROOT/src" "$SHARD_DIR/src"
+        # Every shard balances with the same durations; ReportMerger merges their updates back
+        if [ -d "$ROOT/perf-baselines" ]; then
+            cp -r "$ROOT/perf-baselines" "$SHARD_DIR/"
+        fi
+        print_status "Starting shard $((i + 1))/$SHARDS (log: $SHARD_DIR/shard.log)"
+        (
+            cd "$SHARD_DIR" && "$JAVA" -cp "$CLASSPATH_ALL" $SHARD_PROPS -Dshard.index=$i \
+                -Dlive.dashboard.port=$((DASHBOARD_PORT + i)) \
+                org.testng.TestNG $TESTNG_ARGS "$SUITE_FILE" > shard.log 2>&1
+            echo $? > exit-code
+        ) &
+    done
+    wait
+
+    print_header "Merging Shard Reports"
+    mkdir -p reports
+    "$JAVA" -cp "$CLASSPATH_ALL" com.sagar.automation.utilities.ReportMerger "$SHARD_ROOT" reports perf-baselines
+    TEST_EXIT=$?
+    cat reports/shards-summary.txt 2>/dev/null
+else
+    print_status "Command: $MVN_CMD"
+    eval $MVN_CMD
+    TEST_EXIT=$?
+fi
 
 # Check test results
-if [ $? -eq 0 ]; then
+if [ $TEST_EXIT -eq 0 ]; then
     print_status "✅ Tests completed successfully!"
 else
     print_error "❌ Some tests failed. Check the reports for details."
@@ -159,4 +300,18 @@ elif [ ! -z "$SUITE" ]; then
 fi
 if [ "$PARALLEL" = "true" ]; then
     echo "Parallel Execution: $THREAD_COUNT threads"
-fi
\ No newline at end of file
+fi
+if [ "$SHARDS" -gt 1 ]; then
+    echo "Shards: $SHARDS (per-shard logs and reports: target/shards/)"
+fi
+if [ ! -z "$CHANGED_SINCE" ]; then
+    echo "Changed since: $CHANGED_SINCE"
+fi
+if [ ! -z "$RERUN_MANIFEST" ]; then
+    echo "Rerun of: $RERUN_MANIFEST"
+fi
+if grep -q '"method"' reports/rerun-manifest.json 2>/dev/null; then
+    print_status "🔁 Rerun the failed/skipped tests with: $0 --rerun"
+fi
+
+exit $TEST_EXIT
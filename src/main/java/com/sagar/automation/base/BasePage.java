@@ -1,9 +1,16 @@
 package com.sagar.automation.base;
 
 import com.sagar.automation.utilities.ConfigReader;
+import com.sagar.automation.utilities.FlightRecorderEvents;
+import com.sagar.automation.utilities.PagePerformance;
+import com.sagar.automation.utilities.PerformanceBudget;
+import com.sagar.automation.utilities.SuiteMetrics;
+import com.sagar.automation.utilities.TimeAccounting;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
 import org.openqa.selenium.support.ui.WebDriverWait;
@@ -32,7 +39,7 @@ public abstract class BasePage { //Made  abstract because its not concrete page
      * @return The WebElement once its visible
      */
     protected WebElement waitForElementVisible(By locator) {
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return waitFor(wait, ExpectedConditions.visibilityOfElementLocated(locator));
     }
 
     /**
@@ -42,7 +49,29 @@ public abstract class BasePage { //Made  abstract because its not concrete page
      * @return The WebElement once its clickable
      */
     protected WebElement waitForElementClickable(By locator) {
-        return wait.until(ExpectedConditions.elementToBeClickable(locator));
+        return waitFor(wait, ExpectedConditions.elementToBeClickable(locator));
+    }
+
+    /**
+     * Waits for a condition, charging the time to explicit waits and recording it in the suite metrics and as a JFR wait event
+     *
+     * @param wait      The wait to use, e.g. the page's default wait or a shorter one
+     * @param condition The condition to wait for
+     * @return The value returned by the condition
+     */
+    @SuppressWarnings("try") // the span is a try-with-resources that the body never references
+    protected <T> T waitFor(WebDriverWait wait, ExpectedCondition<T> condition) {
+        FlightRecorderEvents.WaitEvent event = FlightRecorderEvents.beginWait();
+        long start = System.nanoTime();
+        boolean satisfied = false;
+        try (TimeAccounting.Span ignored = TimeAccounting.enter(TimeAccounting.Phase.EXPLICIT_WAIT)) {
+            T result = wait.until(condition);
+            satisfied = true;
+            return result;
+        } finally {
+            SuiteMetrics.WAIT_SECONDS.labels(satisfied ? "satisfied" : "timed_out").observe(SuiteMetrics.seconds(System.nanoTime() - start));
+            FlightRecorderEvents.endWait(event, condition, satisfied);
+        }
     }
 
     /**
@@ -89,6 +118,25 @@ public abstract class BasePage { //Made  abstract because its not concrete page
         }
     }
 
+    /**
+     * Checks the page that was just entered against its performance budget.
+     * Reuses the capture of the navigation that led here (e.g. a Header link click) and only
+     * captures again if the browser has moved on to another URL since then.
+     *
+     * @param budget The budget declared by the page object
+     */
+    protected void checkPerformanceBudget(PerformanceBudget budget) {
+        PagePerformance.Sample sample = PagePerformance.getLastSample();
+        try {
+            if (sample == null || !sample.url.equals(driver.getCurrentUrl())) {
+                sample = PagePerformance.capture(driver);
+            }
+        } catch (WebDriverException e) {
+            return; // No page to measure; the functional checks will report the real problem
+        }
+        budget.check(sample);
+    }
+
     /**
      * Helper method to select an option from a dropdown by visible text.
      * @param locator The By locator of the dropdown element.
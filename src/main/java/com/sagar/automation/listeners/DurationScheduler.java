@@ -0,0 +1,388 @@
+package com.sagar.automation.listeners;
+
+import com.sagar.automation.utilities.ConfigReader;
+import com.sagar.automation.utilities.ResultCache;
+import com.sagar.automation.utilities.TestLogContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONObject;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlTest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.logging.log4j.util.Unbox.box;
+
+/**
+ * Orders the classes of each &lt;test&gt; longest-first, using the durations of previous runs.
+ * - Every test method invocation is timed together with its BeforeMethod/AfterMethod (browser launch and quit)
+ * per data row, averaged over the &lt;test&gt;s that ran it and smoothed into {@code perf-baselines/test-durations.json}
+ * at suite end. A method's estimate is the sum of its data rows.
+ * - Under parallel="classes" TestNG hands classes to whichever worker is free, so submitting the longest classes
+ * first gives longest-processing-time-first scheduling. Methods keep their order inside a class.
+ * - Methods without history are estimated from the average of the known ones.
+ * - The rows of a method with a parallel data provider run on the data provider pool (data-provider-thread-count
+ * workers, one pool per suite with share-thread-pool-for-data-providers) while its class worker waits for them. They
+ * are modelled as separate units on that pool; the pool's own makespan bounds the &lt;test&gt; too.
+ * The predicted makespan (original and scheduled order) is compared with the actual &lt;test&gt; duration.
+ * Disable with {@code scheduler.enabled=false}.
+ */
+public class DurationScheduler implements IMethodInterceptor, IInvokedMethodListener, ITestListener, ISuiteListener {
+    private static final Logger log = LogManager.getLogger(DurationScheduler.class.getName());
+
+    private static final String DEFAULT_DURATIONS_FILE = "perf-baselines/test-durations.json";
+    static final long DEFAULT_ESTIMATE_MILLIS = 20_000;
+    private static final double SMOOTHING = 0.5; // Weight of the latest run
+
+    private static final Map<String, Makespan> makespans = new ConcurrentHashMap<>();
+
+    // "Class.method|data row" -> duration in ms; the same row can run in several <test>s of one run
+    private final Map<String, Long> knownRows = new ConcurrentHashMap<>();
+    private final Map<String, long[]> measuredRows = new ConcurrentHashMap<>(); // {total ms, invocations}
+    // Per worker: configuration time waiting for the next test, and the last test (for its AfterMethod)
+    private final ThreadLocal<Long> invocationStart = new ThreadLocal<>();
+    private final ThreadLocal<Long> pendingConfigMillis = new ThreadLocal<>();
+    private final ThreadLocal<String> lastRow = new ThreadLocal<>();
+
+    /**
+     * @return Rows of {&lt;test&gt;, threads, data row threads, classes, predicted original order, predicted scheduled,
+     * actual} with a header row first, for the &lt;test&gt;s that have finished.
+     */
+    public static String[][] getMakespanTable() {
+        List<Makespan> rows = new ArrayList<>(makespans.values());
+        rows.sort((a, b) -> Long.compare(a.startedAt, b.startedAt));
+        String[][] table = new String[rows.size() + 1][];
+        table[0] = new String[]{"<test>", "Threads", "Data row threads", "Classes", "Predicted, original order (ms)",
+                "Predicted, longest first (ms)", "Actual (ms)"};
+        for (int i = 0; i < rows.size(); i++) {
+            Makespan makespan = rows.get(i);
+            table[i + 1] = new String[]{makespan.test, String.valueOf(makespan.threads),
+                    makespan.dataProviderThreads == 0 ? "-" : String.valueOf(makespan.dataProviderThreads), String.valueOf(makespan.classes),
+                    String.valueOf(makespan.predictedListed), String.valueOf(makespan.predictedScheduled),
+                    makespan.actual < 0 ? "running" : String.valueOf(makespan.actual)};
+        }
+        return table;
+    }
+
+    public static boolean hasMakespans() {
+        return !makespans.isEmpty();
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        makespans.clear();
+        loadDurations();
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!isSchedulingEnabled() || methods.isEmpty()) {
+            return methods;
+        }
+        // Classes in the order TestNG gave them, each with its methods in their original order
+        Map<Class<?>, List<IMethodInstance>> byClass = new LinkedHashMap<>();
+        for (IMethodInstance instance : methods) {
+            byClass.computeIfAbsent(instance.getMethod().getRealClass(), k -> new ArrayList<>()).add(instance);
+        }
+        Map<String, Long> knownMethods = knownMethods();
+        XmlTest xmlTest = context.getCurrentXmlTest();
+        int threads = threadCount(xmlTest);
+        int dataProviderThreads = Math.max(1, xmlTest.getSuite().getDataProviderThreadCount());
+        // Class worker time per class, and the data rows each class puts on the data provider pool
+        Map<Class<?>, Long> estimates = new LinkedHashMap<>();
+        Map<Class<?>, List<Long>> pooledRows = new LinkedHashMap<>();
+        for (Map.Entry<Class<?>, List<IMethodInstance>> entry : byClass.entrySet()) {
+            long estimate = 0;
+            List<Long> rows = new ArrayList<>();
+            for (IMethodInstance instance : entry.getValue()) {
+                ITestNGMethod method = instance.getMethod();
+                if (runsOnDataProviderPool(method)) {
+                    List<Long> methodRows = rowEstimates(method, knownMethods);
+                    rows.addAll(methodRows);
+                    // The class worker waits until the pool has run the method's rows
+                    estimate += simulate(methodRows, dataProviderThreads);
+                } else {
+                    estimate += estimate(method, knownMethods);
+                }
+            }
+            estimates.put(entry.getKey(), estimate);
+            pooledRows.put(entry.getKey(), rows);
+        }
+        List<Class<?>> listed = new ArrayList<>(byClass.keySet());
+        List<Class<?>> scheduled = new ArrayList<>(listed);
+        scheduled.sort((a, b) -> Long.compare(estimates.get(b), estimates.get(a)));
+
+        List<IMethodInstance> ordered = new ArrayList<>(methods.size());
+        for (Class<?> testClass : scheduled) {
+            ordered.addAll(byClass.get(testClass));
+        }
+        boolean sharedPool = xmlTest.getSuite().isShareThreadPoolForDataProviders();
+        boolean anyPooled = pooledRows.values().stream().anyMatch(rows -> !rows.isEmpty());
+        Makespan makespan = new Makespan(context.getName(), threads, anyPooled ? dataProviderThreads : 0, byClass.size(),
+                predict(listed, estimates, pooledRows, threads, sharedPool ? dataProviderThreads : 0),
+                predict(scheduled, estimates, pooledRows, threads, sharedPool ? dataProviderThreads : 0));
+        makespans.put(context.getName(), makespan);
+        log.info("Scheduled {} classes of <test> '{}' longest first on {} threads: predicted {} ms (original order {} ms)",
+                box(byClass.size()), context.getName(), box(threads), box(makespan.predictedScheduled), box(makespan.predictedListed));
+        return ordered;
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        invocationStart.set(System.nanoTime());
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        Long start = invocationStart.get();
+        if (start == null) {
+            return;
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        ITestNGMethod testMethod = method.getTestMethod();
+        if (method.isTestMethod()) {
+            Long config = pendingConfigMillis.get();
+            pendingConfigMillis.remove();
+            if (testResult.getStatus() == ITestResult.SKIP || testResult.getAttribute(ResultCache.CACHED_ATTRIBUTE) != null) {
+                return; // Skipped (e.g. by the suite gate) or cached: says nothing about how long the test takes
+            }
+            String rowKey = key(testMethod) + "|" + TestLogContext.describeDataRow(testMethod.getMethodName(), testResult.getParameters());
+            measure(rowKey, millis + (config == null ? 0 : config), 1);
+            lastRow.set(rowKey);
+        } else if (testMethod.isBeforeMethodConfiguration()) {
+            pendingConfigMillis.set(millis + (pendingConfigMillis.get() == null ? 0 : pendingConfigMillis.get()));
+        } else if (testMethod.isAfterMethodConfiguration() && lastRow.get() != null) {
+            measure(lastRow.get(), millis, 0);
+            lastRow.remove();
+        }
+    }
+
+    @Override
+    public void onFinish(ITestContext context) {
+        Makespan makespan = makespans.get(context.getName());
+        if (makespan != null) {
+            makespan.actual = context.getEndDate().getTime() - context.getStartDate().getTime();
+            log.info("<test> '{}' took {} ms, predicted {} ms", context.getName(), box(makespan.actual), box(makespan.predictedScheduled));
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (measuredRows.isEmpty()) {
+            return;
+        }
+        Map<String, Long> rows = new TreeMap<>(knownRows);
+        for (Map.Entry<String, long[]> entry : measuredRows.entrySet()) {
+            long average = entry.getValue()[0] / Math.max(1, entry.getValue()[1]);
+            Long previous = knownRows.get(entry.getKey());
+            rows.put(entry.getKey(), previous == null ? average : Math.round(SMOOTHING * average + (1 - SMOOTHING) * previous));
+        }
+        JSONObject json = new JSONObject();
+        json.put("rows", new JSONObject(rows));
+        Path file = getDurationsFile();
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, json.toString(2).getBytes(StandardCharsets.UTF_8));
+            log.info("Test durations written to: {}", file);
+        } catch (IOException e) {
+            log.error("Failed to write test durations to: " + file, e);
+        }
+    }
+
+    private void measure(String rowKey, long millis, int invocations) {
+        measuredRows.compute(rowKey, (k, totals) -> {
+            long[] updated = totals == null ? new long[2] : totals;
+            updated[0] += millis;
+            updated[1] += invocations;
+            return updated;
+        });
+    }
+
+    /**
+     * @return Known duration per "Class.method": the sum of its data rows.
+     */
+    private Map<String, Long> knownMethods() {
+        Map<String, Long> methods = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> row : knownRows.entrySet()) {
+            methods.merge(row.getKey().substring(0, row.getKey().indexOf('|')), row.getValue(), Long::sum);
+        }
+        return methods;
+    }
+
+    /**
+     * Estimated duration of one method: its known duration, else the average of all known methods.
+     */
+    private static long estimate(ITestNGMethod method, Map<String, Long> knownMethods) {
+        Long known = knownMethods.get(key(method));
+        if (known != null) {
+            return known;
+        }
+        return knownMethods.isEmpty() ? DEFAULT_ESTIMATE_MILLIS
+                : knownMethods.values().stream().mapToLong(Long::longValue).sum() / knownMethods.size();
+    }
+
+    /**
+     * Estimated duration of each data row of a method: its known rows, else one unit of the method's estimate.
+     */
+    private List<Long> rowEstimates(ITestNGMethod method, Map<String, Long> knownMethods) {
+        String prefix = key(method) + "|";
+        List<Long> rows = new ArrayList<>();
+        for (Map.Entry<String, Long> row : knownRows.entrySet()) {
+            if (row.getKey().startsWith(prefix)) {
+                rows.add(row.getValue());
+            }
+        }
+        return rows.isEmpty() ? Collections.singletonList(estimate(method, knownMethods)) : rows;
+    }
+
+    /**
+     * Predicted makespan of the classes in the given order: the class workers' makespan or, with a shared data
+     * provider pool, that pool's makespan over all pooled rows, whichever is longer.
+     *
+     * @param sharedPoolThreads Workers of the suite-wide data provider pool; 0 if the suite does not share one.
+     */
+    private static long predict(List<Class<?>> order, Map<Class<?>, Long> estimates, Map<Class<?>, List<Long>> pooledRows,
+                                int threads, int sharedPoolThreads) {
+        List<Long> classDurations = new ArrayList<>();
+        List<Long> rows = new ArrayList<>();
+        for (Class<?> testClass : order) {
+            classDurations.add(estimates.get(testClass));
+            rows.addAll(pooledRows.get(testClass));
+        }
+        long makespan = simulate(classDurations, threads);
+        return sharedPoolThreads == 0 ? makespan : Math.max(makespan, simulate(rows, sharedPoolThreads));
+    }
+
+    /**
+     * @return True if the rows of the method run on the data provider pool: it has a parallel data provider.
+     */
+    private static boolean runsOnDataProviderPool(ITestNGMethod method) {
+        Method testMethod = method.getConstructorOrMethod().getMethod();
+        Test test = testMethod == null ? null : testMethod.getAnnotation(Test.class);
+        if (!method.isDataDriven() || test == null) {
+            return false;
+        }
+        Class<?> providerClass = test.dataProviderClass() == Object.class ? method.getRealClass() : test.dataProviderClass();
+        for (Method candidate : providerClass.getMethods()) {
+            DataProvider provider = candidate.getAnnotation(DataProvider.class);
+            if (provider != null && test.dataProvider().equals(provider.name().isEmpty() ? candidate.getName() : provider.name())) {
+                return provider.parallel();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Greedy list scheduling: each unit (a class, or a data row on the data provider pool) goes to the worker that
+     * becomes free first.
+     *
+     * @return The resulting makespan.
+     */
+    private static long simulate(List<Long> durations, int threads) {
+        long[] workers = new long[threads];
+        for (long duration : durations) {
+            int free = 0;
+            for (int i = 1; i < workers.length; i++) {
+                if (workers[i] < workers[free]) {
+                    free = i;
+                }
+            }
+            workers[free] += duration;
+        }
+        return Arrays.stream(workers).max().orElse(0);
+    }
+
+    private static int threadCount(XmlTest xmlTest) {
+        return xmlTest.getParallel().isParallel() ? Math.max(1, xmlTest.getThreadCount()) : 1;
+    }
+
+    private void loadDurations() {
+        knownRows.clear();
+        measuredRows.clear();
+        knownRows.putAll(readDurations());
+    }
+
+    /**
+     * @return The recorded durations in ms by "Class.method|data row" (e.g. "LoginTests.LoginTest|LoginTest#2");
+     * empty if none were recorded yet.
+     */
+    static Map<String, Long> readDurations() {
+        Map<String, Long> durations = new LinkedHashMap<>();
+        Path file = getDurationsFile();
+        if (!Files.exists(file)) {
+            return durations;
+        }
+        try {
+            JSONObject json = new JSONObject(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+            JSONObject rows = json.optJSONObject("rows");
+            for (String key : rows == null ? new ArrayList<String>() : rows.keySet()) {
+                if (key.indexOf('|') > 0) {
+                    durations.put(key, rows.getLong(key));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to read test durations from: " + file, e);
+        }
+        return durations;
+    }
+
+    private static String key(ITestNGMethod method) {
+        return method.getRealClass().getSimpleName() + "." + method.getMethodName();
+    }
+
+    private static boolean isSchedulingEnabled() {
+        return Boolean.parseBoolean(ConfigReader.getProperty("scheduler.enabled", "true"));
+    }
+
+    private static Path getDurationsFile() {
+        return Paths.get(ConfigReader.getProperty("scheduler.durations.file", DEFAULT_DURATIONS_FILE));
+    }
+
+    private static final class Makespan {
+        private final String test;
+        private final int threads;
+        private final int dataProviderThreads; // 0 if no rows ran on the data provider pool
+        private final int classes;
+        private final long predictedListed;
+        private final long predictedScheduled;
+        private final long startedAt = System.nanoTime();
+        private volatile long actual = -1;
+
+        private Makespan(String test, int threads, int dataProviderThreads, int classes, long predictedListed,
+                         long predictedScheduled) {
+            this.test = test;
+            this.threads = threads;
+            this.dataProviderThreads = dataProviderThreads;
+            this.classes = classes;
+            this.predictedListed = predictedListed;
+            this.predictedScheduled = predictedScheduled;
+        }
+    }
+}
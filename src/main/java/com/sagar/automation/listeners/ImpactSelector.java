@@ -0,0 +1,204 @@
+package com.sagar.automation.listeners;
+
+import com.sagar.automation.utilities.ConfigReader;
+import com.sagar.automation.utilities.TestImpactIndex;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.apache.logging.log4j.util.Unbox.box;
+
+/**
+ * Change-based test selection: with {@code -Dimpact.changed.files=<paths>} (comma-separated, relative to the project,
+ * as printed by {@code git diff --name-only}; {@code scripts/run-tests.sh --changed-since REF}) only the tests that
+ * reach a changed class run.
+ * - What a test reaches comes from the static usage index {@link TestImpactIndex}, built from the compiled test
+ * classes and written to {@code reports/test-impact-index.json}.
+ * - Documentation (*.md) is ignored. Any other change that is not a Java class (test data, config, pom.xml, suite
+ * files), or a change to the fixture every test runs (BaseTest and what it uses), runs the whole suite.
+ * - Methods a selected method depends on stay selected; classes and &lt;test&gt;s left empty are removed.
+ * Without changed files the suite is left as it is.
+ */
+public class ImpactSelector implements IAlterSuiteListener {
+    private static final Logger log = LogManager.getLogger(ImpactSelector.class.getName());
+
+    private static final Pattern JAVA_SOURCE = Pattern.compile("(?:.*/)?src/(?:main|test)/java/(.+)\\.java");
+    private static final Pattern PACKAGE_DECLARATION = Pattern.compile("\\s*package\\s+([\\w.]+)\\s*;.*");
+    private static final List<Class<? extends Annotation>> CONFIGURATION_ANNOTATIONS =
+            Arrays.asList(BeforeMethod.class, AfterMethod.class, BeforeClass.class, AfterClass.class);
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        String changedFiles = ConfigReader.getProperty("impact.changed.files", "");
+        if (changedFiles.trim().isEmpty()) {
+            return;
+        }
+        Set<String> changedClasses = new TreeSet<>();
+        for (String file : changedFiles.split(",")) {
+            String path = file.trim().replace('\\', '/');
+            if (path.isEmpty() || path.endsWith(".md")) {
+                continue;
+            }
+            Matcher source = JAVA_SOURCE.matcher(path);
+            if (!source.matches()) {
+                log.info("Changed file '{}' is not a Java class; running the whole suite.", path);
+                return;
+            }
+            changedClasses.add(className(path, source.group(1)));
+        }
+
+        TestImpactIndex index = buildIndex(suites);
+        writeIndex(index);
+        for (String changed : changedClasses) {
+            if (index.getFixtureClasses().contains(changed)) {
+                log.info("Changed class '{}' is part of the fixture of every test; running the whole suite.", changed);
+                return;
+            }
+        }
+        int selectedTotal = 0;
+        int keptTotal = 0;
+        for (XmlSuite suite : suites) {
+            Iterator<XmlTest> tests = suite.getTests().iterator();
+            while (tests.hasNext()) {
+                XmlTest xmlTest = tests.next();
+                if (!xmlTest.getXmlPackages().isEmpty()) {
+                    log.info("<test> '{}' selects by packages; not narrowed.", xmlTest.getName());
+                    continue;
+                }
+                Iterator<XmlClass> classes = xmlTest.getXmlClasses().iterator();
+                while (classes.hasNext()) {
+                    XmlClass xmlClass = classes.next();
+                    Class<?> testClass = SuitePlanner.loadClass(xmlClass);
+                    if (testClass == null) {
+                        continue;
+                    }
+                    Map<String, Method> testMethods = SuitePlanner.testMethods(testClass);
+                    Set<String> selected = SuitePlanner.selectedMethods(xmlClass, testMethods.keySet());
+                    Set<String> affected = new LinkedHashSet<>();
+                    for (String methodName : selected) {
+                        if (index.reachesAny(testClass, methodName, changedClasses)) {
+                            affected.add(methodName);
+                        }
+                    }
+                    SuitePlanner.addDependencies(affected, testMethods);
+                    selectedTotal += selected.size();
+                    keptTotal += affected.size();
+                    if (affected.isEmpty()) {
+                        classes.remove();
+                    } else if (!affected.equals(selected)) {
+                        List<XmlInclude> includes = new ArrayList<>();
+                        for (String methodName : affected) {
+                            includes.add(new XmlInclude(methodName));
+                        }
+                        xmlClass.setIncludedMethods(includes);
+                        xmlClass.setExcludedMethods(new ArrayList<>());
+                    }
+                }
+                if (xmlTest.getXmlClasses().isEmpty()) {
+                    log.info("<test> '{}' reaches none of the changed classes; removed.", xmlTest.getName());
+                    tests.remove();
+                }
+            }
+        }
+        log.info("Change-based selection: {} of {} selected test methods reach the changed classes {}",
+                box(keptTotal), box(selectedTotal), changedClasses);
+    }
+
+    /**
+     * The class a changed source file declares. Source folders do not always match the package (BaseTest), so the
+     * package declaration is read when the file still exists; a deleted file falls back to its path.
+     */
+    private static String className(String path, String pathName) {
+        String simpleName = pathName.substring(pathName.lastIndexOf('/') + 1);
+        Path file = Paths.get(System.getProperty("user.dir"), path);
+        if (Files.isRegularFile(file)) {
+            try {
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    Matcher declaration = PACKAGE_DECLARATION.matcher(line);
+                    if (declaration.matches()) {
+                        return declaration.group(1) + "." + simpleName;
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("Could not read changed file '{}': {}", path, e.getMessage());
+            }
+        }
+        return pathName.replace('/', '.');
+    }
+
+    /**
+     * Indexes every test method of the classes of the suites.
+     */
+    private static TestImpactIndex buildIndex(List<XmlSuite> suites) {
+        TestImpactIndex index = new TestImpactIndex();
+        Set<Class<?>> indexed = new LinkedHashSet<>();
+        for (XmlSuite suite : suites) {
+            for (XmlTest xmlTest : suite.getTests()) {
+                for (XmlClass xmlClass : xmlTest.getXmlClasses()) {
+                    Class<?> testClass = SuitePlanner.loadClass(xmlClass);
+                    if (testClass == null || !indexed.add(testClass)) {
+                        continue;
+                    }
+                    List<String> configurationRoots = configurationMethods(testClass);
+                    for (String methodName : SuitePlanner.testMethods(testClass).keySet()) {
+                        index.add(testClass, methodName, configurationRoots);
+                    }
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Configuration methods the test class declares itself; those of its superclasses belong to the fixture.
+     */
+    private static List<String> configurationMethods(Class<?> testClass) {
+        List<String> methods = new ArrayList<>();
+        for (Method method : testClass.getDeclaredMethods()) {
+            for (Class<? extends Annotation> annotation : CONFIGURATION_ANNOTATIONS) {
+                if (method.isAnnotationPresent(annotation)) {
+                    methods.add(method.getName());
+                    break;
+                }
+            }
+        }
+        return methods;
+    }
+
+    private static void writeIndex(TestImpactIndex index) {
+        Path file = Paths.get(System.getProperty("user.dir"), "reports", "test-impact-index.json");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, index.toJson().toString(2).getBytes(StandardCharsets.UTF_8));
+            log.info("Test impact index written to: {}", file);
+        } catch (IOException e) {
+            log.error("Failed to write the test impact index to: " + file, e);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.sagar.automation.listeners;
+
+import com.sagar.automation.utilities.ConfigReader;
+import com.sagar.automation.utilities.ExcelReader;
+import com.sagar.automation.utilities.TestLogContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.testng.IAlterSuiteListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ISuiteResult;
+import org.testng.ITestContext;
+import org.testng.ITestResult;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.apache.logging.log4j.util.Unbox.box;
+
+/**
+ * Writes the failed and skipped tests of a run to {@code reports/rerun-manifest.json}, and reruns exactly those
+ * when started with {@code -Drerun.from=<manifest>} ({@code scripts/run-tests.sh --rerun}).
+ * - An entry identifies the &lt;test&gt;, class, method and, for Excel-driven tests, the data row by its 'TestName'
+ * and its position among the rows of that TestName ({@link ExcelReader#DATA_ROW_KEY}).
+ * - On a rerun every &lt;test&gt; keeps only the classes and methods listed for it (plus the methods those depend on
+ * through dependsOnMethods, which rerun even if they passed), so its parameters (browser,
+ * network profile, budgets, gate) still apply; {@link #selectRows} narrows the Excel data to the listed rows.
+ * Classes still run in parallel, with {@code rerun.thread.count} threads if set.
+ * The rerun writes a new manifest, so a flaky remainder can be rerun again.
+ */
+public class RerunManifest implements IAlterSuiteListener, ISuiteListener {
+    private static final Logger log = LogManager.getLogger(RerunManifest.class.getName());
+
+    private static final String DEFAULT_MANIFEST_FILE = "reports/rerun-manifest.json";
+
+    // Written before the suite starts. On a rerun: "Class#method" -> data rows to run ("TestName#DataRow");
+    // an empty set means every row
+    private static final Map<String, Set<String>> rerunRows = new LinkedHashMap<>();
+
+    /**
+     * Keeps only the data rows listed in the rerun manifest; returns the data unchanged outside a rerun.
+     *
+     * @param method The data-driven test method.
+     * @param data   Its rows from {@link ExcelReader#getTestData(String)}.
+     * @return The rows to run.
+     */
+    @SuppressWarnings("unchecked")
+    public static Object[][] selectRows(Method method, Object[][] data) {
+        Set<String> rows = rerunRows.get(method.getDeclaringClass().getName() + "#" + method.getName());
+        if (rows == null || rows.isEmpty()) {
+            return data;
+        }
+        List<Object[]> selected = new ArrayList<>();
+        for (Object[] row : data) {
+            if (row.length > 0 && row[0] instanceof Map) {
+                Map<String, String> values = (Map<String, String>) row[0];
+                if (rows.contains(values.get(ExcelReader.TEST_NAME_COLUMN) + "#" + values.get(ExcelReader.DATA_ROW_KEY))) {
+                    selected.add(row);
+                }
+            }
+        }
+        log.info("Rerun selects {} of {} data rows of {}", box(selected.size()), box(data.length), method.getName());
+        return selected.toArray(new Object[0][]);
+    }
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        rerunRows.clear();
+        String from = ConfigReader.getProperty("rerun.from", "");
+        if (from.trim().isEmpty()) {
+            return;
+        }
+        Path manifest = Paths.get(from.trim());
+        JSONArray entries;
+        try {
+            entries = new JSONObject(new String(Files.readAllBytes(manifest), StandardCharsets.UTF_8)).getJSONArray("entries");
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalStateException("Cannot read the rerun manifest: " + manifest, e);
+        }
+        // <test> -> class -> methods
+        Map<String, Map<String, Set<String>>> selection = new LinkedHashMap<>();
+        for (int i = 0; i < entries.length(); i++) {
+            JSONObject entry = entries.getJSONObject(i);
+            String className = entry.getString("class");
+            String methodName = entry.getString("method");
+            selection.computeIfAbsent(entry.getString("test"), k -> new LinkedHashMap<>())
+                    .computeIfAbsent(className, k -> new LinkedHashSet<>()).add(methodName);
+            Set<String> rows = rerunRows.computeIfAbsent(className + "#" + methodName, k -> new LinkedHashSet<>());
+            if (entry.has("dataRow")) {
+                rows.add(entry.getString("testName") + "#" + entry.get("dataRow"));
+            }
+        }
+        String threads = ConfigReader.getProperty("rerun.thread.count", "");
+        for (XmlSuite suite : suites) {
+            select(suite, selection, threads.trim());
+        }
+        log.info("Rerunning {} failed/skipped tests from: {}", box(entries.length()), manifest);
+    }
+
+    /**
+     * Narrows the &lt;test&gt;s of a suite to the methods listed for them, plus the methods those depend on: TestNG
+     * refuses to run a method whose dependsOnMethods prerequisite is not included, even if it passed last time.
+     */
+    static void select(XmlSuite suite, Map<String, Map<String, Set<String>>> selection, String threads) {
+        Iterator<XmlTest> tests = suite.getTests().iterator();
+        while (tests.hasNext()) {
+            XmlTest xmlTest = tests.next();
+            Map<String, Set<String>> classes = selection.get(xmlTest.getName());
+            if (classes == null) {
+                tests.remove();
+                continue;
+            }
+            List<XmlClass> xmlClasses = new ArrayList<>();
+            for (Map.Entry<String, Set<String>> testClass : classes.entrySet()) {
+                XmlClass xmlClass = new XmlClass(testClass.getKey(), false);
+                Set<String> methods = new LinkedHashSet<>(testClass.getValue());
+                Class<?> loaded = SuitePlanner.loadClass(xmlClass);
+                if (loaded != null) {
+                    SuitePlanner.addDependencies(methods, SuitePlanner.testMethods(loaded));
+                }
+                List<XmlInclude> includes = new ArrayList<>();
+                for (String methodName : methods) {
+                    includes.add(new XmlInclude(methodName));
+                }
+                xmlClass.setIncludedMethods(includes);
+                xmlClasses.add(xmlClass);
+            }
+            xmlTest.setXmlClasses(xmlClasses);
+            xmlTest.setXmlPackages(new ArrayList<>());
+            if (!threads.isEmpty()) {
+                xmlTest.setParallel(XmlSuite.ParallelMode.CLASSES);
+                xmlTest.setThreadCount(Integer.parseInt(threads));
+            }
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        JSONArray entries = new JSONArray();
+        for (ISuiteResult suiteResult : suite.getResults().values()) {
+            ITestContext context = suiteResult.getTestContext();
+            for (ITestResult result : sorted(context)) {
+                entries.put(entry(context, result));
+            }
+        }
+        JSONObject manifest = new JSONObject();
+        manifest.put("suite", suite.getName());
+        manifest.put("generated", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        manifest.put("entries", entries);
+        Path file = Paths.get(ConfigReader.getProperty("rerun.manifest.file", DEFAULT_MANIFEST_FILE));
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, manifest.toString(2).getBytes(StandardCharsets.UTF_8));
+            log.info("Rerun manifest with {} failed/skipped tests written to: {}", box(entries.length()), file);
+        } catch (IOException e) {
+            log.error("Failed to write the rerun manifest to: " + file, e);
+        }
+    }
+
+    /**
+     * Failed and skipped results of a &lt;test&gt;, ordered by class, method and data row.
+     */
+    private static List<ITestResult> sorted(ITestContext context) {
+        Map<String, ITestResult> results = new TreeMap<>();
+        for (Set<ITestResult> outcome : Arrays.asList(context.getFailedTests().getAllResults(),
+                context.getSkippedTests().getAllResults())) {
+            for (ITestResult result : outcome) {
+                results.putIfAbsent(result.getMethod().getQualifiedName() + "|"
+                        + TestLogContext.describeDataRow(result.getMethod().getMethodName(), result.getParameters()), result);
+            }
+        }
+        return new ArrayList<>(results.values());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JSONObject entry(ITestContext context, ITestResult result) {
+        JSONObject entry = new JSONObject();
+        entry.put("test", context.getName());
+        entry.put("class", result.getMethod().getRealClass().getName());
+        entry.put("method", result.getMethod().getMethodName());
+        Object[] parameters = result.getParameters();
+        if (parameters != null && parameters.length > 0 && parameters[0] instanceof Map) {
+            Map<String, String> row = (Map<String, String>) parameters[0];
+            if (row.get(ExcelReader.DATA_ROW_KEY) != null) {
+                entry.put("testName", row.get(ExcelReader.TEST_NAME_COLUMN));
+                entry.put("dataRow", Integer.parseInt(row.get(ExcelReader.DATA_ROW_KEY)));
+            }
+        }
+        entry.put("label", TestLogContext.describeDataRow(result.getMethod().getMethodName(), parameters));
+        entry.put("status", result.getStatus() == ITestResult.FAILURE ? "FAIL" : "SKIP");
+        Throwable throwable = result.getThrowable();
+        entry.put("reason", throwable == null ? "" : String.valueOf(throwable.getMessage()).split("\\R", 2)[0]);
+        return entry;
+    }
+}
@@ -0,0 +1,298 @@
+package com.sagar.automation.listeners;
+
+import com.sagar.automation.utilities.ConfigReader;
+import com.sagar.automation.utilities.ExcelReader;
+import com.sagar.automation.utilities.TestLogContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.apache.logging.log4j.util.Unbox.box;
+
+/**
+ * Runs one shard of the suite when it is split across several JVMs ({@code scripts/run-tests.sh --shards N}, which
+ * starts every shard with {@code -Dshard.index=<0..N-1> -Dshard.count=N}).
+ * - The selected tests are split into units: a data row of an Excel-driven method, a method without data, or a
+ * group of methods tied together by dependsOnMethods (always kept whole, on one shard).
+ * - Units are dealt out longest first to the least loaded shard, using the durations recorded by
+ * {@link DurationScheduler}; units without history count as the average. Every shard computes the same split from
+ * the same suite and durations, so no coordination is needed.
+ * - Gate &lt;test&gt;s ({@link SuiteGate}) run whole in every shard, so each shard still stops early on a broken site.
+ * &lt;test&gt;s selecting by groups or packages run whole in shard 0.
+ * Inside a shard the &lt;test&gt;s keep their parameters and parallel workers; {@link #selectRows} narrows the
+ * Excel data to the rows of this shard. The shards' reports are combined by
+ * {@link com.sagar.automation.utilities.ReportMerger}.
+ */
+public class ShardSelector implements IAlterSuiteListener {
+    private static final Logger log = LogManager.getLogger(ShardSelector.class.getName());
+
+    private static final String EXCEL_DATA_PROVIDER = "testDataFromExcel";
+
+    // Written before the suite starts. "Class#method" -> data rows ("TestName#DataRow") this shard runs, for the
+    // methods whose rows are split across shards
+    private static final Map<String, Set<String>> shardRows = new HashMap<>();
+    private static volatile int shardIndex;
+    private static volatile int shardCount = 1;
+
+    /**
+     * Keeps only the data rows assigned to this shard; returns the data unchanged when not sharded.
+     *
+     * @param method The data-driven test method.
+     * @param data   Its rows.
+     * @return The rows to run.
+     */
+    @SuppressWarnings("unchecked")
+    public static Object[][] selectRows(Method method, Object[][] data) {
+        Set<String> rows = shardRows.get(method.getDeclaringClass().getName() + "#" + method.getName());
+        if (rows == null) {
+            return data;
+        }
+        List<Object[]> selected = new ArrayList<>();
+        for (Object[] row : data) {
+            if (row.length > 0 && row[0] instanceof Map && rows.contains(rowId((Map<String, String>) row[0]))) {
+                selected.add(row);
+            }
+        }
+        log.info("Shard {}/{} runs {} of {} data rows of {}", box(shardIndex + 1), box(shardCount), box(selected.size()), box(data.length), method.getName());
+        return selected.toArray(new Object[0][]);
+    }
+
+    public static boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    /**
+     * @return e.g. "shard-1", as the shard's directory is named by scripts/run-tests.sh; for the report.
+     */
+    public static String getShardLabel() {
+        return "shard-" + shardIndex;
+    }
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        shardRows.clear();
+        shardCount = Integer.parseInt(ConfigReader.getProperty("shard.count", "1").trim());
+        shardIndex = Integer.parseInt(ConfigReader.getProperty("shard.index", "0").trim());
+        if (shardCount <= 1) {
+            shardCount = 1;
+            shardIndex = 0;
+            return;
+        }
+        if (shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException("shard.index must be between 0 and " + (shardCount - 1) + ": " + shardIndex);
+        }
+        Map<String, Unit> units = collectUnits(suites);
+        long[] loads = new long[shardCount];
+        List<Unit> longestFirst = new ArrayList<>(units.values());
+        longestFirst.sort((a, b) -> Long.compare(b.estimate, a.estimate)); // Stable: ties keep suite order
+        Set<String> ownMethods = new HashSet<>();
+        int ownUnits = 0;
+        for (Unit unit : longestFirst) {
+            int shard = 0;
+            for (int i = 1; i < loads.length; i++) {
+                if (loads[i] < loads[shard]) {
+                    shard = i;
+                }
+            }
+            loads[shard] += unit.estimate;
+            if (shard == shardIndex) {
+                ownUnits++;
+                ownMethods.addAll(unit.methods);
+                if (unit.row != null) {
+                    shardRows.computeIfAbsent(unit.methods.get(0), k -> new LinkedHashSet<>()).add(unit.row);
+                }
+            }
+        }
+        for (XmlSuite suite : suites) {
+            select(suite, ownMethods);
+        }
+        log.info("Shard {}/{}: {} of {} test units, predicted {} ms (all shards: {} ms)",
+                box(shardIndex + 1), box(shardCount), box(ownUnits), box(units.size()), box(loads[shardIndex]), Arrays.toString(loads));
+    }
+
+    /**
+     * The units of the shardable &lt;test&gt;s, in suite order, with their estimated duration summed over the
+     * &lt;test&gt;s that select them.
+     */
+    private static Map<String, Unit> collectUnits(List<XmlSuite> suites) {
+        Map<String, Long> durations = DurationScheduler.readDurations();
+        long average = durations.isEmpty() ? DurationScheduler.DEFAULT_ESTIMATE_MILLIS
+                : durations.values().stream().mapToLong(Long::longValue).sum() / durations.size();
+        Map<String, Unit> units = new LinkedHashMap<>();
+        Map<String, List<String>> rowsByMethod = new HashMap<>(); // Excel rows, read once per method
+        for (XmlSuite suite : suites) {
+            for (XmlTest xmlTest : suite.getTests()) {
+                if (!isShardable(xmlTest)) {
+                    continue;
+                }
+                for (XmlClass xmlClass : xmlTest.getXmlClasses()) {
+                    Class<?> testClass = SuitePlanner.loadClass(xmlClass);
+                    if (testClass == null) {
+                        continue;
+                    }
+                    Map<String, Method> testMethods = SuitePlanner.testMethods(testClass);
+                    Map<String, Set<String>> groups = dependencyGroups(testMethods);
+                    for (String methodName : SuitePlanner.selectedMethods(xmlClass, testMethods.keySet())) {
+                        Set<String> group = groups.get(methodName);
+                        String methodKey = testClass.getName() + "#" + methodName;
+                        String durationKey = testClass.getSimpleName() + "." + methodName + "|";
+                        List<String> rows = rowsByMethod.computeIfAbsent(methodKey, k -> excelRows(testMethods.get(methodName)));
+                        if (group.size() > 1 || rows == null || rows.isEmpty()) {
+                            // Whole method (and the methods tied to it): every row; kept even without rows
+                            String unitKey = testClass.getName() + "#" + group.iterator().next();
+                            Unit unit = units.computeIfAbsent(unitKey, k -> new Unit(prefixAll(testClass.getName() + "#", group), null));
+                            for (String row : rows == null ? Arrays.asList(methodName) : rows) {
+                                unit.estimate += durations.getOrDefault(durationKey + row, average);
+                            }
+                        } else {
+                            for (String row : rows) {
+                                units.computeIfAbsent(methodKey + "|" + row, k -> new Unit(Arrays.asList(methodKey), row))
+                                        .estimate += durations.getOrDefault(durationKey + row, average);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return units;
+    }
+
+    /**
+     * Narrows the shardable &lt;test&gt;s to the methods of this shard; removes classes and &lt;test&gt;s left empty.
+     */
+    private static void select(XmlSuite suite, Set<String> ownMethods) {
+        Iterator<XmlTest> tests = suite.getTests().iterator();
+        while (tests.hasNext()) {
+            XmlTest xmlTest = tests.next();
+            if (!isShardable(xmlTest)) {
+                if (!isGate(xmlTest) && shardIndex != 0) {
+                    tests.remove(); // Selects by groups or packages: runs whole in shard 0
+                }
+                continue;
+            }
+            Iterator<XmlClass> classes = xmlTest.getXmlClasses().iterator();
+            while (classes.hasNext()) {
+                XmlClass xmlClass = classes.next();
+                Class<?> testClass = SuitePlanner.loadClass(xmlClass);
+                if (testClass == null) {
+                    continue;
+                }
+                Set<String> selected = SuitePlanner.selectedMethods(xmlClass, SuitePlanner.testMethods(testClass).keySet());
+                List<XmlInclude> includes = new ArrayList<>();
+                for (String methodName : selected) {
+                    if (ownMethods.contains(testClass.getName() + "#" + methodName)) {
+                        includes.add(new XmlInclude(methodName));
+                    }
+                }
+                if (includes.isEmpty()) {
+                    classes.remove();
+                } else if (includes.size() < selected.size()) {
+                    xmlClass.setIncludedMethods(includes);
+                    xmlClass.setExcludedMethods(new ArrayList<>());
+                }
+            }
+            if (xmlTest.getXmlClasses().isEmpty()) {
+                tests.remove();
+            }
+        }
+    }
+
+    /**
+     * Each test method with the methods tied to it through dependsOnMethods (in either direction), sorted.
+     */
+    private static Map<String, Set<String>> dependencyGroups(Map<String, Method> testMethods) {
+        Map<String, Set<String>> groups = new HashMap<>();
+        for (String methodName : testMethods.keySet()) {
+            Set<String> group = new TreeSet<>();
+            group.add(methodName);
+            groups.put(methodName, group);
+        }
+        for (Map.Entry<String, Method> entry : testMethods.entrySet()) {
+            for (String dependency : entry.getValue().getAnnotation(Test.class).dependsOnMethods()) {
+                Set<String> group = groups.get(entry.getKey());
+                Set<String> other = groups.get(dependency);
+                if (other == null || other == group) {
+                    continue;
+                }
+                group.addAll(other);
+                for (String member : other) {
+                    groups.put(member, group);
+                }
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * @return The ids ("TestName#DataRow") of the Excel rows of a data-driven method, as its data provider will
+     * hand them out (a rerun narrows them first); null if the method does not use the Excel data.
+     */
+    @SuppressWarnings("unchecked")
+    private static List<String> excelRows(Method method) {
+        Test test = method.getAnnotation(Test.class);
+        if (!EXCEL_DATA_PROVIDER.equals(test.dataProvider())) {
+            return null;
+        }
+        try {
+            List<String> rows = new ArrayList<>();
+            for (Object[] row : RerunManifest.selectRows(method, ExcelReader.getTestData(method.getName()))) {
+                rows.add(rowId((Map<String, String>) row[0]));
+            }
+            return rows;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not read the data rows of '{}'; it runs whole in one shard: {}", method.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static String rowId(Map<String, String> row) {
+        return TestLogContext.describeDataRow(row.get(ExcelReader.TEST_NAME_COLUMN), new Object[]{row});
+    }
+
+    private static List<String> prefixAll(String prefix, Set<String> names) {
+        List<String> prefixed = new ArrayList<>();
+        for (String name : names) {
+            prefixed.add(prefix + name);
+        }
+        return prefixed;
+    }
+
+    private static boolean isShardable(XmlTest xmlTest) {
+        return !isGate(xmlTest) && xmlTest.getIncludedGroups().isEmpty() && xmlTest.getExcludedGroups().isEmpty()
+                && xmlTest.getXmlPackages().isEmpty();
+    }
+
+    private static boolean isGate(XmlTest xmlTest) {
+        return Boolean.parseBoolean(xmlTest.getParameter("gate"));
+    }
+
+    private static final class Unit {
+        private final List<String> methods; // "Class#method"
+        private final String row; // Data row id, or null for every row
+        private long estimate;
+
+        private Unit(List<String> methods, String row) {
+            this.methods = methods;
+            this.row = row;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.sagar.automation.listeners;
+
+import com.sagar.automation.utilities.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.testng.IConfigurationListener;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+import org.testng.xml.XmlTest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fail-fast gate: when a test or BeforeMethod of a gate &lt;test&gt; fails, the rest of the suite stops
+ * launching browsers.
+ * - A &lt;test&gt; is a gate with {@code <parameter name="gate" value="true"/>} (SmokeTests in testng.xml).
+ * - BeforeMethod failures count too: they are what a site that is down looks like.
+ * - Every &lt;test&gt; chooses what a tripped gate means for it with the 'gate.on.failure' parameter: "skip" skips its
+ * pending tests before their BeforeMethod (no browser is launched) and cancels its running sessions by quitting them;
+ * "continue" runs on. The default comes from config; gate &lt;test&gt;s themselves default to "continue" so the
+ * remaining smoke checks still report.
+ * - Tests failing because their session was cancelled are reported as skipped.
+ * When the gate trips, a summary of the failures, skipped tests and cancelled sessions is written to
+ * {@code reports/gate-failure.txt}.
+ */
+public class SuiteGate implements IInvokedMethodListener, ITestListener, IConfigurationListener, ISuiteListener {
+    private static final Logger log = LogManager.getLogger(SuiteGate.class.getName());
+
+    private static final String SKIP_PREFIX = "Gate failed: ";
+    private static final String SKIP = "skip";
+
+    private static volatile Trip trip;
+    private static final Map<Thread, Session> sessions = new ConcurrentHashMap<>();
+    private static final Set<Thread> cancelled = ConcurrentHashMap.newKeySet();
+    private static final Map<String, AtomicInteger> skippedByTest = new ConcurrentHashMap<>();
+
+    /**
+     * Registers the browser session of the current thread so a tripped gate can cancel it.
+     *
+     * @param driver  The driver as created, before any decoration: the gate quits it from another thread, where
+     *                listeners bound to the test thread (command tracing) must not run.
+     * @param context The TestNG context of the running &lt;test&gt;.
+     */
+    public static void sessionStarted(WebDriver driver, ITestContext context) {
+        sessions.put(Thread.currentThread(), new Session(driver, context.getCurrentXmlTest()));
+    }
+
+    /**
+     * Unregisters the session of the current thread; call before quitting it.
+     */
+    public static void sessionEnded() {
+        sessions.remove(Thread.currentThread());
+    }
+
+    public static boolean isTripped() {
+        return trip != null;
+    }
+
+    /**
+     * @return The gate failure summary, one entry per line; empty if the gate did not trip.
+     */
+    public static List<String> getSummary() {
+        Trip current = trip;
+        List<String> lines = new ArrayList<>();
+        if (current == null) {
+            return lines;
+        }
+        lines.add("Gate <test> '" + current.gate + "' failed at " + current.time + ".");
+        for (String failure : current.failures) {
+            lines.add("Failure: " + failure);
+        }
+        for (Map.Entry<String, AtomicInteger> skipped : new TreeMap<>(skippedByTest).entrySet()) {
+            lines.add("Skipped in <test> '" + skipped.getKey() + "': " + skipped.getValue().get() + " test(s)");
+        }
+        lines.add("Browser sessions cancelled: " + current.cancelledSessions.get());
+        return lines;
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        trip = null;
+        sessions.clear();
+        cancelled.clear();
+        skippedByTest.clear();
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        Trip current = trip;
+        ITestNGMethod testMethod = method.getTestMethod();
+        if (current == null || testResult.getTestContext() == null
+                || !(method.isTestMethod() || testMethod.isBeforeMethodConfiguration())) {
+            return;
+        }
+        if (skipsOnFailure(testResult.getTestContext().getCurrentXmlTest())) {
+            throw new SkipException(SKIP_PREFIX + current.failures.peek());
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod() && cancelled.remove(Thread.currentThread()) && testResult.getStatus() == ITestResult.FAILURE) {
+            testResult.setStatus(ITestResult.SKIP);
+            testResult.setThrowable(new SkipException(SKIP_PREFIX + "browser session cancelled", testResult.getThrowable()));
+        }
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        failed(result);
+    }
+
+    @Override
+    public void onConfigurationFailure(ITestResult result) {
+        if (result.getMethod().isBeforeMethodConfiguration()) {
+            failed(result);
+        }
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        Throwable throwable = result.getThrowable();
+        if (throwable instanceof SkipException && throwable.getMessage() != null && throwable.getMessage().startsWith(SKIP_PREFIX)) {
+            skippedByTest.computeIfAbsent(result.getTestContext().getName(), k -> new AtomicInteger()).incrementAndGet();
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (trip == null) {
+            return;
+        }
+        List<String> summary = getSummary();
+        log.error("Suite gate failed; the rest of the suite was cut short:\n  {}", String.join("\n  ", summary));
+        Path file = Paths.get(System.getProperty("user.dir"), "reports", "gate-failure.txt");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, summary, StandardCharsets.UTF_8);
+            log.info("Gate failure summary written to: {}", file);
+        } catch (IOException e) {
+            log.error("Failed to write gate failure summary to: " + file, e);
+        }
+    }
+
+    private void failed(ITestResult result) {
+        ITestContext context = result.getTestContext();
+        if (context == null || !isGate(context.getCurrentXmlTest()) || cancelled.contains(Thread.currentThread())) {
+            return;
+        }
+        String failure = "<test> '" + context.getName() + "' " + result.getMethod().getQualifiedName() + ": " + reason(result.getThrowable());
+        Trip current;
+        boolean first;
+        synchronized (SuiteGate.class) {
+            first = trip == null;
+            if (first) {
+                trip = new Trip(context.getName(), failure);
+                current = trip;
+            } else {
+                current = trip;
+                current.failures.add(failure);
+            }
+        }
+        if (first) {
+            log.error("Gate <test> '{}' failed ({}); skipping the tests of <test>s with gate.on.failure=skip.", context.getName(), failure);
+            cancelSessions(current);
+        }
+    }
+
+    /**
+     * Quits the running sessions of &lt;test&gt;s that skip on a failed gate, except the one that failed it.
+     */
+    private static void cancelSessions(Trip current) {
+        for (Map.Entry<Thread, Session> entry : sessions.entrySet()) {
+            if (entry.getKey() == Thread.currentThread() || !skipsOnFailure(entry.getValue().xmlTest)) {
+                continue;
+            }
+            if (sessions.remove(entry.getKey(), entry.getValue())) {
+                cancelled.add(entry.getKey());
+                current.cancelledSessions.incrementAndGet();
+                try {
+                    entry.getValue().driver.quit();
+                    log.info("Cancelled the browser session of {} in <test> '{}'.", entry.getKey().getName(), entry.getValue().xmlTest.getName());
+                } catch (RuntimeException e) {
+                    log.warn("Could not cancel the browser session of {}: {}", entry.getKey().getName(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static boolean isGate(XmlTest xmlTest) {
+        return Boolean.parseBoolean(xmlTest.getParameter("gate"));
+    }
+
+    private static boolean skipsOnFailure(XmlTest xmlTest) {
+        String policy = xmlTest.getParameter("gate.on.failure");
+        if (policy == null) {
+            policy = isGate(xmlTest) ? "continue" : ConfigReader.getProperty("gate.on.failure", SKIP);
+        }
+        return SKIP.equalsIgnoreCase(policy.trim());
+    }
+
+    private static String reason(Throwable throwable) {
+        if (throwable == null) {
+            return "no exception";
+        }
+        String message = throwable.getMessage() == null ? "" : throwable.getMessage().split("\\R", 2)[0];
+        return throwable.getClass().getSimpleName() + (message.isEmpty() ? "" : ": " + message);
+    }
+
+    private static final class Trip {
+        private final String gate;
+        private final String time = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+        private final Queue<String> failures = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger cancelledSessions = new AtomicInteger();
+
+        private Trip(String gate, String firstFailure) {
+            this.gate = gate;
+            this.failures.add(firstFailure);
+        }
+    }
+
+    private static final class Session {
+        private final WebDriver driver;
+        private final XmlTest xmlTest;
+
+        private Session(WebDriver driver, XmlTest xmlTest) {
+            this.driver = driver;
+            this.xmlTest = xmlTest;
+        }
+    }
+}
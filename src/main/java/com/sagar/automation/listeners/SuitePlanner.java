@@ -0,0 +1,224 @@
+package com.sagar.automation.listeners;
+
+import com.sagar.automation.utilities.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.apache.logging.log4j.util.Unbox.box;
+
+/**
+ * Removes the overlap between the &lt;test&gt; blocks of a suite before it runs, so that every selected test method
+ * (with all its data rows) runs once even when several &lt;test&gt;s select it.
+ * - &lt;test&gt;s are planned in XML order: a method stays in the first &lt;test&gt; that selects it and is dropped
+ * from the later ones. The first &lt;test&gt; (Smoke) is never reduced, so it still runs first as a gate.
+ * - Methods only count as the same when the &lt;test&gt;s pass the same parameters (e.g. browser); the
+ * {@link SuiteGate} parameters are ignored.
+ * - Methods a remaining method depends on stay with it; &lt;test&gt;s left empty are removed.
+ * - &lt;test&gt;s using groups or packages are left as they are.
+ * The &lt;test&gt;s that selected a method are kept so the report can list the result under each of them.
+ * Disable with {@code suite.planner.enabled=false}.
+ */
+public class SuitePlanner implements IAlterSuiteListener {
+    private static final Logger log = LogManager.getLogger(SuitePlanner.class.getName());
+
+    // Control how a <test> reacts to the suite gate, not what its tests do
+    private static final List<String> GATE_PARAMETERS = Arrays.asList("gate", "gate.on.failure");
+
+    // "<test> that runs it|Class#method" -> every <test> that selected it
+    private static final Map<String, List<String>> selectedBy = new ConcurrentHashMap<>();
+    // Written before the suite starts, read after it
+    private static final Map<String, int[]> planSummary = new LinkedHashMap<>(); // <test> -> {selected, planned}
+
+    /**
+     * @param runningTest The &lt;test&gt; the method runs in.
+     * @return The &lt;test&gt;s that selected the method, in suite order; just the running one if it was not planned.
+     */
+    public static List<String> getSelectingTests(String runningTest, Class<?> testClass, String methodName) {
+        List<String> tests = selectedBy.get(runningTest + "|" + testClass.getName() + "#" + methodName);
+        return tests != null ? tests : Collections.singletonList(runningTest);
+    }
+
+    /**
+     * @return Rows of {&lt;test&gt;, methods selected, methods run, deduplicated} with a header row first.
+     */
+    public static String[][] getPlanTable() {
+        Map<String, int[]> rows = planSummary;
+        String[][] table = new String[rows.size() + 1][];
+        table[0] = new String[]{"<test>", "Methods selected", "Methods run", "Already run by an earlier <test>"};
+        int i = 1;
+        for (Map.Entry<String, int[]> row : rows.entrySet()) {
+            int[] counts = row.getValue();
+            table[i++] = new String[]{row.getKey(), String.valueOf(counts[0]), String.valueOf(counts[1]), String.valueOf(counts[0] - counts[1])};
+        }
+        return table;
+    }
+
+    public static boolean hasPlan() {
+        return !planSummary.isEmpty();
+    }
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        if (!Boolean.parseBoolean(ConfigReader.getProperty("suite.planner.enabled", "true"))) {
+            return;
+        }
+        selectedBy.clear();
+        planSummary.clear();
+        for (XmlSuite suite : suites) {
+            plan(suite);
+        }
+    }
+
+    private void plan(XmlSuite suite) {
+        // "Class#method@parameters" -> the <test> that runs it
+        Map<String, String> plannedIn = new LinkedHashMap<>();
+        Map<String, List<String>> selecting = new LinkedHashMap<>();
+        int selectedTotal = 0;
+        int plannedTotal = 0;
+        Iterator<XmlTest> tests = suite.getTests().iterator();
+        while (tests.hasNext()) {
+            XmlTest xmlTest = tests.next();
+            if (!xmlTest.getIncludedGroups().isEmpty() || !xmlTest.getExcludedGroups().isEmpty() || !xmlTest.getXmlPackages().isEmpty()) {
+                log.info("<test> '{}' selects by groups or packages; not planned.", xmlTest.getName());
+                continue;
+            }
+            Map<String, String> runParameters = new TreeMap<>(xmlTest.getAllParameters());
+            runParameters.keySet().removeAll(GATE_PARAMETERS);
+            String parameters = runParameters.toString();
+            int selectedInTest = 0;
+            int plannedInTest = 0;
+            Iterator<XmlClass> classes = xmlTest.getXmlClasses().iterator();
+            while (classes.hasNext()) {
+                XmlClass xmlClass = classes.next();
+                Class<?> testClass = loadClass(xmlClass);
+                if (testClass == null) {
+                    continue;
+                }
+                Map<String, Method> testMethods = testMethods(testClass);
+                Set<String> selected = selectedMethods(xmlClass, testMethods.keySet());
+                Set<String> remaining = new LinkedHashSet<>();
+                for (String methodName : selected) {
+                    String key = testClass.getName() + "#" + methodName + "@" + parameters;
+                    selecting.computeIfAbsent(key, k -> new ArrayList<>()).add(xmlTest.getName());
+                    if (!plannedIn.containsKey(key)) {
+                        remaining.add(methodName);
+                    }
+                }
+                addDependencies(remaining, testMethods);
+                for (String methodName : remaining) {
+                    plannedIn.putIfAbsent(testClass.getName() + "#" + methodName + "@" + parameters, xmlTest.getName());
+                }
+                selectedInTest += selected.size();
+                plannedInTest += remaining.size();
+                if (remaining.isEmpty()) {
+                    classes.remove();
+                } else if (!remaining.equals(selected)) {
+                    List<XmlInclude> includes = new ArrayList<>();
+                    for (String methodName : remaining) {
+                        includes.add(new XmlInclude(methodName));
+                    }
+                    xmlClass.setIncludedMethods(includes);
+                    xmlClass.setExcludedMethods(new ArrayList<>());
+                }
+            }
+            planSummary.put(xmlTest.getName(), new int[]{selectedInTest, plannedInTest});
+            selectedTotal += selectedInTest;
+            plannedTotal += plannedInTest;
+            if (xmlTest.getXmlClasses().isEmpty()) {
+                log.info("<test> '{}' only selects methods that earlier <test>s run; removed from the run.", xmlTest.getName());
+                tests.remove();
+            }
+        }
+        for (Map.Entry<String, List<String>> entry : selecting.entrySet()) {
+            String key = entry.getKey();
+            String runningTest = plannedIn.get(key);
+            if (runningTest != null) {
+                selectedBy.put(runningTest + "|" + key.substring(0, key.lastIndexOf('@')), Collections.unmodifiableList(entry.getValue()));
+            }
+        }
+        log.info("Suite '{}' planned: {} selected test methods, {} run after removing overlapping <test> selections.",
+                suite.getName(), box(selectedTotal), box(plannedTotal));
+    }
+
+    /**
+     * Public methods annotated with an enabled {@code @Test}, by name.
+     */
+    static Map<String, Method> testMethods(Class<?> testClass) {
+        Map<String, Method> methods = new TreeMap<>();
+        for (Method method : testClass.getMethods()) {
+            Test test = method.getAnnotation(Test.class);
+            if (test != null && test.enabled()) {
+                methods.put(method.getName(), method);
+            }
+        }
+        return methods;
+    }
+
+    /**
+     * The methods the &lt;class&gt; element selects; include and exclude names are regular expressions, as in TestNG.
+     */
+    static Set<String> selectedMethods(XmlClass xmlClass, Set<String> testMethods) {
+        Set<String> selected = new LinkedHashSet<>();
+        for (String methodName : testMethods) {
+            boolean included = xmlClass.getIncludedMethods().isEmpty();
+            for (XmlInclude include : xmlClass.getIncludedMethods()) {
+                included |= methodName.matches(include.getName());
+            }
+            for (String exclude : xmlClass.getExcludedMethods()) {
+                included &= !methodName.matches(exclude);
+            }
+            if (included) {
+                selected.add(methodName);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Adds the methods the given ones depend on (transitively), so the planned selection still resolves.
+     */
+    static void addDependencies(Set<String> methods, Map<String, Method> testMethods) {
+        Deque<String> pending = new ArrayDeque<>(methods);
+        while (!pending.isEmpty()) {
+            Method method = testMethods.get(pending.pop());
+            if (method == null) {
+                continue;
+            }
+            for (String dependency : Arrays.asList(method.getAnnotation(Test.class).dependsOnMethods())) {
+                if (testMethods.containsKey(dependency) && methods.add(dependency)) {
+                    pending.push(dependency);
+                }
+            }
+        }
+    }
+
+    static Class<?> loadClass(XmlClass xmlClass) {
+        try {
+            return xmlClass.getSupportClass();
+        } catch (RuntimeException e) {
+            log.warn("Could not load test class '{}'; left as it is: {}", xmlClass.getName(), e.getMessage());
+            return null;
+        }
+    }
+}
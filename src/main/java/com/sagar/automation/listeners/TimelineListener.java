@@ -0,0 +1,387 @@
+package com.sagar.automation.listeners;
+
+import com.sagar.automation.utilities.TestLogContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.xml.XmlTest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.logging.log4j.util.Unbox.box;
+
+/**
+ * Records when every configuration and test method ran and on which worker thread, and exports the run as
+ * {@code reports/timeline.json} and a static Gantt view {@code reports/timeline.html}.
+ * Per &lt;test&gt; it computes worker utilisation, idle gaps and the critical path: the class with the most work,
+ * which bounds the &lt;test&gt; duration under parallel="classes" no matter how many threads are added.
+ * Utilisation is measured against the configured capacity: the &lt;test&gt;'s thread-count, plus the
+ * data-provider-thread-count when rows of a parallel data provider ran, so workers that never got work count as idle.
+ * The threads actually used are reported next to it.
+ * Registered in the suite XML files as a listener.
+ */
+public class TimelineListener implements IInvokedMethodListener, ISuiteListener {
+    private static final Logger log = LogManager.getLogger(TimelineListener.class.getName());
+
+    private static final long IDLE_GAP_MILLIS = 500; // Shorter gaps are scheduling noise
+    private static final String SUITE_LEVEL = "(suite)";
+
+    private final Queue<Span> spans = new ConcurrentLinkedQueue<>();
+    private final Set<String> dataProviderTests = ConcurrentHashMap.newKeySet(); // <test>s that ran parallel data rows
+    private final ThreadLocal<Long> invocationStart = new ThreadLocal<>();
+    private volatile long suiteStartNanos;
+
+    @Override
+    public void onStart(ISuite suite) {
+        spans.clear();
+        dataProviderTests.clear();
+        suiteStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        invocationStart.set(System.nanoTime());
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        Long start = invocationStart.get();
+        invocationStart.remove();
+        if (start == null) {
+            return;
+        }
+        ITestNGMethod testMethod = method.getTestMethod();
+        String name = method.isTestMethod()
+                ? TestLogContext.describeDataRow(testMethod.getMethodName(), testResult.getParameters())
+                : testMethod.getMethodName();
+        boolean suiteLevel = testMethod.isBeforeSuiteConfiguration() || testMethod.isAfterSuiteConfiguration();
+        String xmlTest = suiteLevel || testResult.getTestContext() == null ? SUITE_LEVEL : testResult.getTestContext().getName();
+        if (method.isTestMethod() && testMethod.getDataProviderMethod() != null && testMethod.getDataProviderMethod().isParallel()) {
+            dataProviderTests.add(xmlTest);
+        }
+        spans.add(new Span(Thread.currentThread().getName(), xmlTest, testMethod.getRealClass().getSimpleName(), name,
+                kind(method), status(testResult), millisSinceSuiteStart(start), millisSinceSuiteStart(System.nanoTime())));
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        List<Span> run = new ArrayList<>(spans);
+        if (run.isEmpty()) {
+            return;
+        }
+        run.sort(Comparator.comparingLong((Span s) -> s.startMillis).thenComparing(s -> s.worker));
+        Map<String, TestTimeline> byXmlTest = new LinkedHashMap<>();
+        for (Span span : run) {
+            byXmlTest.computeIfAbsent(span.xmlTest, k -> new TestTimeline(k, capacity(suite, k))).spans.add(span);
+        }
+        Path reports = Paths.get(System.getProperty("user.dir"), "reports");
+        write(reports.resolve("timeline.json"), toJson(suite, run, byXmlTest).toString(2));
+        write(reports.resolve("timeline.html"), toHtml(suite, run, byXmlTest));
+        for (TestTimeline timeline : byXmlTest.values()) {
+            if (!SUITE_LEVEL.equals(timeline.name)) {
+                log.info("Timeline {}: {} ms, utilisation {}%, critical class {} ({} ms), {} ms idle at the tail",
+                        timeline.name, box(timeline.durationMillis()), box(timeline.utilisationPercent()), timeline.criticalClass(),
+                        timeline.classBusyMillis().getOrDefault(timeline.criticalClass(), 0L), box(timeline.tailIdleMillis()));
+            }
+        }
+    }
+
+    private long millisSinceSuiteStart(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos - suiteStartNanos);
+    }
+
+    /**
+     * @return The worker threads configured for a &lt;test&gt;: its class workers, plus the data provider workers if
+     * rows of a parallel data provider ran in it.
+     */
+    private int capacity(ISuite suite, String xmlTestName) {
+        for (XmlTest xmlTest : suite.getXmlSuite().getTests()) {
+            if (xmlTest.getName().equals(xmlTestName)) {
+                int threads = xmlTest.getParallel().isParallel() ? xmlTest.getThreadCount() : 1;
+                return dataProviderTests.contains(xmlTestName) ? threads + suite.getXmlSuite().getDataProviderThreadCount() : threads;
+            }
+        }
+        return 1;
+    }
+
+    private static String kind(IInvokedMethod method) {
+        ITestNGMethod m = method.getTestMethod();
+        if (method.isTestMethod()) {
+            return "test";
+        } else if (m.isBeforeSuiteConfiguration()) {
+            return "BeforeSuite";
+        } else if (m.isAfterSuiteConfiguration()) {
+            return "AfterSuite";
+        } else if (m.isBeforeTestConfiguration()) {
+            return "BeforeTest";
+        } else if (m.isAfterTestConfiguration()) {
+            return "AfterTest";
+        } else if (m.isBeforeClassConfiguration()) {
+            return "BeforeClass";
+        } else if (m.isAfterClassConfiguration()) {
+            return "AfterClass";
+        } else if (m.isBeforeMethodConfiguration()) {
+            return "BeforeMethod";
+        } else if (m.isAfterMethodConfiguration()) {
+            return "AfterMethod";
+        }
+        return "configuration";
+    }
+
+    private static String status(ITestResult result) {
+        switch (result.getStatus()) {
+            case ITestResult.SUCCESS:
+                return "PASS";
+            case ITestResult.FAILURE:
+                return "FAIL";
+            case ITestResult.SKIP:
+                return "SKIP";
+            default:
+                return "UNKNOWN";
+        }
+    }
+
+    private static JSONObject toJson(ISuite suite, List<Span> run, Map<String, TestTimeline> byXmlTest) {
+        JSONObject json = new JSONObject();
+        json.put("suite", suite.getName());
+        json.put("durationMillis", run.stream().mapToLong(s -> s.endMillis).max().orElse(0));
+        long criticalPath = 0;
+        JSONArray tests = new JSONArray();
+        for (TestTimeline timeline : byXmlTest.values()) {
+            JSONObject test = new JSONObject();
+            test.put("name", timeline.name);
+            test.put("threadCount", timeline.threadCount);
+            test.put("observedThreadCount", timeline.workers().size());
+            test.put("startMillis", timeline.startMillis());
+            test.put("durationMillis", timeline.durationMillis());
+            test.put("busyMillis", timeline.busyMillis());
+            test.put("utilisationPercent", timeline.utilisationPercent());
+            test.put("criticalClass", timeline.criticalClass());
+            test.put("criticalClassMillis", timeline.classBusyMillis().getOrDefault(timeline.criticalClass(), 0L));
+            test.put("balancedMillis", timeline.busyMillis() / timeline.threadCount);
+            test.put("classBusyMillis", new JSONObject(timeline.classBusyMillis()));
+            JSONArray gaps = new JSONArray();
+            for (long[] gap : timeline.idleGaps()) {
+                gaps.put(new JSONObject().put("worker", timeline.workers().get((int) gap[0])).put("startMillis", gap[1]).put("durationMillis", gap[2]));
+            }
+            test.put("idleGaps", gaps);
+            tests.put(test);
+            criticalPath += SUITE_LEVEL.equals(timeline.name) ? timeline.busyMillis()
+                    : timeline.classBusyMillis().getOrDefault(timeline.criticalClass(), 0L);
+        }
+        json.put("criticalPathMillis", criticalPath);
+        json.put("tests", tests);
+        JSONArray spanArray = new JSONArray();
+        for (Span span : run) {
+            spanArray.put(new JSONObject().put("worker", span.worker).put("test", span.xmlTest).put("class", span.className)
+                    .put("method", span.name).put("kind", span.kind).put("status", span.status)
+                    .put("startMillis", span.startMillis).put("endMillis", span.endMillis));
+        }
+        json.put("spans", spanArray);
+        return json;
+    }
+
+    private static String toHtml(ISuite suite, List<Span> run, Map<String, TestTimeline> byXmlTest) {
+        long wall = Math.max(1, run.stream().mapToLong(s -> s.endMillis).max().orElse(1));
+        StringBuilder html = new StringBuilder("<html><head><meta charset='UTF-8'><title>Timeline: ")
+                .append(escape(suite.getName())).append("</title><style>table{border-collapse:collapse;margin-bottom:24px}")
+                .append("td,th{border:1px solid #ccc;padding:4px 8px;font:13px sans-serif}")
+                .append(".lane{position:relative;height:20px;border-bottom:1px solid #eee;margin-left:260px}")
+                .append(".label{position:absolute;left:-260px;width:250px;font:12px sans-serif;overflow:hidden;white-space:nowrap}")
+                .append(".span{position:absolute;top:2px;height:16px;min-width:1px}")
+                .append(".test{background:#4caf50}.FAIL{background:#e53935}.SKIP{background:#fb8c00}.config{background:#90a4ae}")
+                .append("</style></head><body><h2>Timeline: ").append(escape(suite.getName())).append("</h2>")
+                .append("<p>Wall time ").append(wall).append(" ms. Raw data: <a href='timeline.json'>timeline.json</a>. ")
+                .append("Green: test, red: failed, orange: skipped, grey: configuration.</p>");
+
+        html.append("<h3>Per &lt;test&gt;</h3><table><tr><th>&lt;test&gt;</th><th>Threads</th><th>Threads used</th>")
+                .append("<th>Duration (ms)</th>")
+                .append("<th>Busy (ms)</th><th>Utilisation</th><th>Critical class</th><th>Critical class (ms)</th>")
+                .append("<th>Balanced (ms)</th><th>Idle at tail (ms)</th></tr>");
+        for (TestTimeline timeline : byXmlTest.values()) {
+            html.append("<tr><td>").append(escape(timeline.name)).append("</td><td>").append(timeline.threadCount)
+                    .append("</td><td>").append(timeline.workers().size())
+                    .append("</td><td>").append(timeline.durationMillis()).append("</td><td>").append(timeline.busyMillis())
+                    .append("</td><td>").append(timeline.utilisationPercent()).append("%</td><td>").append(escape(timeline.criticalClass()))
+                    .append("</td><td>").append(timeline.classBusyMillis().getOrDefault(timeline.criticalClass(), 0L))
+                    .append("</td><td>").append(timeline.busyMillis() / timeline.threadCount)
+                    .append("</td><td>").append(timeline.tailIdleMillis()).append("</td></tr>");
+        }
+        html.append("</table><p>Critical class: the class with the most work; under parallel=\"classes\" the &lt;test&gt; ")
+                .append("cannot finish sooner. Threads: configured class and data provider workers. Balanced: busy time spread evenly over them.</p>");
+
+        html.append("<h3>Workers</h3>");
+        Map<String, List<Span>> lanes = new LinkedHashMap<>();
+        for (Span span : run) {
+            lanes.computeIfAbsent(span.worker, k -> new ArrayList<>()).add(span);
+        }
+        for (Map.Entry<String, List<Span>> lane : lanes.entrySet()) {
+            html.append("<div class='lane'><div class='label'>").append(escape(lane.getKey())).append("</div>");
+            for (Span span : lane.getValue()) {
+                String css = "test".equals(span.kind) ? "test " + span.status : "config";
+                html.append("<div class='span ").append(css).append("' style='left:")
+                        .append(String.format("%.3f", span.startMillis * 100.0 / wall)).append("%;width:")
+                        .append(String.format("%.3f", (span.endMillis - span.startMillis) * 100.0 / wall)).append("%' title='")
+                        .append(escape(span.className + "." + span.name + " [" + span.kind + ", " + span.status + "] "
+                                + (span.endMillis - span.startMillis) + " ms, " + span.xmlTest)).append("'></div>");
+            }
+            html.append("</div>");
+        }
+        return html.append("</body></html>").toString();
+    }
+
+    private static void write(Path file, String content) {
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+            log.info("Timeline written to: {}", file);
+        } catch (IOException e) {
+            log.error("Failed to write timeline to: " + file, e);
+        }
+    }
+
+    private static String escape(String text) {
+        return text == null ? "" : text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("'", "&#39;");
+    }
+
+    /**
+     * One configuration or test method invocation. Times are milliseconds since the suite started.
+     */
+    private static final class Span {
+        private final String worker;
+        private final String xmlTest;
+        private final String className;
+        private final String name;
+        private final String kind;
+        private final String status;
+        private final long startMillis;
+        private final long endMillis;
+
+        private Span(String worker, String xmlTest, String className, String name, String kind, String status,
+                     long startMillis, long endMillis) {
+            this.worker = worker;
+            this.xmlTest = xmlTest;
+            this.className = className;
+            this.name = name;
+            this.kind = kind;
+            this.status = status;
+            this.startMillis = startMillis;
+            this.endMillis = endMillis;
+        }
+    }
+
+    /**
+     * The spans of one &lt;test&gt; (or of the suite-level configuration methods) and the figures derived from them.
+     */
+    private static final class TestTimeline {
+        private final String name;
+        private final int threadCount;
+        private final List<Span> spans = new ArrayList<>(); // Ordered by start
+
+        private TestTimeline(String name, int threadCount) {
+            this.name = name;
+            this.threadCount = Math.max(1, threadCount);
+        }
+
+        private long startMillis() {
+            return spans.get(0).startMillis;
+        }
+
+        private long endMillis() {
+            return spans.stream().mapToLong(s -> s.endMillis).max().orElse(startMillis());
+        }
+
+        private long durationMillis() {
+            return endMillis() - startMillis();
+        }
+
+        private long busyMillis() {
+            return spans.stream().mapToLong(s -> s.endMillis - s.startMillis).sum();
+        }
+
+        private long utilisationPercent() {
+            long capacity = durationMillis() * threadCount;
+            return capacity == 0 ? 100 : Math.round(busyMillis() * 100.0 / capacity);
+        }
+
+        private Map<String, Long> classBusyMillis() {
+            Map<String, Long> busy = new LinkedHashMap<>();
+            for (Span span : spans) {
+                busy.merge(span.className, span.endMillis - span.startMillis, Long::sum);
+            }
+            return busy;
+        }
+
+        private String criticalClass() {
+            return classBusyMillis().entrySet().stream().max(Map.Entry.comparingByValue()).map(Map.Entry::getKey).orElse("");
+        }
+
+        private List<String> workers() {
+            List<String> workers = new ArrayList<>();
+            for (Span span : spans) {
+                if (!workers.contains(span.worker)) {
+                    workers.add(span.worker);
+                }
+            }
+            return workers;
+        }
+
+        /**
+         * Idle periods of each worker inside this &lt;test&gt;'s window, including waiting for the last class to finish.
+         *
+         * @return {worker index, start, duration} per gap of at least IDLE_GAP_MILLIS.
+         */
+        private List<long[]> idleGaps() {
+            List<long[]> gaps = new ArrayList<>();
+            List<String> workers = workers();
+            for (int w = 0; w < workers.size(); w++) {
+                long cursor = startMillis();
+                for (Span span : spans) {
+                    if (span.worker.equals(workers.get(w))) {
+                        addGap(gaps, w, cursor, span.startMillis);
+                        cursor = Math.max(cursor, span.endMillis);
+                    }
+                }
+                addGap(gaps, w, cursor, endMillis());
+            }
+            return gaps;
+        }
+
+        private long tailIdleMillis() {
+            long tail = 0;
+            long end = endMillis();
+            for (String worker : workers()) {
+                long lastEnd = spans.stream().filter(s -> s.worker.equals(worker)).mapToLong(s -> s.endMillis).max().orElse(end);
+                tail += end - lastEnd;
+            }
+            return tail;
+        }
+
+        private static void addGap(List<long[]> gaps, int worker, long from, long to) {
+            if (to - from >= IDLE_GAP_MILLIS) {
+                gaps.add(new long[]{worker, from, to - from});
+            }
+        }
+    }
+}
@@ -30,7 +30,7 @@ public class AccountCreatedPage extends BasePage {
     public boolean isAccountCreatedHeaderVisible() {
         log.info("Verifying 'ACCOUNT CREATED!' header visibility.");
         boolean isVisible = isElementDisplayed(ACCOUNT_CREATED_HEADER);
-        log.info("'ACCOUNT CREATED!' header visibility status: " + isVisible);
+        log.info("'ACCOUNT CREATED!' header visibility status: {}", isVisible);
         return isVisible;
     }
 
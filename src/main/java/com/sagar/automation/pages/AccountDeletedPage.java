@@ -30,7 +30,7 @@ public class AccountDeletedPage extends BasePage {
     public boolean isAccountDeletedHeaderVisible() {
         log.info("Verifying 'ACCOUNT DELETED!' header visibility.");
         boolean isVisible = isElementDisplayed(ACCOUNT_DELETED_HEADER);
-        log.info("'ACCOUNT DELETED!' header visibility status: " + isVisible);
+        log.info("'ACCOUNT DELETED!' header visibility status: {}", isVisible);
         return isVisible;
     }
 
@@ -1,6 +1,7 @@
 package com.sagar.automation.pages;
 
 import com.sagar.automation.base.BasePage;
+import com.sagar.automation.utilities.PerformanceBudget;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
@@ -12,6 +13,9 @@ import java.util.List;
 public class CartPage extends BasePage {
     private static final Logger log = LogManager.getLogger(CartPage.class.getName());
 
+    // Budget for the cart page
+    private static final PerformanceBudget PERFORMANCE_BUDGET = new PerformanceBudget("Cart", 6000, 150, 4 * 1024 * 1024);
+
     // Locators
     private static final By CART_INFO_TABLE = By.id("cart_info_table");
     private static final By CART_PRODUCTS = By.cssSelector("#cart_info_table tbody tr");
@@ -19,6 +23,7 @@ public class CartPage extends BasePage {
 
     public CartPage(WebDriver driver) {
         super(driver);
+        checkPerformanceBudget(PERFORMANCE_BUDGET);
         log.info("CartPage initialized");
     }
 
@@ -28,7 +33,7 @@ public class CartPage extends BasePage {
     }
 
     public boolean isProductInCart(String productName) {
-        log.info("Checking if product is in cart: " + productName);
+        log.info("Checking if product is in cart: {}", productName);
         List<WebElement> products = driver.findElements(CART_PRODUCTS);
         for (WebElement product : products) {
             if (product.getText().contains(productName)) {
@@ -39,7 +44,7 @@ public class CartPage extends BasePage {
     }
 
     public String getProductQuantity(String productName) {
-        log.info("Getting quantity for product: " + productName);
+        log.info("Getting quantity for product: {}", productName);
         List<WebElement> products = driver.findElements(CART_PRODUCTS);
         for (WebElement product : products) {
             if (product.getText().contains(productName)) {
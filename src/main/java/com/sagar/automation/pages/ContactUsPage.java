@@ -1,6 +1,7 @@
 package com.sagar.automation.pages;
 
 import com.sagar.automation.base.BasePage;
+import com.sagar.automation.utilities.PerformanceBudget;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.Alert;
@@ -14,6 +15,9 @@ import java.time.Duration;
 public class ContactUsPage extends BasePage {
     private static final Logger log = LogManager.getLogger(ContactUsPage.class.getName());
 
+    // Budget for the Contact Us form
+    private static final PerformanceBudget PERFORMANCE_BUDGET = new PerformanceBudget("Contact Us", 6000, 150, 4 * 1024 * 1024);
+
     // Locators
     private static final By GET_IN_TOUCH_HEADER = By.cssSelector(".contact-form h2");
     private static final By NAME_INPUT = By.cssSelector("input[data-qa='name']");
@@ -26,6 +30,7 @@ public class ContactUsPage extends BasePage {
 
     public ContactUsPage(WebDriver driver) {
         super(driver);
+        checkPerformanceBudget(PERFORMANCE_BUDGET);
         log.info("ContactUsPage initialized");
     }
 
@@ -50,12 +55,12 @@ public class ContactUsPage extends BasePage {
     public void handleAlert() {
         try {
             WebDriverWait alertWait = new WebDriverWait(driver, Duration.ofSeconds(5));
-            Alert alert = alertWait.until(ExpectedConditions.alertIsPresent());
-            log.info("Alert present with text: " + alert.getText());
+            Alert alert = waitFor(alertWait, ExpectedConditions.alertIsPresent());
+            log.info("Alert present with text: {}", alert.getText());
             alert.accept();
             log.info("Alert accepted");
         } catch (Exception e) {
-            log.info("No alert present or alert handling failed: " + e.getMessage());
+            log.info("No alert present or alert handling failed: {}", e.getMessage());
         }
     }
 
@@ -1,6 +1,7 @@
 package com.sagar.automation.pages;
 
 import com.sagar.automation.base.BasePage;
+import com.sagar.automation.utilities.PagePerformance;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
@@ -22,6 +23,7 @@ public class Header extends BasePage { // Extends BasePage to use its driver and
     /**
      * Constructor for the Header component.
      * It implicitly calls the BasePage constructor to initialize driver and wait.
+     * Every navigation link click captures the browser-side performance of the page it opens ({@link PagePerformance}).
      */
     public Header(WebDriver driver) {
         super(driver); // Call the BasePage constructor
@@ -32,62 +34,69 @@ public class Header extends BasePage { // Extends BasePage to use its driver and
         log.info("Attempting to click 'Home' link.");
         clickElement(HOME_LINK);
         log.info("'Home' link clicked successfully.");
+        PagePerformance.capture(driver);
     }
 
     public void clickProductsLink() {
         log.info("Attempting to click 'Products' link.");
         clickElement(PRODUCTS_LINK);
         log.info("'Products' link clicked successfully.");
+        PagePerformance.capture(driver);
     }
 
     public void clickCartLink() {
         log.info("Attempting to click 'Cart' link.");
         clickElement(CART_LINK);
         log.info("'Cart' link clicked successfully.");
+        PagePerformance.capture(driver);
     }
 
     public void clickLoginSignupLink() {
         log.info("Attempting to click 'Signup / Login' link.");
         clickElement(LOGIN_SIGNUP_LINK);
         log.info("'Signup / Login' link clicked successfully.");
+        PagePerformance.capture(driver);
     }
 
     public void clickTestCasesLink() {
         log.info("Attempting to click 'Test Cases' link.");
         clickElement(TEST_CASES_LINK);
         log.info("'Test Cases' link clicked successfully.");
+        PagePerformance.capture(driver);
     }
 
     public void clickApiTestingLink() {
         log.info("Attempting to click 'API Testing' link.");
         clickElement(API_TESTING_LINK);
         log.info("'API Testing' link clicked successfully.");
+        PagePerformance.capture(driver);
     }
 
     public void clickContactUsLink() {
         log.info("Attempting to click 'Contact Us' link.");
         clickElement(CONTACT_US_LINK);
         log.info("'Contact Us' link clicked successfully.");
+        PagePerformance.capture(driver);
     }
 
     public String getLoggedInUsernameText() {
         log.info("Attempting to get logged in username text.");
         String username = getElementText(LOGGED_IN_USERNAME);
-        log.info("Retrieved logged in username: " + username);
+        log.info("Retrieved logged in username: {}", username);
         return username;
     }
 
     public boolean isLoginSignupLinkDisplayed() {
         log.info("Checking if 'Login / Signup' link is displayed.");
         boolean isDisplayed = isElementDisplayed(LOGIN_SIGNUP_LINK);
-        log.info("'Login / Signup' link displayed status: " + isDisplayed);
+        log.info("'Login / Signup' link displayed status: {}", isDisplayed);
         return isDisplayed;
     }
 
     public boolean isLoggedInUsernameDisplayed() {
         log.info("Checking if logged in username is displayed.");
         boolean isDisplayed = isElementDisplayed(LOGGED_IN_USERNAME);
-        log.info("Logged in username displayed status: " + isDisplayed);
+        log.info("Logged in username displayed status: {}", isDisplayed);
         return isDisplayed;
     }
 }
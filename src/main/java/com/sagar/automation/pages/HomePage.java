@@ -1,6 +1,7 @@
 package com.sagar.automation.pages;
 
 import com.sagar.automation.base.BasePage;
+import com.sagar.automation.utilities.PerformanceBudget;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
@@ -9,6 +10,10 @@ import org.openqa.selenium.WebDriver;
 //Homepage class represents the main loading page of the Automation Exercise website
 public class HomePage extends BasePage { // Now extends BasePage
     private static final Logger log = LogManager.getLogger(HomePage.class.getName()); // Get the logger instance from BaseTest
+
+    // Budget for the landing page (slider and featured items make it the heaviest page)
+    private static final PerformanceBudget PERFORMANCE_BUDGET = new PerformanceBudget("Home", 8000, 250, 6 * 1024 * 1024);
+
     private Header header; // Composition: HomePage has a Header
 
     // Locators specific to the Home Page - now private static final
@@ -24,6 +29,7 @@ public class HomePage extends BasePage { // Now extends BasePage
     public HomePage(WebDriver driver) {
         super(driver); // Call the BasePage constructor
         this.header = new Header(driver); // Initialize the Header component
+        checkPerformanceBudget(PERFORMANCE_BUDGET);
         log.info("HomePage Page Object initialized.");
     }
 
@@ -52,10 +58,8 @@ public class HomePage extends BasePage { // Now extends BasePage
             log.info("Home page is displayed (slider, featured items, and home link found).");
             return true;
         } else {
-            log.warn("Home page is NOT fully displayed. " +
-                    "Slider: " + sliderDisplayed + ", " +
-                    "Featured Items: " + featuredItemsDisplayed + ", " +
-                    "Home Link in Header: " + homeLinkInHeaderDisplayed);
+            log.warn("Home page is NOT fully displayed. Slider: {}, Featured Items: {}, Home Link in Header: {}",
+                    sliderDisplayed, featuredItemsDisplayed, homeLinkInHeaderDisplayed);
             return false;
         }
     }
@@ -65,7 +69,7 @@ public class HomePage extends BasePage { // Now extends BasePage
     public String getFeaturedItemsTitle() {
         log.info("Attempting to get text of Featured Items title.");
         String title = getElementText(FEATURED_ITEMS_TITLE);
-        log.info("Retrieved Featured Items title: " + title);
+        log.info("Retrieved Featured Items title: {}", title);
         return title;
     }
 
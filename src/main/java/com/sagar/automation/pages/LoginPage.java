@@ -1,6 +1,7 @@
 package com.sagar.automation.pages;
 
 import com.sagar.automation.base.BasePage;
+import com.sagar.automation.utilities.PerformanceBudget;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
@@ -12,6 +13,9 @@ public class LoginPage extends BasePage {
     //Initializes logger specifically for Login page
     private static final Logger log = LogManager.getLogger(LoginPage.class.getName());
 
+    // Budget for the Signup / Login page
+    private static final PerformanceBudget PERFORMANCE_BUDGET = new PerformanceBudget("Login", 6000, 150, 4 * 1024 * 1024);
+
     // Locators for elements on the Login Page
     private static final By LOGIN_EMAIL_INPUT = By.xpath("//input[@data-qa='login-email']");
     private static final By LOGIN_PASSWORD_INPUT = By.xpath("//input[@data-qa='login-password']");
@@ -24,6 +28,7 @@ public class LoginPage extends BasePage {
     private static final By SIGNUP_NAME_INPUT = By.xpath("//input[@data-qa='signup-name']");
     private static final By SIGNUP_EMAIL_INPUT = By.xpath("//input[@data-qa='signup-email']");
     private static final By SIGNUP_BUTTON = By.xpath("//button[@data-qa='signup-button']");
+    private static final By SIGNUP_ERROR_MESSAGE = By.xpath("//div[@class='signup-form']//form/p"); // e.g. "Email Address already exist!"
 
     /**
      * Constructor for the LoginPage page Object
@@ -31,6 +36,7 @@ public class LoginPage extends BasePage {
      */
     public LoginPage(WebDriver driver) {
         super(driver);
+        checkPerformanceBudget(PERFORMANCE_BUDGET);
         log.info("Login Page object got initialized");
     }
 
@@ -39,7 +45,7 @@ public class LoginPage extends BasePage {
      * @param email The email to enter
      */
     public void enterLoginEmail(String email){
-        log.info("Entering login email: " + email);
+        log.info("Entering login email: {}", email);
         enterText(LOGIN_EMAIL_INPUT, email);
     }
 
@@ -66,7 +72,7 @@ public class LoginPage extends BasePage {
      * @param password The password for the login
      */
     public void login(String email, String password){
-        log.info("Attempting to login with email: " + email);
+        log.info("Attempting to login with email: {}", email);
         enterLoginEmail(email);
         enterLoginPassword(password);
         clickLoginButton();
@@ -80,7 +86,7 @@ public class LoginPage extends BasePage {
     public boolean isLoginPageDisplayed(){
         log.info("Checking if LoginPage is displayed. ");
         boolean isDisplayed = isElementDisplayed(LOGIN_FORM_HEADER);
-        log.info("Login Page displayed status: " + isDisplayed);
+        log.info("Login Page displayed status: {}", isDisplayed);
         return isDisplayed;
     }
 
@@ -93,7 +99,7 @@ public class LoginPage extends BasePage {
         String errorMessage = "";
         try {
             errorMessage = getElementText(LOGIN_ERROR_MESSAGE);
-            log.warn("Login error message found: " + errorMessage);
+            log.warn("Login error message found: {}", errorMessage);
         } catch (Exception e) {
             log.info("No login error message displayed.");
         }
@@ -109,7 +115,7 @@ public class LoginPage extends BasePage {
     public boolean isSignupFormDisplayed() {
         log.info("Checking if 'New User Signup!' form is displayed.");
         boolean isDisplayed = isElementDisplayed(SIGNUP_FORM_HEADER);
-        log.info("'New User Signup!' form displayed status: " + isDisplayed);
+        log.info("'New User Signup!' form displayed status: {}", isDisplayed);
         return isDisplayed;
     }
 
@@ -118,7 +124,7 @@ public class LoginPage extends BasePage {
      * @param name The name to enter for signup.
      */
     public void enterSignupName(String name) {
-        log.info("Entering signup name: " + name);
+        log.info("Entering signup name: {}", name);
         enterText(SIGNUP_NAME_INPUT, name);
     }
 
@@ -127,7 +133,7 @@ public class LoginPage extends BasePage {
      * @param email The email to enter for signup.
      */
     public void enterSignupEmail(String email) {
-        log.info("Entering signup email: " + email);
+        log.info("Entering signup email: {}", email);
         enterText(SIGNUP_EMAIL_INPUT, email);
     }
 
@@ -138,4 +144,20 @@ public class LoginPage extends BasePage {
         log.info("Clicking 'Signup' button on the New User Signup form.");
         clickElement(SIGNUP_BUTTON);
     }
+
+    /**
+     * Retrieves the text of the signup error message (if any), e.g. for an email that is already registered.
+     * @return The error message text, or empty string if not found.
+     */
+    public String getSignupErrorMessage() {
+        log.info("Attempting to get signup error message.");
+        String errorMessage = "";
+        try {
+            errorMessage = getElementText(SIGNUP_ERROR_MESSAGE);
+            log.warn("Signup error message found: {}", errorMessage);
+        } catch (Exception e) {
+            log.info("No signup error message displayed.");
+        }
+        return errorMessage;
+    }
 }
@@ -1,6 +1,7 @@
 package com.sagar.automation.pages;
 
 import com.sagar.automation.base.BasePage;
+import com.sagar.automation.utilities.PerformanceBudget;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
@@ -9,6 +10,9 @@ import org.openqa.selenium.WebDriver;
 public class ProductDetailPage extends BasePage {
     private static final Logger log = LogManager.getLogger(ProductDetailPage.class.getName());
 
+    // Budget for a single product page
+    private static final PerformanceBudget PERFORMANCE_BUDGET = new PerformanceBudget("Product Detail", 7000, 200, 5 * 1024 * 1024);
+
     // Locators
     private static final By PRODUCT_NAME = By.cssSelector(".product-information h2");
     private static final By PRODUCT_PRICE = By.cssSelector(".product-information span span");
@@ -19,6 +23,7 @@ public class ProductDetailPage extends BasePage {
 
     public ProductDetailPage(WebDriver driver) {
         super(driver);
+        checkPerformanceBudget(PERFORMANCE_BUDGET);
         log.info("ProductDetailPage initialized");
     }
 
@@ -38,7 +43,7 @@ public class ProductDetailPage extends BasePage {
     }
 
     public void setQuantity(String quantity) {
-        log.info("Setting quantity to: " + quantity);
+        log.info("Setting quantity to: {}", quantity);
         enterText(QUANTITY_INPUT, quantity);
     }
 
@@ -1,6 +1,7 @@
 package com.sagar.automation.pages;
 
 import com.sagar.automation.base.BasePage;
+import com.sagar.automation.utilities.PerformanceBudget;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
@@ -9,9 +10,14 @@ import org.openqa.selenium.WebElement;
 
 import java.util.List;
 
+import static org.apache.logging.log4j.util.Unbox.box;
+
 public class ProductsPage extends BasePage {
     private static final Logger log = LogManager.getLogger(ProductsPage.class.getName());
 
+    // Budget for the full product listing
+    private static final PerformanceBudget PERFORMANCE_BUDGET = new PerformanceBudget("Products", 8000, 250, 6 * 1024 * 1024);
+
     // Locators
     private static final By PAGE_TITLE = By.cssSelector(".title.text-center");
     private static final By PRODUCTS_LIST = By.cssSelector(".features_items .col-sm-4");
@@ -22,6 +28,7 @@ public class ProductsPage extends BasePage {
 
     public ProductsPage(WebDriver driver) {
         super(driver);
+        checkPerformanceBudget(PERFORMANCE_BUDGET);
         log.info("ProductsPage initialized");
     }
 
@@ -44,12 +51,12 @@ public class ProductsPage extends BasePage {
         log.info("Getting product count");
         List<WebElement> products = driver.findElements(PRODUCTS_LIST);
         int count = products.size();
-        log.info("Found " + count + " products");
+        log.info("Found {} products", box(count));
         return count;
     }
 
     public void searchProduct(String keyword) {
-        log.info("Searching for product: " + keyword);
+        log.info("Searching for product: {}", keyword);
         enterText(SEARCH_INPUT, keyword);
         clickElement(SEARCH_BUTTON);
     }
@@ -71,7 +78,7 @@ public class ProductsPage extends BasePage {
     }
 
     public void clickViewProduct(int index) {
-        log.info("Clicking view product for index: " + index);
+        log.info("Clicking view product for index: {}", box(index));
         List<WebElement> viewButtons = driver.findElements(VIEW_PRODUCT_BUTTONS);
         if (index < viewButtons.size()) {
             viewButtons.get(index).click();
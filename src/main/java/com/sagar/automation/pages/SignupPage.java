@@ -58,7 +58,7 @@ public class SignupPage extends BasePage {
     public boolean isEnterAccountInformationHeaderVisible() {
         log.info("Verifying 'ENTER ACCOUNT INFORMATION' header visibility.");
         boolean isVisible = isElementDisplayed(ENTER_ACCOUNT_INFO_HEADER);
-        log.info("'ENTER ACCOUNT INFORMATION' header visibility status: " + isVisible);
+        log.info("'ENTER ACCOUNT INFORMATION' header visibility status: {}", isVisible);
         return isVisible;
     }
 
@@ -67,13 +67,13 @@ public class SignupPage extends BasePage {
      * @param title "Mr" or "Mrs".
      */
     public void selectTitle(String title) {
-        log.info("Selecting title: " + title);
+        log.info("Selecting title: {}", title);
         if ("Mr".equalsIgnoreCase(title)) {
             clickElement(MR_TITLE_RADIO);
         } else if ("Mrs".equalsIgnoreCase(title)) {
             clickElement(MRS_TITLE_RADIO);
         } else {
-            log.warn("Invalid title specified: " + title + ". No title selected.");
+            log.warn("Invalid title specified: {}. No title selected.", title);
         }
     }
 
@@ -0,0 +1,134 @@
+package com.sagar.automation.utilities;
+
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sets up and removes user accounts of automationexercise.com over its HTTP API instead of its pages, for tests that
+ * only need an account to exist (or to be gone):
+ * - POST /api/createAccount, DELETE /api/deleteAccount and POST /api/verifyLogin, with form parameters;
+ * - the API answers HTTP 200 and puts the outcome in the body: {"responseCode": 201, "message": "User created!"}.
+ * Accounts are described by Excel data row columns (NAME, EMAIL, PASSWORD, TITLE, DAY, ...); columns a row leaves
+ * empty get a valid default. Requests go to 'url.automationExercise' with their own base URI and no REST Assured
+ * filters: fixture calls are not checked against contracts or latency SLOs, which belong to the API under test.
+ */
+public final class AccountApi {
+    private static final Logger log = LogManager.getLogger(AccountApi.class.getName());
+
+    // Data row column -> form parameter of createAccount, with the value used when the row leaves the column empty
+    private static final String[][] ACCOUNT_FIELDS = {
+            {"NAME", "name", "Test User"},
+            {"EMAIL", "email", null},
+            {"PASSWORD", "password", null},
+            {"TITLE", "title", "Mr"},
+            {"DAY", "birth_date", "1"},
+            {"MONTH", "birth_month", "January"},
+            {"YEAR", "birth_year", "1990"},
+            {"FIRST_NAME", "firstname", "Test"},
+            {"LAST_NAME", "lastname", "User"},
+            {"COMPANY", "company", ""},
+            {"ADDRESS1", "address1", "1 Test Street"},
+            {"ADDRESS2", "address2", ""},
+            {"COUNTRY", "country", "India"},
+            {"STATE", "state", "Maharashtra"},
+            {"CITY", "city", "Pune"},
+            {"ZIPCODE", "zipcode", "411001"},
+            {"MOBILE_NUMBER", "mobile_number", "9876543210"},
+    };
+
+    private AccountApi() {
+        // Static helper, not meant to be instantiated
+    }
+
+    /**
+     * Creates the account described by a data row.
+     *
+     * @param account Data row with at least EMAIL and PASSWORD.
+     * @throws IllegalStateException If the API does not report the account as created (e.g. the email exists).
+     */
+    public static void createAccount(Map<String, String> account) {
+        Map<String, String> form = new LinkedHashMap<>();
+        for (String[] field : ACCOUNT_FIELDS) {
+            String value = account.get(field[0]);
+            if (value == null || value.isEmpty()) {
+                if (field[2] == null) {
+                    throw new IllegalArgumentException("Test account needs a value in column '" + field[0] + "'");
+                }
+                value = field[2];
+            }
+            form.put(field[1], value);
+        }
+        JSONObject outcome = call("POST", "/api/createAccount", form);
+        if (outcome.optInt("responseCode") != 201) {
+            throw new IllegalStateException("Could not create test account " + form.get("email") + ": " + outcome);
+        }
+        log.info("Test account created over the API: {}", form.get("email"));
+    }
+
+    /**
+     * Deletes an account.
+     *
+     * @return True if it was deleted, false if no such account exists.
+     * @throws IllegalStateException On any other answer (e.g. a wrong password).
+     */
+    public static boolean deleteAccount(String email, String password) {
+        JSONObject outcome = call("DELETE", "/api/deleteAccount", credentials(email, password));
+        switch (outcome.optInt("responseCode")) {
+            case 200:
+                log.info("Test account deleted over the API: {}", email);
+                return true;
+            case 404:
+                return false;
+            default:
+                throw new IllegalStateException("Could not delete test account " + email + ": " + outcome);
+        }
+    }
+
+    /**
+     * @return True if the email and password log in, false if no such user exists.
+     * @throws IllegalStateException On any other answer.
+     */
+    public static boolean verifyLogin(String email, String password) {
+        JSONObject outcome = call("POST", "/api/verifyLogin", credentials(email, password));
+        switch (outcome.optInt("responseCode")) {
+            case 200:
+                return true;
+            case 404:
+                return false;
+            default:
+                throw new IllegalStateException("Could not verify login of " + email + ": " + outcome);
+        }
+    }
+
+    private static Map<String, String> credentials(String email, String password) {
+        Map<String, String> form = new LinkedHashMap<>();
+        form.put("email", email);
+        form.put("password", password);
+        return form;
+    }
+
+    private static JSONObject call(String method, String path, Map<String, String> form) {
+        String baseUri = ConfigReader.getProperty("url.automationExercise").replaceAll("/+$", "");
+        long start = System.nanoTime();
+        Response response = RestAssured.given()
+                .noFilters()
+                .baseUri(baseUri)
+                .formParams(form)
+                .request(method, path);
+        SuiteMetrics.API_REQUEST_SECONDS.labels(method, path).observe(SuiteMetrics.seconds(System.nanoTime() - start));
+        String body = response.asString();
+        try {
+            return new JSONObject(body);
+        } catch (JSONException e) {
+            throw new IllegalStateException(method + " " + path + " answered HTTP " + response.getStatusCode()
+                    + " without a JSON outcome: " + body, e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.sagar.automation.utilities;
+
+import java.net.URI;
+
+/**
+ * Helper for turning a concrete API request into a stable endpoint key such as "GET /products/{id}".
+ * Numeric path segments are collapsed to "{id}" so that calls for different resources share one key.
+ */
+public final class ApiEndpoints {
+
+    private ApiEndpoints() {
+        // Static helper, not meant to be instantiated
+    }
+
+    /**
+     * Builds the endpoint key for a request.
+     *
+     * @param method The HTTP method (e.g. GET, POST).
+     * @param uri    The full request URI or just its path.
+     * @return The endpoint key, e.g. "GET /products/{id}".
+     */
+    public static String key(String method, String uri) {
+        return method.toUpperCase() + " " + normalizePath(uri);
+    }
+
+    /**
+     * Strips scheme, host and query string from a URI and replaces numeric path segments with "{id}".
+     *
+     * @param uri The full request URI or just its path.
+     * @return The normalized path, always starting with '/'.
+     */
+    public static String normalizePath(String uri) {
+        String path = uri;
+        try {
+            String parsed = URI.create(uri).getPath();
+            if (parsed != null) {
+                path = parsed;
+            }
+        } catch (IllegalArgumentException e) {
+            // Not a valid URI (e.g. unresolved template), fall back to the raw value
+        }
+
+        StringBuilder normalized = new StringBuilder(path.length() + 4);
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            normalized.append('/').append(isNumeric(segment) ? "{id}" : segment);
+        }
+        return normalized.length() == 0 ? "/" : normalized.toString();
+    }
+
+    private static boolean isNumeric(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            if (!Character.isDigit(segment.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,31 @@
+package com.sagar.automation.utilities;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * REST Assured filter that times every API call and hands the result to {@link ApiLatencySlo} and {@link SuiteMetrics}.
+ * Register it after any filter that does work on the response (e.g. {@link ContractValidationFilter})
+ * so that only the HTTP round trip is measured.
+ */
+public class ApiLatencyFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long start = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        long elapsedNanos = System.nanoTime() - start;
+
+        ApiLatencySlo.record(ApiEndpoints.key(requestSpec.getMethod(), requestSpec.getURI()), TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        SuiteMetrics.API_REQUEST_SECONDS.labels(requestSpec.getMethod().toUpperCase(), ApiEndpoints.normalizePath(requestSpec.getURI()))
+                .observe(SuiteMetrics.seconds(elapsedNanos));
+        return response;
+    }
+}
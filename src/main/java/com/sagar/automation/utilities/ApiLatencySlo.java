@@ -0,0 +1,265 @@
+package com.sagar.automation.utilities;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.apache.logging.log4j.util.Unbox.box;
+
+/**
+ * Collects API response times per endpoint and checks them against latency objectives at the end of the suite.
+ * - Absolute SLOs are declared in config.properties, e.g. {@code api.slo=GET /products:p95<300}.
+ * - Relative regressions compare this run against the median of the last N green runs in the local baseline store.
+ * Each run's percentiles are appended to the baseline store (one JSON object per line) so later runs can compare.
+ */
+public class ApiLatencySlo {
+    private static final Logger log = LogManager.getLogger(ApiLatencySlo.class.getName());
+
+    private static final String DEFAULT_BASELINE_FILE = "perf-baselines/api-latency.jsonl";
+    private static final int[] REPORTED_PERCENTILES = {50, 90, 95, 99};
+
+    // Raw samples per endpoint key; test threads only ever append
+    private static final Map<String, ConcurrentLinkedQueue<Long>> samples = new ConcurrentHashMap<>();
+
+    /**
+     * Records one API call.
+     *
+     * @param endpoint      The endpoint key, e.g. "GET /products".
+     * @param elapsedMillis The measured response time in milliseconds.
+     */
+    public static void record(String endpoint, long elapsedMillis) {
+        samples.computeIfAbsent(endpoint, k -> new ConcurrentLinkedQueue<>()).add(elapsedMillis);
+        log.debug("API latency for '{}': {} ms", endpoint, box(elapsedMillis));
+    }
+
+    /**
+     * @return True if at least one API call was recorded in this run.
+     */
+    public static boolean hasSamples() {
+        return !samples.isEmpty();
+    }
+
+    /**
+     * Builds a percentile table of the current run, one row per endpoint.
+     *
+     * @return Rows of {endpoint, calls, p50, p90, p95, p99, max} with a header row first.
+     */
+    public static String[][] getPercentileTable() {
+        Map<String, long[]> sorted = sortedSamples();
+        String[][] table = new String[sorted.size() + 1][];
+        table[0] = new String[]{"Endpoint", "Calls", "p50 (ms)", "p90 (ms)", "p95 (ms)", "p99 (ms)", "Max (ms)"};
+        int row = 1;
+        for (Map.Entry<String, long[]> entry : sorted.entrySet()) {
+            long[] values = entry.getValue();
+            table[row++] = new String[]{entry.getKey(), String.valueOf(values.length),
+                    String.valueOf(percentile(values, 50)), String.valueOf(percentile(values, 90)),
+                    String.valueOf(percentile(values, 95)), String.valueOf(percentile(values, 99)),
+                    String.valueOf(values[values.length - 1])};
+        }
+        return table;
+    }
+
+    /**
+     * Checks the declared SLOs and the regression limits against the current run.
+     *
+     * @return One result per check; endpoints without samples are skipped.
+     */
+    public static List<Result> evaluate() {
+        Map<String, long[]> sorted = sortedSamples();
+        List<Result> results = new ArrayList<>();
+
+        // 1. Absolute objectives from config
+        for (Objective objective : parseObjectives(ConfigReader.getProperty("api.slo", ""))) {
+            long[] values = sorted.get(objective.endpoint);
+            if (values == null) {
+                log.warn("No samples recorded for SLO endpoint '{}'. Skipping.", objective.endpoint);
+                continue;
+            }
+            long actual = percentile(values, objective.percentile);
+            results.add(new Result(objective.endpoint, "p" + objective.percentile + " < " + objective.limitMillis + " ms",
+                    actual, objective.limitMillis, actual < objective.limitMillis));
+        }
+
+        // 2. Relative regression against the last N green runs
+        int baselineRuns = Integer.parseInt(ConfigReader.getProperty("api.slo.baseline.runs", "5"));
+        double tolerance = Double.parseDouble(ConfigReader.getProperty("api.slo.regression.tolerance", "0.25"));
+        long minDelta = Long.parseLong(ConfigReader.getProperty("api.slo.regression.min.delta.ms", "50"));
+        List<JSONObject> baseline = loadGreenRuns(baselineRuns);
+        for (Map.Entry<String, long[]> entry : sorted.entrySet()) {
+            List<Long> history = new ArrayList<>();
+            for (JSONObject run : baseline) {
+                JSONObject endpoint = run.getJSONObject("endpoints").optJSONObject(entry.getKey());
+                if (endpoint != null) {
+                    history.add(endpoint.getLong("p95"));
+                }
+            }
+            if (history.isEmpty()) {
+                continue;
+            }
+            Collections.sort(history);
+            long baselineP95 = history.get(history.size() / 2);
+            long actual = percentile(entry.getValue(), 95);
+            long limit = Math.max((long) (baselineP95 * (1 + tolerance)), baselineP95 + minDelta);
+            results.add(new Result(entry.getKey(), "p95 vs median of last " + history.size() + " green runs ("
+                    + baselineP95 + " ms)", actual, limit, actual <= limit));
+        }
+        return results;
+    }
+
+    /**
+     * Appends the current run's percentiles to the baseline store.
+     *
+     * @param green True if the suite and all latency checks passed; only green runs are used as a baseline.
+     */
+    public static void persistRun(boolean green) {
+        JSONObject endpoints = new JSONObject();
+        for (Map.Entry<String, long[]> entry : sortedSamples().entrySet()) {
+            JSONObject stats = new JSONObject();
+            stats.put("count", entry.getValue().length);
+            for (int p : REPORTED_PERCENTILES) {
+                stats.put("p" + p, percentile(entry.getValue(), p));
+            }
+            endpoints.put(entry.getKey(), stats);
+        }
+        JSONObject run = new JSONObject();
+        run.put("timestamp", LocalDateTime.now().toString());
+        run.put("green", green);
+        run.put("endpoints", endpoints);
+
+        Path baselineFile = getBaselineFile();
+        try {
+            if (baselineFile.getParent() != null) {
+                Files.createDirectories(baselineFile.getParent());
+            }
+            Files.write(baselineFile, (run.toString() + System.lineSeparator()).getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            log.info("API latency baseline appended to: {} (green: {})", baselineFile, box(green));
+        } catch (IOException e) {
+            log.error("Failed to write API latency baseline to: {}", baselineFile, e);
+        }
+    }
+
+    private static List<JSONObject> loadGreenRuns(int maxRuns) {
+        Path baselineFile = getBaselineFile();
+        if (!Files.exists(baselineFile)) {
+            log.info("No API latency baseline found at: {}", baselineFile);
+            return Collections.emptyList();
+        }
+        List<JSONObject> greenRuns = new ArrayList<>();
+        try {
+            List<String> lines = Files.readAllLines(baselineFile, StandardCharsets.UTF_8);
+            for (int i = lines.size() - 1; i >= 0 && greenRuns.size() < maxRuns; i--) {
+                String line = lines.get(i).trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                JSONObject run = new JSONObject(line);
+                if (run.optBoolean("green")) {
+                    greenRuns.add(run);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to read API latency baseline from: {}", baselineFile, e);
+        }
+        return greenRuns;
+    }
+
+    private static Path getBaselineFile() {
+        return Paths.get(ConfigReader.getProperty("api.slo.baseline.file", DEFAULT_BASELINE_FILE));
+    }
+
+    private static Map<String, long[]> sortedSamples() {
+        Map<String, long[]> sorted = new TreeMap<>();
+        for (Map.Entry<String, ConcurrentLinkedQueue<Long>> entry : samples.entrySet()) {
+            long[] values = entry.getValue().stream().mapToLong(Long::longValue).toArray();
+            if (values.length > 0) {
+                Arrays.sort(values);
+                sorted.put(entry.getKey(), values);
+            }
+        }
+        return sorted;
+    }
+
+    /**
+     * Nearest-rank percentile of an already sorted array.
+     */
+    private static long percentile(long[] sortedValues, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sortedValues.length);
+        return sortedValues[Math.max(0, Math.min(sortedValues.length - 1, rank - 1))];
+    }
+
+    /**
+     * Parses "GET /products:p95<300;POST /auth/login:p99<800" into objectives.
+     */
+    private static List<Objective> parseObjectives(String declaration) {
+        List<Objective> objectives = new ArrayList<>();
+        for (String part : declaration.split(";")) {
+            String entry = part.trim();
+            if (entry.isEmpty()) {
+                continue;
+            }
+            int colon = entry.lastIndexOf(':');
+            int lessThan = entry.indexOf('<', colon);
+            if (colon < 0 || lessThan < 0 || entry.charAt(colon + 1) != 'p') {
+                throw new IllegalArgumentException("Invalid api.slo entry '" + entry + "'. Expected e.g. 'GET /products:p95<300'.");
+            }
+            objectives.add(new Objective(entry.substring(0, colon).trim(),
+                    Integer.parseInt(entry.substring(colon + 2, lessThan).trim()),
+                    Long.parseLong(entry.substring(lessThan + 1).trim())));
+        }
+        return objectives;
+    }
+
+    private static final class Objective {
+        private final String endpoint;
+        private final int percentile;
+        private final long limitMillis;
+
+        private Objective(String endpoint, int percentile, long limitMillis) {
+            this.endpoint = endpoint;
+            this.percentile = percentile;
+            this.limitMillis = limitMillis;
+        }
+    }
+
+    /**
+     * Outcome of one latency check.
+     */
+    public static final class Result {
+        public final String endpoint;
+        public final String check;
+        public final long actualMillis;
+        public final long limitMillis;
+        public final boolean passed;
+
+        private Result(String endpoint, String check, long actualMillis, long limitMillis, boolean passed) {
+            this.endpoint = endpoint;
+            this.check = check;
+            this.actualMillis = actualMillis;
+            this.limitMillis = limitMillis;
+            this.passed = passed;
+        }
+
+        @Override
+        public String toString() {
+            return endpoint + " " + check + ": " + actualMillis + " ms (limit " + limitMillis + " ms) "
+                    + (passed ? "PASS" : "FAIL");
+        }
+    }
+}
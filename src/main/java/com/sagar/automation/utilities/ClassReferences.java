@@ -0,0 +1,333 @@
+package com.sagar.automation.utilities;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads which classes and methods a compiled class refers to, straight from its class file:
+ * - class references: class entries of the constant pool (calls, fields, casts, nested classes) and the types in
+ * field and method descriptors;
+ * - method calls: the invoke instructions in the code of each method, as "owner#name" (overloads are merged).
+ * Lambda bodies count as part of the method they are written in.
+ * Class files are loaded from the classpath and parsed once.
+ */
+public final class ClassReferences {
+    private static final Pattern DESCRIPTOR_TYPE = Pattern.compile("L([\\w/$]+);");
+
+    private static final Map<String, byte[]> bytecode = new ConcurrentHashMap<>();
+    private static final Map<String, ClassInfo> classes = new ConcurrentHashMap<>();
+
+    private ClassReferences() {
+    }
+
+    /**
+     * @param className Binary class name, e.g. "com.sagar.automation.pages.LoginPage".
+     * @return The class file, or null if it is not on the classpath.
+     */
+    public static byte[] bytecode(String className) {
+        byte[] cached = bytecode.get(className);
+        if (cached != null) {
+            return cached;
+        }
+        try (InputStream in = ClassReferences.class.getClassLoader().getResourceAsStream(className.replace('.', '/') + ".class")) {
+            if (in == null) {
+                return null;
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                bytes.write(buffer, 0, read);
+            }
+            byte[] loaded = bytes.toByteArray();
+            bytecode.put(className, loaded);
+            return loaded;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return The binary names of the classes the class refers to directly, itself excluded; empty if unreadable.
+     */
+    public static Set<String> referencedClasses(String className) {
+        return info(className).references;
+    }
+
+    /**
+     * @return The binary name of the superclass; null for java.lang.Object itself and for unreadable classes.
+     */
+    public static String superclass(String className) {
+        return info(className).superclass;
+    }
+
+    /**
+     * @return The methods the class declares (by name), each with the "owner#name" methods its code invokes.
+     */
+    public static Map<String, Set<String>> methodCalls(String className) {
+        return info(className).calls;
+    }
+
+    /**
+     * @param root   The class to start from (included in the result).
+     * @param follow Which referenced classes to include and read further.
+     * @return The root and every class reachable from it through classes accepted by 'follow', sorted.
+     */
+    public static Set<String> closure(String root, Predicate<String> follow) {
+        Set<String> reached = new TreeSet<>();
+        Deque<String> pending = new ArrayDeque<>();
+        reached.add(root);
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            for (String referenced : referencedClasses(pending.pop())) {
+                if (follow.test(referenced) && reached.add(referenced)) {
+                    pending.push(referenced);
+                }
+            }
+        }
+        return reached;
+    }
+
+    private static ClassInfo info(String className) {
+        return classes.computeIfAbsent(className, ClassReferences::parse);
+    }
+
+    private static ClassInfo parse(String className) {
+        byte[] classFile = bytecode(className);
+        if (classFile == null) {
+            return ClassInfo.EMPTY;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(classFile))) {
+            in.readInt(); // magic
+            in.readUnsignedShort(); // minor version
+            in.readUnsignedShort(); // major version
+            ConstantPool pool = ConstantPool.read(in, className);
+            in.readUnsignedShort(); // access flags
+            in.readUnsignedShort(); // this class
+            int superIndex = in.readUnsignedShort();
+            in.skipBytes(2 * in.readUnsignedShort()); // interfaces
+            int fields = in.readUnsignedShort();
+            for (int i = 0; i < fields; i++) {
+                in.skipBytes(6); // access flags, name, descriptor
+                skipAttributes(in);
+            }
+            Map<String, Set<String>> calls = new LinkedHashMap<>();
+            int methods = in.readUnsignedShort();
+            for (int i = 0; i < methods; i++) {
+                in.readUnsignedShort(); // access flags
+                String name = pool.utf8[in.readUnsignedShort()];
+                in.readUnsignedShort(); // descriptor
+                Set<String> invoked = calls.computeIfAbsent(name, k -> new TreeSet<>());
+                int attributes = in.readUnsignedShort();
+                for (int a = 0; a < attributes; a++) {
+                    String attribute = pool.utf8[in.readUnsignedShort()];
+                    int length = in.readInt();
+                    if ("Code".equals(attribute)) {
+                        in.skipBytes(4); // max stack, max locals
+                        byte[] code = new byte[in.readInt()];
+                        in.readFully(code);
+                        readInvocations(code, pool, invoked);
+                        in.skipBytes(length - 8 - code.length);
+                    } else {
+                        in.skipBytes(length);
+                    }
+                }
+            }
+            foldLambdas(calls);
+            Set<String> references = pool.classReferences();
+            references.remove(className);
+            String superclass = superIndex == 0 ? null : pool.className(superIndex);
+            return new ClassInfo(superclass, Collections.unmodifiableSet(references), Collections.unmodifiableMap(calls));
+        } catch (IOException | RuntimeException e) {
+            return ClassInfo.EMPTY;
+        }
+    }
+
+    /**
+     * Walks the instructions of a method and collects the targets of invokevirtual/special/static/interface.
+     */
+    private static void readInvocations(byte[] code, ConstantPool pool, Set<String> invoked) {
+        int pc = 0;
+        while (pc < code.length) {
+            int opcode = code[pc] & 0xff;
+            if (opcode >= 0xb6 && opcode <= 0xb9) {
+                String target = pool.methodRef(((code[pc + 1] & 0xff) << 8) | (code[pc + 2] & 0xff));
+                if (target != null) {
+                    invoked.add(target);
+                }
+            }
+            pc += instructionLength(code, pc, opcode);
+        }
+    }
+
+    private static int instructionLength(byte[] code, int pc, int opcode) {
+        switch (opcode) {
+            case 0x10: case 0x12: case 0x15: case 0x16: case 0x17: case 0x18: case 0x19:
+            case 0x36: case 0x37: case 0x38: case 0x39: case 0x3a: case 0xa9: case 0xbc:
+                return 2;
+            case 0x11: case 0x13: case 0x14: case 0x84: case 0xb2: case 0xb3: case 0xb4: case 0xb5:
+            case 0xb6: case 0xb7: case 0xb8: case 0xbb: case 0xbd: case 0xc0: case 0xc1: case 0xc6: case 0xc7:
+                return 3;
+            case 0xc5:
+                return 4;
+            case 0xb9: case 0xba: case 0xc8: case 0xc9:
+                return 5;
+            case 0xc4: // wide
+                return (code[pc + 1] & 0xff) == 0x84 ? 6 : 4;
+            case 0xaa: { // tableswitch
+                int operands = (pc + 4) & ~3;
+                int low = readInt(code, operands + 4);
+                int high = readInt(code, operands + 8);
+                return operands - pc + 12 + 4 * (high - low + 1);
+            }
+            case 0xab: { // lookupswitch
+                int operands = (pc + 4) & ~3;
+                return operands - pc + 8 + 8 * readInt(code, operands + 4);
+            }
+            default:
+                return opcode >= 0x99 && opcode <= 0xa8 ? 3 : 1; // branches take a 2-byte offset
+        }
+    }
+
+    /**
+     * Adds the calls of each "lambda$method$n" body to the method it was written in.
+     */
+    private static void foldLambdas(Map<String, Set<String>> calls) {
+        boolean changed = true;
+        while (changed) { // Until nested lambdas have reached the outermost method
+            changed = false;
+            for (Map.Entry<String, Set<String>> lambda : calls.entrySet()) {
+                String name = lambda.getKey();
+                if (name.startsWith("lambda$") && name.lastIndexOf('$') > "lambda$".length()) {
+                    Set<String> enclosing = calls.get(name.substring("lambda$".length(), name.lastIndexOf('$')));
+                    if (enclosing != null && enclosing != lambda.getValue()) {
+                        changed |= enclosing.addAll(lambda.getValue());
+                    }
+                }
+            }
+        }
+    }
+
+    private static void skipAttributes(DataInputStream in) throws IOException {
+        int attributes = in.readUnsignedShort();
+        for (int i = 0; i < attributes; i++) {
+            in.skipBytes(2);
+            in.skipBytes(in.readInt());
+        }
+    }
+
+    private static int readInt(byte[] code, int at) {
+        return ((code[at] & 0xff) << 24) | ((code[at + 1] & 0xff) << 16) | ((code[at + 2] & 0xff) << 8) | (code[at + 3] & 0xff);
+    }
+
+    private static final class ConstantPool {
+        private final String[] utf8;
+        private final int[] first;  // Class: name; Methodref/NameAndType: class / name
+        private final int[] second; // Methodref: name and type; NameAndType: descriptor
+        private final int[] tags;
+
+        private ConstantPool(int count) {
+            utf8 = new String[count];
+            first = new int[count];
+            second = new int[count];
+            tags = new int[count];
+        }
+
+        private static ConstantPool read(DataInputStream in, String className) throws IOException {
+            int count = in.readUnsignedShort();
+            ConstantPool pool = new ConstantPool(count);
+            for (int i = 1; i < count; i++) {
+                int tag = in.readUnsignedByte();
+                pool.tags[i] = tag;
+                switch (tag) {
+                    case 1: // Utf8
+                        pool.utf8[i] = in.readUTF();
+                        break;
+                    case 7: // Class
+                        pool.first[i] = in.readUnsignedShort();
+                        break;
+                    case 10: case 11: case 12: // Methodref, InterfaceMethodref, NameAndType
+                        pool.first[i] = in.readUnsignedShort();
+                        pool.second[i] = in.readUnsignedShort();
+                        break;
+                    case 8: case 16: case 19: case 20: // String, MethodType, Module, Package
+                        in.skipBytes(2);
+                        break;
+                    case 15: // MethodHandle
+                        in.skipBytes(3);
+                        break;
+                    case 3: case 4: case 9: case 17: case 18: // Integer, Float, Fieldref, Dynamic, InvokeDynamic
+                        in.skipBytes(4);
+                        break;
+                    case 5: case 6: // Long, Double take two slots
+                        in.skipBytes(8);
+                        i++;
+                        break;
+                    default:
+                        throw new IOException("Unknown constant pool tag " + tag + " in " + className);
+                }
+            }
+            return pool;
+        }
+
+        private String className(int index) {
+            String internalName = utf8[first[index]];
+            return internalName == null ? null : internalName.replace('/', '.');
+        }
+
+        private String methodRef(int index) {
+            if (tags[index] != 10 && tags[index] != 11) {
+                return null;
+            }
+            String owner = className(first[index]);
+            return owner == null || owner.startsWith("[") ? null : owner + "#" + utf8[first[second[index]]];
+        }
+
+        private Set<String> classReferences() {
+            Set<String> found = new TreeSet<>();
+            for (int i = 1; i < tags.length; i++) {
+                if (tags[i] == 7) {
+                    String name = className(i);
+                    if (name != null && !name.startsWith("[")) {
+                        // Array class entries carry a descriptor, e.g. "[Lcom/x/Y;", handled below
+                        found.add(name);
+                    }
+                } else if (tags[i] == 1 && utf8[i].indexOf(';') > 0) {
+                    Matcher type = DESCRIPTOR_TYPE.matcher(utf8[i]);
+                    while (type.find()) {
+                        found.add(type.group(1).replace('/', '.'));
+                    }
+                }
+            }
+            return found;
+        }
+    }
+
+    private static final class ClassInfo {
+        private static final ClassInfo EMPTY = new ClassInfo(null, Collections.emptySet(), Collections.emptyMap());
+
+        private final String superclass;
+        private final Set<String> references;
+        private final Map<String, Set<String>> calls;
+
+        private ClassInfo(String superclass, Set<String> references, Map<String, Set<String>> calls) {
+            this.superclass = superclass;
+            this.references = references;
+            this.calls = calls;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.sagar.automation.utilities;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.decorators.Decorated;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.apache.logging.log4j.util.Unbox.box;
+
+/**
+ * Records every WebDriver command of a test (findElement, click, getText, executeScript, navigation, ...)
+ * with its locator, start and duration.
+ * - The driver created in BaseTest is wrapped with an {@link EventFiringDecorator} that uses one tracer per test.
+ * - Commands are appended to plain arrays owned by the test thread, so recording takes no locks.
+ * - At test end the trace is folded into a per-test profile and merged into the suite-wide per-locator totals.
+ * Each command is also charged to its {@link TimeAccounting} phase (lookups, navigation, actions, ...).
+ * Disable with {@code driver.command.tracing=false}.
+ */
+public class CommandTracer implements WebDriverListener {
+    private static final Logger log = LogManager.getLogger(CommandTracer.class.getName());
+
+    private static final int PROFILE_ROWS = 15;
+    // A lookup answered within this is a plain round trip; anything longer waited for the element
+    private static final long LOOKUP_ROUND_TRIP_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final int INITIAL_CAPACITY = 256;
+
+    private static final ThreadLocal<CommandTracer> current = new ThreadLocal<>();
+    // Suite-wide totals per locator, merged once per test
+    private static final Map<String, LocatorTotals> suiteTotals = new ConcurrentHashMap<>();
+
+    // Per-test trace, written only by the test thread
+    private String[] commands = new String[INITIAL_CAPACITY];
+    private String[] locators = new String[INITIAL_CAPACITY];
+    private long[] startNanos = new long[INITIAL_CAPACITY];
+    private long[] durationNanos = new long[INITIAL_CAPACITY];
+    private boolean[] failed = new boolean[INITIAL_CAPACITY];
+    private int size;
+    private long[] openCalls = new long[16];
+    private boolean[] openLookups = new boolean[16]; // Open call is a lookup whose implicit wait may be charged
+    private int depth;
+    private long implicitWaitNanos; // As last set through this driver
+    private final Map<WebElement, String> elementLocators = new HashMap<>();
+
+    /**
+     * Wraps the driver of the test on the current thread so that every command is traced.
+     *
+     * @param driver The driver just created by BaseTest.
+     * @return The decorated driver, or the same driver if tracing is disabled.
+     */
+    public static WebDriver decorate(WebDriver driver) {
+        current.remove();
+        if (!Boolean.parseBoolean(ConfigReader.getProperty("driver.command.tracing", "true"))) {
+            return driver;
+        }
+        CommandTracer tracer = new CommandTracer();
+        current.set(tracer);
+        return new EventFiringDecorator<>(tracer).decorate(driver);
+    }
+
+    /**
+     * Ends tracing for the test on the current thread and merges its commands into the suite totals.
+     *
+     * @return The per-test profile (header row first), or null if the test was not traced.
+     */
+    public static String[][] endTest() {
+        CommandTracer tracer = current.get();
+        current.remove();
+        return tracer == null ? null : tracer.profile();
+    }
+
+    /**
+     * Builds the "slowest locators across the suite" table.
+     *
+     * @param rows Maximum number of locators to include.
+     * @return Rows of {locator, tests, commands, total, average, max} ordered by total time, header row first.
+     */
+    public static String[][] getSuiteLocatorTable(int rows) {
+        List<Map.Entry<String, LocatorTotals>> entries = new ArrayList<>(suiteTotals.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue().totalNanos.sum(), a.getValue().totalNanos.sum()));
+        int count = Math.min(rows, entries.size());
+        String[][] table = new String[count + 1][];
+        table[0] = new String[]{"Locator", "Tests", "Commands", "Total (ms)", "Avg (ms)", "Max (ms)"};
+        for (int i = 0; i < count; i++) {
+            LocatorTotals totals = entries.get(i).getValue();
+            long commandCount = totals.commands.sum();
+            table[i + 1] = new String[]{entries.get(i).getKey(), String.valueOf(totals.tests.sum()), String.valueOf(commandCount),
+                    String.valueOf(millis(totals.totalNanos.sum())), String.valueOf(millis(totals.totalNanos.sum() / Math.max(1, commandCount))),
+                    String.valueOf(millis(totals.maxNanos.get()))};
+        }
+        return table;
+    }
+
+    /**
+     * @return True if at least one traced test has finished.
+     */
+    public static boolean hasSuiteTotals() {
+        return !suiteTotals.isEmpty();
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (depth == openCalls.length) {
+            openCalls = Arrays.copyOf(openCalls, depth * 2);
+            openLookups = Arrays.copyOf(openLookups, depth * 2);
+        }
+        if (target instanceof WebDriver.Timeouts && "implicitlyWait".equals(method.getName())
+                && args != null && args.length > 0 && args[0] instanceof Duration) {
+            implicitWaitNanos = ((Duration) args[0]).toNanos();
+        }
+        boolean lookup = "findElement".equals(method.getName()) || "findElements".equals(method.getName());
+        openLookups[depth] = TimeAccounting.enterCommand(phaseOf(target, method)) && lookup;
+        openCalls[depth++] = System.nanoTime();
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        record(target, method, args, false);
+        if (result instanceof WebElement && args != null && args.length > 0 && args[0] instanceof By) {
+            elementLocators.put(original((WebElement) result), args[0].toString());
+        } else if (result instanceof List && args != null && args.length > 0 && args[0] instanceof By) {
+            for (Object element : (List<?>) result) {
+                if (element instanceof WebElement) {
+                    elementLocators.put(original((WebElement) element), args[0].toString());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        record(target, method, args, true);
+    }
+
+    private void record(Object target, Method method, Object[] args, boolean error) {
+        long end = System.nanoTime();
+        boolean lookup = depth > 0 && openLookups[depth - 1];
+        long start = depth > 0 ? openCalls[--depth] : end;
+        // Only the time beyond a round trip is implicit waiting, e.g. the whole wait of a lookup that finds nothing
+        TimeAccounting.exitCommand(lookup && implicitWaitNanos > 0
+                ? Math.min(implicitWaitNanos, Math.max(0, end - start - LOOKUP_ROUND_TRIP_NANOS)) : 0);
+        if (size == commands.length) {
+            int capacity = size * 2;
+            commands = Arrays.copyOf(commands, capacity);
+            locators = Arrays.copyOf(locators, capacity);
+            startNanos = Arrays.copyOf(startNanos, capacity);
+            durationNanos = Arrays.copyOf(durationNanos, capacity);
+            failed = Arrays.copyOf(failed, capacity);
+        }
+        commands[size] = commandName(target, method);
+        locators[size] = locator(target, method, args);
+        startNanos[size] = start;
+        durationNanos[size] = end - start;
+        failed[size] = error;
+        size++;
+    }
+
+    /**
+     * Folds the trace into {command, locator} groups and merges the per-locator totals into the suite totals.
+     */
+    private String[][] profile() {
+        Map<String, long[]> groups = new HashMap<>(); // "command|locator" -> {count, total nanos, max nanos, errors}
+        Map<String, long[]> byLocator = new HashMap<>(); // By locator -> {count, total nanos, max nanos}
+        long totalNanos = 0;
+        for (int i = 0; i < size; i++) {
+            long[] group = groups.computeIfAbsent(commands[i] + "|" + locators[i], k -> new long[4]);
+            group[0]++;
+            group[1] += durationNanos[i];
+            group[2] = Math.max(group[2], durationNanos[i]);
+            group[3] += failed[i] ? 1 : 0;
+            totalNanos += durationNanos[i];
+            if (locators[i].startsWith("By.")) {
+                long[] locator = byLocator.computeIfAbsent(locators[i], k -> new long[3]);
+                locator[0]++;
+                locator[1] += durationNanos[i];
+                locator[2] = Math.max(locator[2], durationNanos[i]);
+            }
+        }
+        for (Map.Entry<String, long[]> entry : byLocator.entrySet()) {
+            LocatorTotals totals = suiteTotals.computeIfAbsent(entry.getKey(), k -> new LocatorTotals());
+            totals.commands.add(entry.getValue()[0]);
+            totals.totalNanos.add(entry.getValue()[1]);
+            totals.maxNanos.accumulate(entry.getValue()[2]);
+            totals.tests.increment();
+        }
+
+        List<Map.Entry<String, long[]>> sorted = new ArrayList<>(groups.entrySet());
+        sorted.sort((a, b) -> Long.compare(b.getValue()[1], a.getValue()[1]));
+        int rows = Math.min(PROFILE_ROWS, sorted.size());
+        String[][] table = new String[rows + 1][];
+        table[0] = new String[]{"Command", "Locator / target", "Count", "Total (ms)", "Slowest (ms)", "Errors"};
+        for (int i = 0; i < rows; i++) {
+            String[] key = sorted.get(i).getKey().split("\\|", 2);
+            long[] group = sorted.get(i).getValue();
+            table[i + 1] = new String[]{key[0], key[1], String.valueOf(group[0]), String.valueOf(millis(group[1])),
+                    String.valueOf(millis(group[2])), String.valueOf(group[3])};
+        }
+        log.info("WebDriver commands: {} in {} ms, {} distinct command/locator pairs", box(size), box(millis(totalNanos)), box(groups.size()));
+        return table;
+    }
+
+    private String locator(Object target, Method method, Object[] args) {
+        String name = method.getName();
+        if (args != null && args.length > 0 && args[0] instanceof By) {
+            return args[0].toString();
+        }
+        if (target instanceof WebElement) {
+            String locator = elementLocators.get(target);
+            return locator != null ? locator : "(element)";
+        }
+        if (("get".equals(name) || "to".equals(name)) && args != null && args.length > 0) {
+            return String.valueOf(args[0]);
+        }
+        if (name.startsWith("execute") && args != null && args.length > 0 && args[0] instanceof String) {
+            String script = ((String) args[0]).replaceAll("\\s+", " ").trim();
+            return "script: " + (script.length() > 40 ? script.substring(0, 40) + "..." : script);
+        }
+        return "";
+    }
+
+    private static String commandName(Object target, Method method) {
+        String prefix;
+        if (target instanceof WebElement) {
+            prefix = "element.";
+        } else if (target instanceof WebDriver) {
+            prefix = "driver.";
+        } else if (target instanceof WebDriver.Navigation) {
+            prefix = "navigate.";
+        } else if (target instanceof Alert) {
+            prefix = "alert.";
+        } else if (target instanceof WebDriver.Timeouts) {
+            prefix = "timeouts.";
+        } else if (target instanceof WebDriver.Window) {
+            prefix = "window.";
+        } else if (target instanceof WebDriver.TargetLocator) {
+            prefix = "switchTo.";
+        } else if (target instanceof WebDriver.Options) {
+            prefix = "manage.";
+        } else {
+            prefix = target.getClass().getSimpleName() + ".";
+        }
+        return prefix + method.getName();
+    }
+
+    /**
+     * Time accounting phase of a command. Element lookups are actions; only their time beyond a plain round trip,
+     * when an implicit wait is set, is charged to implicit waits (see {@link #record}).
+     */
+    private static TimeAccounting.Phase phaseOf(Object target, Method method) {
+        String name = method.getName();
+        if (target instanceof WebDriver.Navigation || (target instanceof WebDriver && "get".equals(name))) {
+            return TimeAccounting.Phase.NAVIGATION;
+        }
+        if ("getScreenshotAs".equals(name)) {
+            return TimeAccounting.Phase.SCREENSHOTS;
+        }
+        if (target instanceof WebDriver && ("quit".equals(name) || "close".equals(name))) {
+            return TimeAccounting.Phase.DRIVER;
+        }
+        return TimeAccounting.Phase.ACTIONS;
+    }
+
+    private static WebElement original(WebElement element) {
+        if (element instanceof Decorated) {
+            Object original = ((Decorated<?>) element).getOriginal();
+            if (original instanceof WebElement) {
+                return (WebElement) original;
+            }
+        }
+        return element;
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private static final class LocatorTotals {
+        private final LongAdder commands = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder tests = new LongAdder();
+    }
+}
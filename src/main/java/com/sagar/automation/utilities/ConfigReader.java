@@ -45,6 +45,7 @@ public class ConfigReader {
 
     /**
      * Retrieves a property value by its key from the loaded configuration
+     * A JVM system property with the same key (e.g. -Dbrowser=firefox) takes precedence over the file
      *
      * @param key  The key of the property to retrieve
      * @return  The String value of the property, or null if the key is not found
@@ -54,7 +55,7 @@ public class ConfigReader {
             log.warn("Properties are not initialized. Calling initializeProperties(). This should be ideally done once at startup.");
             initializeProperties();
         }
-        String value = properties.getProperty(key);
+        String value = System.getProperty(key, properties.getProperty(key));
         if(value == null){
             log.warn("Property  '" + key + "' not found in config.properties. Returning null.");
         }
@@ -64,6 +65,7 @@ public class ConfigReader {
     /**
      * Retrieves a property value from the loaded config.properties file,
      * providing a default value if the key is not found or is empty.
+     * A JVM system property with the same key takes precedence over the file.
      *
      * @param key The key of the property to retrieve.
      * @param defaultValue The default value to return if the key is not found or its value is empty.
@@ -74,7 +76,7 @@ public class ConfigReader {
             log.warn("Properties are not initialized. Calling initializeProperties(). This should be ideally done once at startup.");
             initializeProperties();
         }
-        String value = properties.getProperty(key);
+        String value = System.getProperty(key, properties.getProperty(key));
         // Check for null or empty string
         if (value == null || value.trim().isEmpty()) {
             log.warn("Property '" + key + "' not found or is empty in config.properties. Using default value: '" + defaultValue + "'.");
@@ -0,0 +1,44 @@
+package com.sagar.automation.utilities;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+
+/**
+ * REST Assured filter that checks every successful (2xx) response against the contract registered
+ * for its endpoint in {@link ContractValidator}. Add it to the RequestSpecification the API tests share
+ * (not to REST Assured's static filters, which every thread and class would share) so all their requests are covered.
+ */
+public class ContractValidationFilter implements Filter {
+    private static final Logger log = LogManager.getLogger(ContractValidationFilter.class.getName());
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Response response = ctx.next(requestSpec, responseSpec);
+
+        int statusCode = response.getStatusCode();
+        if (statusCode < 200 || statusCode >= 300) {
+            return response; // Error bodies are not part of the contract
+        }
+        String endpoint = ApiEndpoints.key(requestSpec.getMethod(), requestSpec.getURI());
+        if (!ContractValidator.hasContract(endpoint)) {
+            log.debug("No contract registered for '{}'. Skipping validation.", endpoint);
+            return response;
+        }
+
+        List<String> violations = ContractValidator.validate(endpoint, response.asString());
+        if (!violations.isEmpty()) {
+            log.error("Contract violated for '{}': {}", endpoint, violations);
+            throw new AssertionError("Response of '" + endpoint + "' violates its contract: " + violations);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,407 @@
+package com.sagar.automation.utilities;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.apache.logging.log4j.util.Unbox.box;
+
+/**
+ * Validates API response bodies against per-endpoint contract schemas.
+ * - 'contracts.properties' in the contracts directory maps endpoint keys (see {@link ApiEndpoints}) to schema files.
+ * - Schemas use a small JSON-Schema subset: type, required, properties, items, minimum, minItems and const.
+ * Schemas are compiled once per JVM into an immutable node tree, so validating a response is a plain walk
+ * over the parsed body. Error messages are only built when that walk reports a mismatch.
+ */
+public class ContractValidator {
+    private static final Logger log = LogManager.getLogger(ContractValidator.class.getName());
+
+    private static final String INDEX_FILE = "contracts.properties";
+
+    // Type bits used by the compiled nodes
+    private static final int OBJECT = 1;
+    private static final int ARRAY = 1 << 1;
+    private static final int STRING = 1 << 2;
+    private static final int INTEGER = 1 << 3;
+    private static final int NUMBER = 1 << 4;
+    private static final int BOOLEAN = 1 << 5;
+    private static final int NULL = 1 << 6;
+    private static final int ANY = OBJECT | ARRAY | STRING | INTEGER | NUMBER | BOOLEAN | NULL;
+
+    // Compiled schemas keyed by endpoint, e.g. "GET /products/{id}"
+    private static volatile Map<String, Node> compiledContracts;
+    // Validation cost per endpoint, reported at the end of the API tests
+    private static final Map<String, ValidationStats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * Loads and compiles all contract schemas listed in contracts.properties.
+     * Safe to call many times; the schemas are only compiled on the first call.
+     */
+    public static void initializeContracts() {
+        if (compiledContracts != null) {
+            log.debug("Contracts already compiled.");
+            return;
+        }
+        synchronized (ContractValidator.class) {
+            if (compiledContracts != null) {
+                return;
+            }
+            String contractsDir = ConfigReader.getProperty("api.contracts.dir");
+            if (contractsDir == null || contractsDir.trim().isEmpty()) {
+                throw new IllegalStateException("'api.contracts.dir' is not set in config.properties");
+            }
+            File indexFile = new File(contractsDir, INDEX_FILE);
+            Map<String, Node> contracts = new LinkedHashMap<>();
+            long start = System.nanoTime();
+
+            Properties index = new Properties();
+            try (InputStream in = new FileInputStream(indexFile)) {
+                index.load(in);
+            } catch (IOException e) {
+                log.error("Could not read contract index: {}", indexFile.getPath(), e);
+                throw new RuntimeException("Could not read contract index: " + indexFile.getPath(), e);
+            }
+
+            for (String endpoint : index.stringPropertyNames()) {
+                File schemaFile = new File(contractsDir, index.getProperty(endpoint).trim());
+                try {
+                    String schemaText = new String(Files.readAllBytes(schemaFile.toPath()), StandardCharsets.UTF_8);
+                    contracts.put(endpoint.trim(), compile(new JSONObject(schemaText), "$"));
+                } catch (IOException e) {
+                    log.error("Could not read contract schema: {}", schemaFile.getPath(), e);
+                    throw new RuntimeException("Could not read contract schema: " + schemaFile.getPath(), e);
+                }
+            }
+            compiledContracts = Collections.unmodifiableMap(contracts);
+            log.info("Compiled {} API contracts from '{}' in {} ms.", box(contracts.size()), contractsDir,
+                    box((System.nanoTime() - start) / 1_000_000));
+        }
+    }
+
+    /**
+     * Checks whether a contract is registered for the given endpoint.
+     *
+     * @param endpoint The endpoint key, e.g. "GET /products".
+     * @return True if a compiled schema exists for the endpoint.
+     */
+    public static boolean hasContract(String endpoint) {
+        initializeContracts();
+        return compiledContracts.containsKey(endpoint);
+    }
+
+    /**
+     * Validates a response body against the contract of the endpoint and records the validation cost.
+     *
+     * @param endpoint The endpoint key, e.g. "GET /products".
+     * @param body     The raw response body.
+     * @return An empty list if the body satisfies the contract (or no contract exists), otherwise the violations.
+     */
+    public static List<String> validate(String endpoint, String body) {
+        initializeContracts();
+        Node contract = compiledContracts.get(endpoint);
+        if (contract == null) {
+            return Collections.emptyList();
+        }
+
+        long start = System.nanoTime();
+        List<String> violations = Collections.emptyList();
+        Object document;
+        try {
+            document = new JSONTokener(body).nextValue();
+        } catch (RuntimeException e) {
+            document = null;
+            violations = Collections.singletonList("$: response body is not valid JSON (" + e.getMessage() + ")");
+        }
+        // Fast path: a single walk without any allocation. Only a failing body pays for the detailed pass.
+        if (document != null && !contract.matches(document)) {
+            violations = new ArrayList<>();
+            contract.collectViolations(document, "$", violations);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        stats.computeIfAbsent(endpoint, k -> new ValidationStats()).record(elapsed);
+        log.info("Contract check for '{}' took {} us ({}).", endpoint, box(elapsed / 1_000),
+                violations.isEmpty() ? "valid" : violations.size() + " violations");
+        return violations;
+    }
+
+    /**
+     * Returns a snapshot of the validation cost per endpoint.
+     *
+     * @return Map of endpoint key to {count, total nanos, max nanos}.
+     */
+    public static Map<String, long[]> getValidationStats() {
+        Map<String, long[]> snapshot = new LinkedHashMap<>();
+        for (Map.Entry<String, ValidationStats> entry : stats.entrySet()) {
+            ValidationStats s = entry.getValue();
+            snapshot.put(entry.getKey(), new long[]{s.count.sum(), s.totalNanos.sum(), s.maxNanos.get()});
+        }
+        return snapshot;
+    }
+
+    /**
+     * Compiles a schema object into a node tree. Unknown keywords are rejected so that a typo in a contract
+     * does not silently turn into "anything goes".
+     */
+    private static Node compile(JSONObject schema, String path) {
+        int typeMask = ANY;
+        String[] required = new String[0];
+        String[] propertyNames = new String[0];
+        Node[] propertyNodes = new Node[0];
+        Node items = null;
+        double minimum = Double.NaN;
+        int minItems = -1;
+        Object constant = null;
+
+        Iterator<String> keys = schema.keys();
+        while (keys.hasNext()) {
+            String keyword = keys.next();
+            switch (keyword) {
+                case "type":
+                    typeMask = parseType(schema.get("type"), path);
+                    break;
+                case "required":
+                    JSONArray requiredArray = schema.getJSONArray("required");
+                    required = new String[requiredArray.length()];
+                    for (int i = 0; i < requiredArray.length(); i++) {
+                        required[i] = requiredArray.getString(i);
+                    }
+                    break;
+                case "properties":
+                    JSONObject properties = schema.getJSONObject("properties");
+                    propertyNames = properties.keySet().toArray(new String[0]);
+                    propertyNodes = new Node[propertyNames.length];
+                    for (int i = 0; i < propertyNames.length; i++) {
+                        propertyNodes[i] = compile(properties.getJSONObject(propertyNames[i]), path + "." + propertyNames[i]);
+                    }
+                    break;
+                case "items":
+                    items = compile(schema.getJSONObject("items"), path + "[]");
+                    break;
+                case "minimum":
+                    minimum = schema.getDouble("minimum");
+                    break;
+                case "minItems":
+                    minItems = schema.getInt("minItems");
+                    break;
+                case "const":
+                    constant = schema.get("const");
+                    break;
+                case "$schema":
+                case "title":
+                case "description":
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported contract keyword '" + keyword + "' at " + path);
+            }
+        }
+        return new Node(typeMask, required, propertyNames, propertyNodes, items, minimum, minItems, constant);
+    }
+
+    private static int parseType(Object type, String path) {
+        if (type instanceof JSONArray) {
+            int mask = 0;
+            JSONArray types = (JSONArray) type;
+            for (int i = 0; i < types.length(); i++) {
+                mask |= parseType(types.get(i), path);
+            }
+            return mask;
+        }
+        switch (String.valueOf(type)) {
+            case "object":
+                return OBJECT;
+            case "array":
+                return ARRAY;
+            case "string":
+                return STRING;
+            case "integer":
+                return INTEGER;
+            case "number":
+                return NUMBER | INTEGER;
+            case "boolean":
+                return BOOLEAN;
+            case "null":
+                return NULL;
+            default:
+                throw new IllegalArgumentException("Unsupported contract type '" + type + "' at " + path);
+        }
+    }
+
+    private static int typeOf(Object value) {
+        if (value instanceof JSONObject) return OBJECT;
+        if (value instanceof JSONArray) return ARRAY;
+        if (value instanceof String) return STRING;
+        if (value instanceof Boolean) return BOOLEAN;
+        if (value instanceof Integer || value instanceof Long || value instanceof BigInteger
+                || value instanceof Short || value instanceof Byte) return INTEGER;
+        if (value instanceof Number) return NUMBER;
+        return NULL; // JSONObject.NULL
+    }
+
+    private static String typeName(int type) {
+        switch (type) {
+            case OBJECT: return "object";
+            case ARRAY: return "array";
+            case STRING: return "string";
+            case INTEGER: return "integer";
+            case NUMBER: return "number";
+            case BOOLEAN: return "boolean";
+            default: return "null";
+        }
+    }
+
+    /**
+     * One compiled schema node. All fields are final arrays/primitives so matching never allocates.
+     */
+    private static final class Node {
+        private final int typeMask;
+        private final String[] required;
+        private final String[] propertyNames;
+        private final Node[] propertyNodes;
+        private final Node items;
+        private final double minimum;
+        private final int minItems;
+        private final Object constant;
+
+        private Node(int typeMask, String[] required, String[] propertyNames, Node[] propertyNodes,
+                     Node items, double minimum, int minItems, Object constant) {
+            this.typeMask = typeMask;
+            this.required = required;
+            this.propertyNames = propertyNames;
+            this.propertyNodes = propertyNodes;
+            this.items = items;
+            this.minimum = minimum;
+            this.minItems = minItems;
+            this.constant = constant;
+        }
+
+        private boolean matches(Object value) {
+            int type = typeOf(value);
+            if ((typeMask & type) == 0) {
+                return false;
+            }
+            if (constant != null && !constantMatches(value)) {
+                return false;
+            }
+            if (type == OBJECT) {
+                JSONObject object = (JSONObject) value;
+                for (String name : required) {
+                    if (!object.has(name)) {
+                        return false;
+                    }
+                }
+                for (int i = 0; i < propertyNames.length; i++) {
+                    Object child = object.opt(propertyNames[i]);
+                    if (child != null && !propertyNodes[i].matches(child)) {
+                        return false;
+                    }
+                }
+            } else if (type == ARRAY) {
+                JSONArray array = (JSONArray) value;
+                if (array.length() < minItems) {
+                    return false;
+                }
+                if (items != null) {
+                    for (int i = 0; i < array.length(); i++) {
+                        if (!items.matches(array.get(i))) {
+                            return false;
+                        }
+                    }
+                }
+            } else if ((type == INTEGER || type == NUMBER) && !Double.isNaN(minimum)) {
+                return ((Number) value).doubleValue() >= minimum;
+            }
+            return true;
+        }
+
+        private void collectViolations(Object value, String path, List<String> violations) {
+            int type = typeOf(value);
+            if ((typeMask & type) == 0) {
+                violations.add(path + ": expected " + describeMask() + " but was " + typeName(type));
+                return;
+            }
+            if (constant != null && !constantMatches(value)) {
+                violations.add(path + ": expected constant " + constant + " but was " + value);
+            }
+            if (type == OBJECT) {
+                JSONObject object = (JSONObject) value;
+                for (String name : required) {
+                    if (!object.has(name)) {
+                        violations.add(path + ": missing required property '" + name + "'");
+                    }
+                }
+                for (int i = 0; i < propertyNames.length; i++) {
+                    Object child = object.opt(propertyNames[i]);
+                    if (child != null) {
+                        propertyNodes[i].collectViolations(child, path + "." + propertyNames[i], violations);
+                    }
+                }
+            } else if (type == ARRAY) {
+                JSONArray array = (JSONArray) value;
+                if (array.length() < minItems) {
+                    violations.add(path + ": expected at least " + minItems + " items but had " + array.length());
+                }
+                if (items != null) {
+                    for (int i = 0; i < array.length(); i++) {
+                        items.collectViolations(array.get(i), path + "[" + i + "]", violations);
+                    }
+                }
+            } else if ((type == INTEGER || type == NUMBER) && !Double.isNaN(minimum)
+                    && ((Number) value).doubleValue() < minimum) {
+                violations.add(path + ": expected minimum " + minimum + " but was " + value);
+            }
+        }
+
+        private boolean constantMatches(Object value) {
+            if (constant instanceof Number && value instanceof Number) {
+                return ((Number) constant).doubleValue() == ((Number) value).doubleValue();
+            }
+            return constant.equals(value);
+        }
+
+        private String describeMask() {
+            List<String> names = new ArrayList<>();
+            for (int bit = OBJECT; bit <= NULL; bit <<= 1) {
+                if ((typeMask & bit) != 0) {
+                    names.add(typeName(bit));
+                }
+            }
+            return String.join("|", names);
+        }
+    }
+
+    /**
+     * Lock-free counters for the validation cost of one endpoint.
+     */
+    private static final class ValidationStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.sagar.automation.utilities;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Thin helper around the raw DevTools "Network" domain. Commands and events are addressed by name
+ * rather than through the versioned devtools modules, so they keep working when the browser's CDP
+ * version is newer than the ones bundled with Selenium.
+ * Event listeners run on the DevTools connection thread, never on the test thread.
+ */
+public final class DevToolsNetwork {
+    private static final Logger log = LogManager.getLogger(DevToolsNetwork.class.getName());
+
+    private DevToolsNetwork() {
+        // Static helper, not meant to be instantiated
+    }
+
+    /**
+     * Opens (or reuses) the DevTools session of the driver and enables the Network domain.
+     *
+     * @param driver The WebDriver of the current test.
+     * @return The DevTools session, or null if the browser does not support DevTools (e.g. Firefox).
+     */
+    public static DevTools open(WebDriver driver) {
+        if (!(driver instanceof HasDevTools)) {
+            return null;
+        }
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            devTools.send(command("Network.enable", Collections.emptyMap()));
+            return devTools;
+        } catch (RuntimeException e) {
+            log.warn("DevTools session could not be opened: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @param method e.g. "Network.setBlockedURLs".
+     * @param params The command parameters.
+     * @return A command whose result is ignored.
+     */
+    public static Command<Void> command(String method, Map<String, Object> params) {
+        return new Command<>(method, params, input -> {
+            input.skipValue();
+            return null;
+        });
+    }
+
+    /**
+     * @param method e.g. "Network.loadingFailed".
+     * @return An event delivering its raw parameters.
+     */
+    public static Event<Map<String, Object>> event(String method) {
+        return new Event<>(method, input -> input.read(Json.MAP_TYPE));
+    }
+
+    /**
+     * Reads a numeric event parameter.
+     *
+     * @return The value, or 0 if it is missing.
+     */
+    public static long number(Map<String, Object> params, String key) {
+        Object value = params.get(key);
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+}
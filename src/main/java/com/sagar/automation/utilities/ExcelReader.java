@@ -13,6 +13,8 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import static org.apache.logging.log4j.util.Unbox.box;
+
 /**
  * Utility class for reading test data from Excel files using a two-sheet structure.
  * - 'TestParameters' sheet defines the schema (parameter names) for each test method.
@@ -25,7 +27,8 @@ public class ExcelReader {
     // Fixed sheet names for parameter and data sheets
     private static final String PARAM_SHEET_NAME = "TestParameters";
     private static final String DATA_SHEET_NAME = "TestData";
-    private static final String TEST_NAME_COLUMN = "TestName"; // Column header in both sheets to link data
+    public static final String TEST_NAME_COLUMN = "TestName"; // Column header in both sheets to link data
+    public static final String DATA_ROW_KEY = "DataRow"; // 1-based position of the row among the rows of its TestName
 
     // Cache to store all parsed data to avoid re-reading the Excel file for every data provider call
     private static Map<String, List<Map<String, String>>> cachedAllTestData = new LinkedHashMap<>();
@@ -68,6 +71,7 @@ public class ExcelReader {
             return cachedAllTestData;
         }
 
+        long start = System.nanoTime();
         FileInputStream fis = null;
         Workbook workbook = null;
         Map<String, List<Map<String, String>>> allTestsData = new LinkedHashMap<>();
@@ -106,7 +110,7 @@ public class ExcelReader {
                 String testName = getCellValueAsString(testNameCell).trim();
 
                 if (testName.isEmpty()) {
-                    log.warn("Skipping row {} in parameter sheet as TestName is empty.", i + 1);
+                    log.warn("Skipping row {} in parameter sheet as TestName is empty.", box(i + 1));
                     continue;
                 }
 
@@ -165,13 +169,13 @@ public class ExcelReader {
                 String testName = getCellValueAsString(testNameCell).trim();
 
                 if (testName.isEmpty()) {
-                    log.warn("Skipping row {} in data sheet as TestName is empty.", i + 1);
+                    log.warn("Skipping row {} in data sheet as TestName is empty.", box(i + 1));
                     continue;
                 }
 
                 List<String> expectedParamKeys = testMethodSchemaMap.get(testName);
                 if (expectedParamKeys == null || expectedParamKeys.isEmpty()) {
-                    log.warn("TestName '{}' found in data sheet but no schema defined in '{}'. Skipping row {}.", testName, PARAM_SHEET_NAME, i + 1);
+                    log.warn("TestName '{}' found in data sheet but no schema defined in '{}'. Skipping row {}.", testName, PARAM_SHEET_NAME, box(i + 1));
                     continue;
                 }
 
@@ -197,16 +201,19 @@ public class ExcelReader {
 
                 if (isRowDataMeaningful) {
                     allTestsData.putIfAbsent(testName, new ArrayList<>());
+                    // Identifies the row within its TestName so logs and reports can point at one data set
+                    rowDataMap.put(DATA_ROW_KEY, String.valueOf(allTestsData.get(testName).size() + 1));
                     allTestsData.get(testName).add(rowDataMap);
                     log.debug("Added data set for '{}': {}", testName, rowDataMap);
                 } else {
-                    log.warn("Row {} for TestName '{}' in data sheet contains only empty values for defined parameters. Skipping.", i + 1, testName);
+                    log.warn("Row {} for TestName '{}' in data sheet contains only empty values for defined parameters. Skipping.", box(i + 1), testName);
                 }
             }
-            log.info("Successfully parsed {} total combined data rows from Excel.", allTestsData.values().stream().mapToInt(List::size).sum()); // Sum of all data sets
+            log.info("Successfully parsed {} total combined data rows from Excel.", box(allTestsData.values().stream().mapToInt(List::size).sum())); // Sum of all data sets
 
             cachedAllTestData = allTestsData; // Cache the parsed data
             lastReadFilePath = filePath;
+            SuiteMetrics.EXCEL_LOAD_SECONDS.labels().observe(SuiteMetrics.seconds(System.nanoTime() - start));
             return allTestsData;
 
         } finally {
@@ -246,7 +253,7 @@ public class ExcelReader {
         if (methodData.isEmpty()) {
             log.warn("No data found in Excel for test method: '{}'. Returning empty data set.", testMethodName);
         } else {
-            log.info("Found {} data sets for test method: '{}'.", methodData.size(), testMethodName);
+            log.info("Found {} data sets for test method: '{}'.", box(methodData.size()), testMethodName);
         }
 
         // Convert List<Map<String, String>> to Object[][] for DataProvider
@@ -294,7 +301,7 @@ public class ExcelReader {
             case BLANK:
                 return "";
             default:
-                log.warn("Unhandled cell type for cell at row {} col {}: {}", cell.getRowIndex(), cell.getColumnIndex(), cell.getCellType());
+                log.warn("Unhandled cell type for cell at row {} col {}: {}", box(cell.getRowIndex()), box(cell.getColumnIndex()), cell.getCellType());
                 return "";
         }
     }
@@ -0,0 +1,190 @@
+package com.sagar.automation.utilities;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Custom Java Flight Recorder events for test activity, so a recording of the suite JVM (e.g. {@code mvn test -Pjfr})
+ * can tie CPU, GC and I/O spikes to the test, step, wait or screenshot that caused them.
+ * - Every event carries the test name and the worker thread, next to the thread JFR records itself.
+ * - Events are begun before the work and only filled in when {@code shouldCommit()} is true, so with no recording
+ * running nothing is formatted or looked up.
+ */
+public final class FlightRecorderEvents {
+    private static final ThreadLocal<TestEvent> currentTest = new ThreadLocal<>();
+
+    private FlightRecorderEvents() {
+    }
+
+    /**
+     * Starts the event spanning the test on the current thread, from setUp to tearDown.
+     */
+    public static void testStarted() {
+        TestEvent event = new TestEvent();
+        event.begin();
+        currentTest.set(event);
+    }
+
+    /**
+     * Ends the event spanning the test on the current thread.
+     *
+     * @param status The TestNG outcome, e.g. "PASS".
+     */
+    public static void testFinished(String status) {
+        TestEvent event = currentTest.get();
+        currentTest.remove();
+        if (event != null && event.shouldCommit()) {
+            event.fill();
+            event.status = status;
+            event.commit();
+        }
+    }
+
+    /**
+     * @return A begun step event; pass it to {@link #endStep} when the step has been reported.
+     */
+    public static StepEvent beginStep() {
+        StepEvent event = new StepEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * @param status The report status of the step.
+     */
+    public static void endStep(StepEvent event, Object status, String message, String screenshotName) {
+        if (event.shouldCommit()) {
+            event.fill();
+            event.status = String.valueOf(status);
+            event.message = message;
+            event.screenshotName = screenshotName;
+            event.commit();
+        }
+    }
+
+    /**
+     * @return A begun wait event; pass it to {@link #endWait} when the wait is over.
+     */
+    public static WaitEvent beginWait() {
+        WaitEvent event = new WaitEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * @param condition The condition waited for; only turned into a string if the event is recorded.
+     * @param satisfied False if the wait timed out or failed.
+     */
+    public static void endWait(WaitEvent event, Object condition, boolean satisfied) {
+        if (event.shouldCommit()) {
+            event.fill();
+            event.condition = String.valueOf(condition);
+            event.satisfied = satisfied;
+            event.commit();
+        }
+    }
+
+    /**
+     * @return A begun screenshot event; pass it to {@link #endScreenshot} once the file is written.
+     */
+    public static ScreenshotEvent beginScreenshot() {
+        ScreenshotEvent event = new ScreenshotEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * @param file The written screenshot, or null if taking it failed.
+     */
+    public static void endScreenshot(ScreenshotEvent event, String screenshotName, Path file) {
+        if (event.shouldCommit()) {
+            event.fill();
+            event.screenshotName = screenshotName;
+            if (file != null) {
+                event.file = file.toString();
+                try {
+                    event.bytes = Files.size(file);
+                } catch (IOException e) {
+                    event.bytes = -1;
+                }
+            }
+            event.commit();
+        }
+    }
+
+    /**
+     * Fields shared by all test activity events.
+     */
+    @Category({"Test Automation"})
+    @StackTrace(false)
+    abstract static class TestActivityEvent extends Event {
+        @Label("Test")
+        String testName;
+
+        @Label("Worker")
+        @Description("Name of the TestNG thread running the test")
+        String worker;
+
+        void fill() {
+            testName = TestLogContext.currentTestName();
+            worker = Thread.currentThread().getName();
+        }
+    }
+
+    @Name("com.sagar.automation.Test")
+    @Label("Test")
+    @Description("A test from setUp to the end of tearDown")
+    public static final class TestEvent extends TestActivityEvent {
+        @Label("Status")
+        String status;
+    }
+
+    @Name("com.sagar.automation.Step")
+    @Label("Test Step")
+    @Description("A step logged to the report with logAndCapture, including its screenshot")
+    public static final class StepEvent extends TestActivityEvent {
+        @Label("Status")
+        String status;
+
+        @Label("Message")
+        String message;
+
+        @Label("Screenshot Name")
+        String screenshotName;
+    }
+
+    @Name("com.sagar.automation.Wait")
+    @Label("Explicit Wait")
+    @Description("A WebDriverWait in a page object")
+    public static final class WaitEvent extends TestActivityEvent {
+        @Label("Condition")
+        String condition;
+
+        @Label("Satisfied")
+        boolean satisfied;
+    }
+
+    @Name("com.sagar.automation.Screenshot")
+    @Label("Screenshot")
+    @Description("A screenshot taken and written to the reports folder")
+    public static final class ScreenshotEvent extends TestActivityEvent {
+        @Label("Screenshot Name")
+        String screenshotName;
+
+        @Label("File")
+        String file;
+
+        @Label("Size")
+        @DataAmount
+        long bytes;
+    }
+}
@@ -0,0 +1,328 @@
+package com.sagar.automation.utilities;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.apache.logging.log4j.util.Unbox.box;
+
+/**
+ * Streams the progress of a running suite to a single-page dashboard over Server-Sent Events,
+ * so a long regression can be followed before the Extent report is flushed.
+ * - Test threads only offer events to a bounded queue; if it is full the event is dropped, never waited for.
+ * - One broadcaster thread turns events into SSE frames, keeps the totals (throughput, ETA) and hands the frames
+ * to a bounded queue per client. A slow client loses frames instead of holding anybody up; the periodic
+ * progress event brings it back in sync.
+ * - Tests are tracked by their unique test id ({@link TestLogContext}) and shown by name, so rows with the same
+ * TestName, or one method running in several &lt;test&gt;s, do not overwrite each other.
+ * Enabled with {@code live.dashboard.enabled=true}; served at {@code http://127.0.0.1:<live.dashboard.port>/}.
+ */
+public final class LiveDashboard {
+    private static final Logger log = LogManager.getLogger(LiveDashboard.class.getName());
+
+    private static final int EVENT_QUEUE_CAPACITY = 4096;
+    private static final int CLIENT_QUEUE_CAPACITY = 256;
+    private static final long PROGRESS_INTERVAL_MILLIS = 2000;
+    private static final long KEEPALIVE_SECONDS = 15;
+    private static final String END_OF_STREAM = "";
+
+    private static volatile LiveDashboard instance;
+
+    private final HttpServer server;
+    private final ExecutorService clientThreads;
+    private final Thread broadcaster;
+    private final BlockingQueue<Message> events = new ArrayBlockingQueue<>(EVENT_QUEUE_CAPACITY);
+    private final Set<BlockingQueue<String>> clients = ConcurrentHashMap.newKeySet();
+    private final LongAdder droppedEvents = new LongAdder();
+    private final byte[] page;
+    private final int plannedTests;
+    private final long startMillis = System.currentTimeMillis();
+    private volatile boolean stopping;
+
+    // Totals, written only by the broadcaster thread
+    private final Map<String, Message> runningTests = new ConcurrentHashMap<>(); // test id -> its test-start event
+    private volatile int passed;
+    private volatile int failed;
+    private volatile int skipped;
+
+    private LiveDashboard(HttpServer server, int plannedTests) throws IOException {
+        this.server = server;
+        this.plannedTests = plannedTests;
+        this.page = readPage();
+        this.clientThreads = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "live-dashboard-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.broadcaster = new Thread(this::broadcast, "live-dashboard-broadcaster");
+        this.broadcaster.setDaemon(true);
+    }
+
+    /**
+     * Starts the dashboard if 'live.dashboard.enabled' is true.
+     *
+     * @param plannedTests Number of test methods in the suite, used for progress and ETA (data-driven rows may add more).
+     */
+    public static synchronized void start(int plannedTests) {
+        if (instance != null || !Boolean.parseBoolean(ConfigReader.getProperty("live.dashboard.enabled", "false"))) {
+            return;
+        }
+        String port = ConfigReader.getProperty("live.dashboard.port", "8090");
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(port.trim())), 0);
+            LiveDashboard dashboard = new LiveDashboard(server, plannedTests);
+            server.createContext("/", dashboard::servePage);
+            server.createContext("/events", dashboard::streamEvents);
+            server.setExecutor(dashboard.clientThreads);
+            server.start();
+            dashboard.broadcaster.start();
+            instance = dashboard;
+            log.info("Live dashboard at: http://127.0.0.1:{}/", box(server.getAddress().getPort()));
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Could not start the live dashboard on port '{}': {}", port, e.getMessage());
+        }
+    }
+
+    /**
+     * Sends the end-of-suite event to connected clients and stops the server.
+     */
+    public static synchronized void stop() {
+        LiveDashboard dashboard = instance;
+        instance = null;
+        if (dashboard == null) {
+            return;
+        }
+        dashboard.publish(new Message("suite-finish", null, null, null, null, null, 0));
+        dashboard.stopping = true;
+        try {
+            dashboard.broadcaster.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        dashboard.server.stop(1);
+        dashboard.clientThreads.shutdownNow();
+        if (dashboard.droppedEvents.sum() > 0) {
+            log.info("Live dashboard dropped {} events because its queue was full.", box(dashboard.droppedEvents.sum()));
+        }
+    }
+
+    /**
+     * @param testId The unique id of the test execution ({@link TestLogContext#currentTestId()}).
+     * @param test   The name shown for it, e.g. its data-row label.
+     */
+    public static void testStarted(String testId, String test) {
+        LiveDashboard dashboard = instance;
+        if (dashboard != null) {
+            dashboard.publish(new Message("test-start", testId, test, Thread.currentThread().getName(), null, null, 0));
+        }
+    }
+
+    /**
+     * @param status         "PASS", "FAIL" or "SKIP".
+     * @param durationMillis Wall time of the test.
+     */
+    public static void testFinished(String testId, String test, String status, long durationMillis) {
+        LiveDashboard dashboard = instance;
+        if (dashboard != null) {
+            dashboard.publish(new Message("test-finish", testId, test, Thread.currentThread().getName(), status, null, durationMillis));
+        }
+    }
+
+    public static void step(String testId, String test, String status, String message) {
+        LiveDashboard dashboard = instance;
+        if (dashboard != null) {
+            dashboard.publish(new Message("step", testId, test, Thread.currentThread().getName(), status, message, 0));
+        }
+    }
+
+    private void publish(Message message) {
+        if (!events.offer(message)) {
+            droppedEvents.increment();
+        }
+    }
+
+    private void broadcast() {
+        long nextProgress = 0;
+        while (true) {
+            Message message;
+            try {
+                message = events.poll(PROGRESS_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                break;
+            }
+            if (message != null) {
+                apply(message);
+                send(frame(message.type, message.toJson()));
+            }
+            long now = System.currentTimeMillis();
+            boolean finished = message != null && "test-finish".equals(message.type);
+            if (finished || now >= nextProgress) {
+                send(frame("progress", progress(false)));
+                nextProgress = now + PROGRESS_INTERVAL_MILLIS;
+            }
+            if (stopping && events.isEmpty()) {
+                break;
+            }
+        }
+        for (BlockingQueue<String> client : clients) {
+            client.offer(END_OF_STREAM);
+        }
+    }
+
+    private void apply(Message message) {
+        if ("test-start".equals(message.type)) {
+            runningTests.put(message.id, message);
+        } else if ("test-finish".equals(message.type)) {
+            runningTests.remove(message.id);
+            if ("PASS".equals(message.status)) {
+                passed++;
+            } else if ("FAIL".equals(message.status)) {
+                failed++;
+            } else {
+                skipped++;
+            }
+        }
+    }
+
+    private void send(String frame) {
+        for (BlockingQueue<String> client : clients) {
+            client.offer(frame); // A full client queue means a slow client: it misses this frame
+        }
+    }
+
+    private JSONObject progress(boolean withRunningTests) {
+        int finished = passed + failed + skipped;
+        int total = Math.max(plannedTests, finished + runningTests.size());
+        double elapsedSeconds = (System.currentTimeMillis() - startMillis) / 1000.0;
+        double testsPerMinute = elapsedSeconds > 0 ? finished * 60 / elapsedSeconds : 0;
+        JSONObject json = new JSONObject();
+        json.put("finished", finished);
+        json.put("total", total);
+        json.put("passed", passed);
+        json.put("failed", failed);
+        json.put("skipped", skipped);
+        json.put("elapsedSeconds", Math.round(elapsedSeconds));
+        json.put("testsPerMinute", testsPerMinute);
+        json.put("etaSeconds", testsPerMinute > 0 ? Math.round((total - finished) * 60 / testsPerMinute) : -1);
+        if (withRunningTests) {
+            JSONArray running = new JSONArray();
+            for (Message test : new TreeMap<>(runningTests).values()) {
+                running.put(test.toJson());
+            }
+            json.put("running", running);
+        }
+        return json;
+    }
+
+    private void servePage(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+        exchange.sendResponseHeaders(200, page.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(page);
+        }
+    }
+
+    /**
+     * Holds the connection open and writes the client's frames as they arrive; runs on a client thread.
+     */
+    private void streamEvents(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+        BlockingQueue<String> client = new ArrayBlockingQueue<>(CLIENT_QUEUE_CAPACITY);
+        clients.add(client);
+        try (OutputStream out = exchange.getResponseBody()) {
+            write(out, frame("progress", progress(true)));
+            while (true) {
+                String frame = client.poll(KEEPALIVE_SECONDS, TimeUnit.SECONDS);
+                if (END_OF_STREAM.equals(frame)) {
+                    break;
+                }
+                write(out, frame != null ? frame : ": keepalive\n\n");
+            }
+        } catch (IOException | InterruptedException e) {
+            log.debug("Live dashboard client disconnected: {}", e.getMessage());
+        } finally {
+            clients.remove(client);
+        }
+    }
+
+    private static void write(OutputStream out, String frame) throws IOException {
+        out.write(frame.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private static String frame(String type, JSONObject data) {
+        return "event: " + type + "\ndata: " + data + "\n\n";
+    }
+
+    private static byte[] readPage() throws IOException {
+        try (InputStream in = LiveDashboard.class.getClassLoader().getResourceAsStream("live-dashboard.html")) {
+            if (in == null) {
+                throw new IOException("live-dashboard.html not found on the classpath");
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                bytes.write(buffer, 0, read);
+            }
+            return bytes.toByteArray();
+        }
+    }
+
+    /**
+     * One event published by a test thread; turned into JSON on the broadcaster thread.
+     */
+    private static final class Message {
+        private final String type;
+        private final String id;
+        private final String test;
+        private final String worker;
+        private final String status;
+        private final String message;
+        private final long durationMillis;
+
+        private Message(String type, String id, String test, String worker, String status, String message, long durationMillis) {
+            this.type = type;
+            this.id = id;
+            this.test = test;
+            this.worker = worker;
+            this.status = status;
+            this.message = message;
+            this.durationMillis = durationMillis;
+        }
+
+        private JSONObject toJson() {
+            JSONObject json = new JSONObject();
+            json.put("id", id == null ? JSONObject.NULL : id);
+            json.put("test", test == null ? JSONObject.NULL : test);
+            json.put("worker", worker == null ? JSONObject.NULL : worker);
+            json.put("status", status == null ? JSONObject.NULL : status);
+            json.put("message", message == null ? JSONObject.NULL : message);
+            json.put("durationMillis", durationMillis);
+            return json;
+        }
+    }
+}
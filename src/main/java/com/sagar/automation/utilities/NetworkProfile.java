@@ -0,0 +1,49 @@
+package com.sagar.automation.utilities;
+
+/**
+ * Named network conditions that can be emulated on Chromium browsers (see {@link NetworkThrottling}).
+ * Values follow the Chrome DevTools / Lighthouse presets; throughput is in bytes per second, -1 means unthrottled.
+ */
+public enum NetworkProfile {
+    NONE(0, -1, -1),
+    SLOW_3G(2000, 50_000, 50_000),
+    FAST_3G(563, 180_000, 84_375),
+    SLOW_4G(150, 200_000, 93_750),
+    HIGH_LATENCY(1000, -1, -1);
+
+    private final long latencyMillis;
+    private final long downloadBytesPerSecond;
+    private final long uploadBytesPerSecond;
+
+    NetworkProfile(long latencyMillis, long downloadBytesPerSecond, long uploadBytesPerSecond) {
+        this.latencyMillis = latencyMillis;
+        this.downloadBytesPerSecond = downloadBytesPerSecond;
+        this.uploadBytesPerSecond = uploadBytesPerSecond;
+    }
+
+    public long getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    public long getDownloadBytesPerSecond() {
+        return downloadBytesPerSecond;
+    }
+
+    public long getUploadBytesPerSecond() {
+        return uploadBytesPerSecond;
+    }
+
+    /**
+     * Resolves a profile name as written in config.properties or testng.xml.
+     *
+     * @param name e.g. "slow-4g", "SLOW_4G", "high-latency"; null or empty means {@link #NONE}.
+     * @return The matching profile.
+     * @throws IllegalArgumentException If no profile has that name.
+     */
+    public static NetworkProfile fromName(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return NONE;
+        }
+        return valueOf(name.trim().toUpperCase().replace('-', '_'));
+    }
+}
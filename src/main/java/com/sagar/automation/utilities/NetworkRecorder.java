@@ -0,0 +1,350 @@
+package com.sagar.automation.utilities;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.apache.logging.log4j.util.Unbox.box;
+
+/**
+ * Optional per-test network recorder for Chromium browsers ('network.capture=true').
+ * - DevTools Network events are appended to a lock-free queue on the DevTools connection thread; the test thread
+ * does no work per request.
+ * - When the test ends, the buffered events are handed to a single background writer that assembles the
+ * requests and writes a compact HAR-like file (reports/network/&lt;testId&gt;.har.json) plus an HTML summary
+ * of the time per resource type and the slowest and largest requests.
+ */
+public final class NetworkRecorder {
+    private static final Logger log = LogManager.getLogger(NetworkRecorder.class.getName());
+
+    private static final String NETWORK_DIR = "network";
+    private static final int TOP_REQUESTS = 10;
+    private static final String[] RECORDED_EVENTS = {"Network.requestWillBeSent", "Network.responseReceived",
+            "Network.loadingFinished", "Network.loadingFailed"};
+
+    private static final ThreadLocal<NetworkRecorder> current = new ThreadLocal<>();
+    private static final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "network-recorder-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String testId;
+    private final ConcurrentLinkedQueue<RawEvent> events = new ConcurrentLinkedQueue<>();
+    private volatile boolean recording = true;
+
+    private NetworkRecorder(String testId) {
+        this.testId = testId;
+    }
+
+    /**
+     * Starts recording the network traffic of the test on the current thread.
+     *
+     * @param driver The WebDriver of the test, before its first navigation.
+     * @param testId The test id (see {@link TestLogContext}), used as file name.
+     * @return True if recording started; false if the browser does not support DevTools.
+     */
+    public static boolean begin(WebDriver driver, String testId) {
+        current.remove();
+        DevTools devTools = DevToolsNetwork.open(driver);
+        if (devTools == null) {
+            log.warn("Network capture needs DevTools, which {} does not support. Not recording.",
+                    driver == null ? "no driver" : driver.getClass().getSimpleName());
+            return false;
+        }
+        NetworkRecorder recorder = new NetworkRecorder(testId);
+        for (String method : RECORDED_EVENTS) {
+            devTools.addListener(DevToolsNetwork.event(method), params -> {
+                if (recorder.recording) {
+                    recorder.events.add(new RawEvent(method, params));
+                }
+            });
+        }
+        current.set(recorder);
+        log.info("Recording network traffic for test: {}", testId);
+        return true;
+    }
+
+    /**
+     * Stops recording for the current thread and queues the files to be written in the background.
+     *
+     * @param reportsDir The reports directory; files go to its 'network' sub directory.
+     * @return The summary page path relative to the reports directory (for linking), or null if nothing was recorded.
+     */
+    public static String end(Path reportsDir) {
+        NetworkRecorder recorder = current.get();
+        current.remove();
+        if (recorder == null) {
+            return null;
+        }
+        recorder.recording = false;
+        Path directory = reportsDir.resolve(NETWORK_DIR);
+        writer.submit(() -> recorder.write(directory));
+        return NETWORK_DIR + "/" + recorder.testId + "-summary.html";
+    }
+
+    /**
+     * Waits until every queued recording has been written. Call before the report is flushed.
+     *
+     * @param timeoutSeconds Maximum time to wait.
+     */
+    public static void awaitPendingWrites(long timeoutSeconds) {
+        try {
+            // Single writer thread: once this marker runs, everything queued before it is done
+            writer.submit(() -> { }).get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Network recordings not fully written after {} s: {}", box(timeoutSeconds), e.toString());
+        }
+    }
+
+    private void write(Path directory) {
+        try {
+            List<Entry> entries = assemble();
+            Files.createDirectories(directory);
+            Files.write(directory.resolve(testId + ".har.json"), toHar(entries).toString(1).getBytes(StandardCharsets.UTF_8));
+            Files.write(directory.resolve(testId + "-summary.html"), toSummaryHtml(entries).getBytes(StandardCharsets.UTF_8));
+            log.debug("Network recording of {} written: {} requests", testId, box(entries.size()));
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to write network recording of " + testId, e);
+        }
+    }
+
+    /**
+     * Joins the raw events of each request into one entry, in the order the requests were sent.
+     */
+    private List<Entry> assemble() {
+        Map<String, Entry> open = new LinkedHashMap<>();
+        List<Entry> entries = new ArrayList<>();
+        for (RawEvent event : events) {
+            String requestId = String.valueOf(event.params.get("requestId"));
+            Entry entry = open.get(requestId);
+            switch (event.method) {
+                case "Network.requestWillBeSent":
+                    if (entry != null && event.params.get("redirectResponse") instanceof Map) {
+                        entry.response((Map<?, ?>) event.params.get("redirectResponse"));
+                        entry.finish(toMillis(event.params.get("timestamp")), null);
+                        entries.add(open.remove(requestId));
+                    }
+                    open.put(requestId, new Entry(event.params));
+                    break;
+                case "Network.responseReceived":
+                    if (entry != null && event.params.get("response") instanceof Map) {
+                        entry.response((Map<?, ?>) event.params.get("response"));
+                    }
+                    break;
+                case "Network.loadingFinished":
+                case "Network.loadingFailed":
+                    if (entry != null) {
+                        entry.encodedBytes = DevToolsNetwork.number(event.params, "encodedDataLength");
+                        entry.finish(toMillis(event.params.get("timestamp")),
+                                event.method.endsWith("Failed") ? String.valueOf(event.params.get("errorText")) : null);
+                        entries.add(open.remove(requestId));
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        entries.addAll(open.values()); // Still in flight when the test ended
+        return entries;
+    }
+
+    private JSONObject toHar(List<Entry> entries) {
+        JSONArray harEntries = new JSONArray();
+        for (Entry entry : entries) {
+            JSONObject timings = new JSONObject();
+            timings.put("blocked", entry.blocked);
+            timings.put("dns", entry.dns);
+            timings.put("connect", entry.connect);
+            timings.put("ssl", entry.ssl);
+            timings.put("send", entry.send);
+            timings.put("wait", entry.waitMillis);
+            timings.put("receive", entry.receive());
+
+            JSONObject harEntry = new JSONObject();
+            harEntry.put("startedDateTime", entry.wallTimeMillis > 0 ? Instant.ofEpochMilli(entry.wallTimeMillis).toString() : JSONObject.NULL);
+            harEntry.put("time", entry.totalMillis());
+            harEntry.put("request", new JSONObject().put("method", entry.method).put("url", entry.url));
+            harEntry.put("response", new JSONObject().put("status", entry.status).put("mimeType", entry.mimeType)
+                    .put("bodySize", entry.encodedBytes));
+            harEntry.put("timings", timings);
+            harEntry.put("_resourceType", entry.type);
+            if (entry.error != null) {
+                harEntry.put("_error", entry.error);
+            }
+            harEntries.put(harEntry);
+        }
+        JSONObject harLog = new JSONObject();
+        harLog.put("version", "1.2");
+        harLog.put("creator", new JSONObject().put("name", "AutomationExercise NetworkRecorder").put("version", "1.0"));
+        harLog.put("comment", testId);
+        harLog.put("entries", harEntries);
+        return new JSONObject().put("log", harLog);
+    }
+
+    private String toSummaryHtml(List<Entry> entries) {
+        Map<String, long[]> byType = new TreeMap<>(); // type -> {requests, bytes, total ms, wait ms}
+        for (Entry entry : entries) {
+            long[] totals = byType.computeIfAbsent(entry.type, k -> new long[4]);
+            totals[0]++;
+            totals[1] += entry.encodedBytes;
+            totals[2] += entry.totalMillis();
+            totals[3] += Math.max(0, entry.waitMillis);
+        }
+
+        StringBuilder html = new StringBuilder("<html><head><meta charset='UTF-8'><title>Network summary: ")
+                .append(escape(testId)).append("</title><style>table{border-collapse:collapse;margin-bottom:24px}")
+                .append("td,th{border:1px solid #ccc;padding:4px 8px;font:13px sans-serif}</style></head><body>")
+                .append("<h2>Network summary: ").append(escape(testId)).append("</h2>")
+                .append("<p>").append(entries.size()).append(" requests. Raw data: <a href='").append(escape(testId))
+                .append(".har.json'>").append(escape(testId)).append(".har.json</a></p>");
+
+        html.append("<h3>By resource type</h3><table><tr><th>Type</th><th>Requests</th><th>Transferred (KB)</th>")
+                .append("<th>Total time (ms)</th><th>Server wait (ms)</th></tr>");
+        for (Map.Entry<String, long[]> type : byType.entrySet()) {
+            long[] totals = type.getValue();
+            html.append("<tr><td>").append(escape(type.getKey())).append("</td><td>").append(totals[0])
+                    .append("</td><td>").append(totals[1] / 1024).append("</td><td>").append(totals[2])
+                    .append("</td><td>").append(totals[3]).append("</td></tr>");
+        }
+        html.append("</table>");
+
+        appendTopTable(html, "Slowest requests", entries, Comparator.comparingLong(Entry::totalMillis));
+        appendTopTable(html, "Largest requests", entries, Comparator.comparingLong(e -> e.encodedBytes));
+        return html.append("</body></html>").toString();
+    }
+
+    private static void appendTopTable(StringBuilder html, String title, List<Entry> entries, Comparator<Entry> order) {
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(order.reversed());
+        html.append("<h3>").append(title).append("</h3><table><tr><th>URL</th><th>Type</th><th>Status</th>")
+                .append("<th>Time (ms)</th><th>Wait (ms)</th><th>Size (KB)</th></tr>");
+        for (Entry entry : sorted.subList(0, Math.min(TOP_REQUESTS, sorted.size()))) {
+            html.append("<tr><td>").append(escape(abbreviate(entry.url))).append("</td><td>").append(escape(entry.type))
+                    .append("</td><td>").append(entry.error != null ? escape(entry.error) : String.valueOf(entry.status))
+                    .append("</td><td>").append(entry.totalMillis()).append("</td><td>").append(entry.waitMillis)
+                    .append("</td><td>").append(entry.encodedBytes / 1024).append("</td></tr>");
+        }
+        html.append("</table>");
+    }
+
+    private static String abbreviate(String url) {
+        return url.length() <= 120 ? url : url.substring(0, 117) + "...";
+    }
+
+    private static String escape(String text) {
+        return text == null ? "" : text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("'", "&#39;");
+    }
+
+    /**
+     * DevTools timestamps are seconds (monotonic clock) as floating point numbers.
+     */
+    private static double toMillis(Object seconds) {
+        return seconds instanceof Number ? ((Number) seconds).doubleValue() * 1000.0 : 0;
+    }
+
+    private static long round(Object value) {
+        return value instanceof Number ? Math.round(((Number) value).doubleValue()) : -1;
+    }
+
+    private static final class RawEvent {
+        private final String method;
+        private final Map<String, Object> params;
+
+        private RawEvent(String method, Map<String, Object> params) {
+            this.method = method;
+            this.params = params;
+        }
+    }
+
+    /**
+     * One request as it will appear in the HAR file. Times in milliseconds; -1 means not applicable.
+     */
+    private static final class Entry {
+        private final String url;
+        private final String method;
+        private final String type;
+        private final double startMillis;
+        private final long wallTimeMillis;
+        private double endMillis;
+        private int status;
+        private String mimeType = "";
+        private long encodedBytes;
+        private String error;
+        private long blocked = -1;
+        private long dns = -1;
+        private long connect = -1;
+        private long ssl = -1;
+        private long send = -1;
+        private long waitMillis = -1;
+        private long headersMillis = -1;
+
+        private Entry(Map<String, Object> params) {
+            Map<?, ?> request = params.get("request") instanceof Map ? (Map<?, ?>) params.get("request") : new TreeMap<>();
+            this.url = String.valueOf(request.get("url"));
+            this.method = String.valueOf(request.get("method"));
+            this.type = params.get("type") == null ? "Other" : String.valueOf(params.get("type"));
+            this.startMillis = toMillis(params.get("timestamp"));
+            this.wallTimeMillis = (long) toMillis(params.get("wallTime"));
+        }
+
+        private void response(Map<?, ?> response) {
+            status = (int) round(response.get("status"));
+            mimeType = String.valueOf(response.get("mimeType"));
+            if (!(response.get("timing") instanceof Map)) {
+                return; // Served from cache or a data: URL
+            }
+            Map<?, ?> timing = (Map<?, ?>) response.get("timing");
+            // Offsets in ms relative to timing.requestTime; -1 if the phase did not happen
+            long dnsStart = round(timing.get("dnsStart"));
+            long connectStart = round(timing.get("connectStart"));
+            long sslStart = round(timing.get("sslStart"));
+            long sendStart = round(timing.get("sendStart"));
+            long sendEnd = round(timing.get("sendEnd"));
+            long firstPhase = dnsStart >= 0 ? dnsStart : connectStart >= 0 ? connectStart : sendStart;
+            blocked = Math.max(0, firstPhase);
+            dns = dnsStart >= 0 ? round(timing.get("dnsEnd")) - dnsStart : -1;
+            connect = connectStart >= 0 ? round(timing.get("connectEnd")) - connectStart : -1;
+            ssl = sslStart >= 0 ? round(timing.get("sslEnd")) - sslStart : -1;
+            send = sendEnd - sendStart;
+            headersMillis = round(timing.get("receiveHeadersEnd"));
+            waitMillis = headersMillis - sendEnd;
+        }
+
+        private void finish(double endMillis, String error) {
+            this.endMillis = endMillis;
+            this.error = error;
+        }
+
+        private long totalMillis() {
+            return endMillis > 0 ? Math.round(endMillis - startMillis) : -1;
+        }
+
+        private long receive() {
+            return headersMillis >= 0 && totalMillis() >= 0 ? Math.max(0, totalMillis() - headersMillis) : -1;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.sagar.automation.utilities;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.apache.logging.log4j.util.Unbox.box;
+
+/**
+ * Applies a {@link NetworkProfile} to a browser session through DevTools network emulation
+ * (Network.emulateNetworkConditions). Only Chromium browsers (Chrome, Edge) support this; on other
+ * browsers the test runs unthrottled and the profile in effect is reported as {@link NetworkProfile#NONE},
+ * so page metrics are never labelled with conditions that were not applied.
+ */
+public final class NetworkThrottling {
+    private static final Logger log = LogManager.getLogger(NetworkThrottling.class.getName());
+
+    private static final ThreadLocal<NetworkProfile> current = ThreadLocal.withInitial(() -> NetworkProfile.NONE);
+
+    private NetworkThrottling() {
+        // Static helper, not meant to be instantiated
+    }
+
+    /**
+     * Emulates the given network conditions for the rest of the session.
+     *
+     * @param driver  The WebDriver of the current test.
+     * @param profile The profile to apply; {@link NetworkProfile#NONE} leaves the network untouched.
+     * @return The profile actually in effect: the requested one, or NONE if the browser cannot emulate it.
+     */
+    public static NetworkProfile apply(WebDriver driver, NetworkProfile profile) {
+        current.set(NetworkProfile.NONE);
+        if (profile == NetworkProfile.NONE) {
+            return NetworkProfile.NONE;
+        }
+        if (!(driver instanceof HasCdp)) {
+            log.warn("Network profile {} requested, but {} does not support DevTools network emulation. Running unthrottled.",
+                    profile, driver == null ? "no driver" : driver.getClass().getSimpleName());
+            return NetworkProfile.NONE;
+        }
+
+        Map<String, Object> conditions = new HashMap<>();
+        conditions.put("offline", false);
+        conditions.put("latency", profile.getLatencyMillis());
+        conditions.put("downloadThroughput", profile.getDownloadBytesPerSecond());
+        conditions.put("uploadThroughput", profile.getUploadBytesPerSecond());
+        try {
+            HasCdp cdp = (HasCdp) driver;
+            cdp.executeCdpCommand("Network.enable", Collections.emptyMap());
+            cdp.executeCdpCommand("Network.emulateNetworkConditions", conditions);
+        } catch (WebDriverException e) {
+            log.warn("Failed to apply network profile {}: {}. Running unthrottled.", profile, e.getMessage());
+            return NetworkProfile.NONE;
+        }
+        current.set(profile);
+        log.info("Network profile {} applied (latency {} ms, download {} B/s, upload {} B/s).", profile,
+                box(profile.getLatencyMillis()), box(profile.getDownloadBytesPerSecond()), box(profile.getUploadBytesPerSecond()));
+        return profile;
+    }
+
+    /**
+     * @return The profile in effect for the test running on this thread.
+     */
+    public static NetworkProfile current() {
+        return current.get();
+    }
+
+    /**
+     * Forgets the profile of the current thread. Call at test tear down, the emulation itself ends with the session.
+     */
+    public static void clear() {
+        current.remove();
+    }
+}
@@ -0,0 +1,282 @@
+package com.sagar.automation.utilities;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.ToLongFunction;
+
+/**
+ * Collects browser-side Navigation Timing and paint metrics after every navigation.
+ * - All metrics of one page load (TTFB, DOMContentLoaded, load, FCP, LCP, transfer sizes, request count)
+ * are read by a single asynchronous script call, so a capture costs one WebDriver round trip.
+ * - Samples are stored per page (normalized URL path) together with the test that produced them and the
+ * {@link NetworkProfile} in effect, so the same page can be compared across network conditions.
+ * - At the end of the suite a per-page percentile table is built from all samples.
+ * Capturing can be switched off with {@code page.performance.capture=false}.
+ */
+public class PagePerformance {
+    private static final Logger log = LogManager.getLogger(PagePerformance.class.getName());
+
+    // Waits for the load event of the current document, then reads every metric in one pass.
+    // Buffered PerformanceObserver + takeRecords() returns the LCP candidates recorded so far without waiting for a callback.
+    private static final String COLLECT_SCRIPT =
+            "var done = arguments[arguments.length - 1];" +
+            "var timeoutMs = arguments[0];" +
+            "var start = Date.now();" +
+            "function collect() {" +
+            "  var nav = performance.getEntriesByType('navigation')[0];" +
+            "  if ((!nav || nav.loadEventEnd <= 0) && Date.now() - start < timeoutMs) { setTimeout(collect, 50); return; }" +
+            "  if (!nav) { done(null); return; }" +
+            "  var resources = performance.getEntriesByType('resource');" +
+            "  var transfer = nav.transferSize || 0, encoded = nav.encodedBodySize || 0;" +
+            "  for (var i = 0; i < resources.length; i++) {" +
+            "    transfer += resources[i].transferSize || 0; encoded += resources[i].encodedBodySize || 0;" +
+            "  }" +
+            "  var fcp = performance.getEntriesByName('first-contentful-paint')[0];" +
+            "  var lcp = -1;" +
+            "  try {" +
+            "    var observer = new PerformanceObserver(function () {});" +
+            "    observer.observe({type: 'largest-contentful-paint', buffered: true});" +
+            "    var entries = observer.takeRecords();" +
+            "    observer.disconnect();" +
+            "    if (entries.length) { lcp = entries[entries.length - 1].startTime; }" +
+            "  } catch (e) { /* LCP not supported by this browser */ }" +
+            "  done({url: location.href," +
+            "    ttfb: nav.responseStart - nav.startTime," +
+            "    domContentLoaded: nav.domContentLoadedEventEnd - nav.startTime," +
+            "    load: nav.loadEventEnd > 0 ? nav.loadEventEnd - nav.startTime : -1," +
+            "    fcp: fcp ? fcp.startTime : -1," +
+            "    lcp: lcp," +
+            "    transferBytes: transfer, encodedBytes: encoded," +
+            "    requests: resources.length + 1});" +
+            "}" +
+            "collect();";
+
+    private static final long LOAD_WAIT_MILLIS = 10_000;
+
+    // Samples per page and network profile; test threads only ever append
+    private static final Map<String, ConcurrentLinkedQueue<Sample>> samples = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Sample> lastSample = new ThreadLocal<>();
+
+    /**
+     * Captures the metrics of the page currently loaded in the browser.
+     *
+     * @param driver The WebDriver that just navigated.
+     * @return The captured sample, or null if capturing is disabled or the browser could not provide metrics.
+     */
+    @SuppressWarnings("try") // the spans are try-with-resources that the body never references
+    public static Sample capture(WebDriver driver) {
+        lastSample.remove();
+        if (driver == null || !isEnabled()) {
+            return null;
+        }
+        try {
+            Object raw;
+            try (TimeAccounting.Span ignored = TimeAccounting.enter(TimeAccounting.Phase.NAVIGATION)) {
+                // Waits for the load event: that is page load time, not reporting
+                raw = ((JavascriptExecutor) driver).executeAsyncScript(COLLECT_SCRIPT, LOAD_WAIT_MILLIS);
+            }
+            try (TimeAccounting.Span ignored = TimeAccounting.enter(TimeAccounting.Phase.REPORTING)) {
+                if (!(raw instanceof Map)) {
+                    log.warn("Browser returned no Navigation Timing entry. Page performance not captured.");
+                    return null;
+                }
+                Map<?, ?> metrics = (Map<?, ?>) raw;
+                String url = String.valueOf(metrics.get("url"));
+                Sample sample = new Sample(ApiEndpoints.normalizePath(url), url, TestLogContext.currentTestName(),
+                        NetworkThrottling.current(),
+                        toMillis(metrics.get("ttfb")), toMillis(metrics.get("domContentLoaded")), toMillis(metrics.get("load")),
+                        toMillis(metrics.get("fcp")), toMillis(metrics.get("lcp")),
+                        toMillis(metrics.get("transferBytes")), toMillis(metrics.get("encodedBytes")),
+                        (int) toMillis(metrics.get("requests")));
+
+                samples.computeIfAbsent(sample.page + " @ " + sample.networkProfile, k -> new ConcurrentLinkedQueue<>()).add(sample);
+                lastSample.set(sample);
+                log.info("Page performance: {}", sample);
+                return sample;
+            }
+        } catch (WebDriverException | ClassCastException e) {
+            // Metrics are diagnostic only; never fail the functional step because of them
+            log.warn("Failed to capture page performance: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return The sample of the last capture on the current thread, or null if it failed or was disabled.
+     */
+    public static Sample getLastSample() {
+        return lastSample.get();
+    }
+
+    /**
+     * @return True if at least one page load was captured in this run.
+     */
+    public static boolean hasSamples() {
+        return !samples.isEmpty();
+    }
+
+    /**
+     * Builds a percentile table of all captured page loads, one row per page and network profile.
+     *
+     * @return Rows of {page, network profile, samples, TTFB, DOMContentLoaded, load and LCP as p50/p95, median transfer size} with a header row first.
+     */
+    public static String[][] getPercentileTable() {
+        Map<String, List<Sample>> byPage = snapshot();
+        String[][] table = new String[byPage.size() + 1][];
+        table[0] = new String[]{"Page", "Network", "Samples", "TTFB p50/p95 (ms)", "DCL p50/p95 (ms)", "Load p50/p95 (ms)",
+                "LCP p50/p95 (ms)", "Transfer p50 (KB)", "Requests p50"};
+        int row = 1;
+        for (List<Sample> pageSamples : byPage.values()) {
+            Sample first = pageSamples.get(0);
+            table[row++] = new String[]{first.page, first.networkProfile.name(), String.valueOf(pageSamples.size()),
+                    p50p95(pageSamples, s -> s.ttfbMillis), p50p95(pageSamples, s -> s.domContentLoadedMillis),
+                    p50p95(pageSamples, s -> s.loadMillis), p50p95(pageSamples, s -> s.lcpMillis),
+                    String.valueOf(percentile(sorted(pageSamples, s -> s.transferBytes), 50) / 1024),
+                    String.valueOf(percentile(sorted(pageSamples, s -> s.requestCount), 50))};
+        }
+        return table;
+    }
+
+    /**
+     * Writes every captured sample as a JSON array, so runs can be compared outside the Extent report.
+     *
+     * @param file The file to write, e.g. reports/page-performance.json.
+     */
+    public static void writeSamples(Path file) {
+        JSONArray array = new JSONArray();
+        for (List<Sample> pageSamples : snapshot().values()) {
+            for (Sample sample : pageSamples) {
+                array.put(sample.toJson());
+            }
+        }
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, array.toString(2).getBytes(StandardCharsets.UTF_8));
+            log.info("Page performance samples written to: {}", file);
+        } catch (IOException e) {
+            log.error("Failed to write page performance samples to: " + file, e);
+        }
+    }
+
+    private static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigReader.getProperty("page.performance.capture", "true"));
+    }
+
+    private static Map<String, List<Sample>> snapshot() {
+        Map<String, List<Sample>> byPage = new TreeMap<>();
+        for (Map.Entry<String, ConcurrentLinkedQueue<Sample>> entry : samples.entrySet()) {
+            List<Sample> pageSamples = new ArrayList<>(entry.getValue());
+            if (!pageSamples.isEmpty()) {
+                byPage.put(entry.getKey(), pageSamples);
+            }
+        }
+        return byPage;
+    }
+
+    private static String p50p95(List<Sample> pageSamples, ToLongFunction<Sample> metric) {
+        long[] values = sorted(pageSamples, metric);
+        return values.length == 0 ? "n/a" : percentile(values, 50) + " / " + percentile(values, 95);
+    }
+
+    /**
+     * Sorted values of one metric; browsers report -1 for metrics they do not support, those are left out.
+     */
+    private static long[] sorted(List<Sample> pageSamples, ToLongFunction<Sample> metric) {
+        long[] values = pageSamples.stream().mapToLong(metric).filter(v -> v >= 0).toArray();
+        Arrays.sort(values);
+        return values;
+    }
+
+    /**
+     * Nearest-rank percentile of an already sorted array; 0 for an empty array.
+     */
+    private static long percentile(long[] sortedValues, int percentile) {
+        if (sortedValues.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sortedValues.length);
+        return sortedValues[Math.max(0, Math.min(sortedValues.length - 1, rank - 1))];
+    }
+
+    private static long toMillis(Object value) {
+        return value instanceof Number ? Math.round(((Number) value).doubleValue()) : -1;
+    }
+
+    /**
+     * Metrics of one page load. Times are milliseconds from navigation start; -1 means the browser did not report it.
+     */
+    public static final class Sample {
+        public final String page;
+        public final String url;
+        public final String testName;
+        public final NetworkProfile networkProfile;
+        public final long ttfbMillis;
+        public final long domContentLoadedMillis;
+        public final long loadMillis;
+        public final long fcpMillis;
+        public final long lcpMillis;
+        public final long transferBytes;
+        public final long encodedBytes;
+        public final int requestCount;
+
+        private Sample(String page, String url, String testName, NetworkProfile networkProfile, long ttfbMillis,
+                       long domContentLoadedMillis, long loadMillis, long fcpMillis, long lcpMillis,
+                       long transferBytes, long encodedBytes, int requestCount) {
+            this.page = page;
+            this.url = url;
+            this.testName = testName;
+            this.networkProfile = networkProfile;
+            this.ttfbMillis = ttfbMillis;
+            this.domContentLoadedMillis = domContentLoadedMillis;
+            this.loadMillis = loadMillis;
+            this.fcpMillis = fcpMillis;
+            this.lcpMillis = lcpMillis;
+            this.transferBytes = transferBytes;
+            this.encodedBytes = encodedBytes;
+            this.requestCount = requestCount;
+        }
+
+        private JSONObject toJson() {
+            JSONObject json = new JSONObject();
+            json.put("page", page);
+            json.put("url", url);
+            json.put("test", testName == null ? JSONObject.NULL : testName);
+            json.put("network", networkProfile.name());
+            json.put("ttfb", ttfbMillis);
+            json.put("domContentLoaded", domContentLoadedMillis);
+            json.put("load", loadMillis);
+            json.put("fcp", fcpMillis);
+            json.put("lcp", lcpMillis);
+            json.put("transferBytes", transferBytes);
+            json.put("encodedBytes", encodedBytes);
+            json.put("requests", requestCount);
+            return json;
+        }
+
+        @Override
+        public String toString() {
+            return page + (networkProfile == NetworkProfile.NONE ? "" : " [" + networkProfile + "]") + " TTFB " + ttfbMillis + " ms, DCL " + domContentLoadedMillis + " ms, load " + loadMillis
+                    + " ms, FCP " + fcpMillis + " ms, LCP " + lcpMillis + " ms, " + requestCount + " requests, "
+                    + transferBytes / 1024 + " KB transferred";
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.sagar.automation.utilities;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Frontend performance budget of one page: load time, request count and transferred bytes.
+ * Page objects declare their budget as a constant and check it when the page is entered (see BasePage).
+ * - SOFT mode (default) collects violations for the running test; BaseTest reports them as warnings.
+ * - HARD mode fails the test at page entry with an AssertionError.
+ * - OFF skips the check.
+ * The mode comes from the 'perf.budget.mode' TestNG parameter of the running &lt;test&gt; (e.g. testng-perf.xml)
+ * and falls back to the 'perf.budget.mode' property in config.properties.
+ */
+public final class PerformanceBudget {
+    private static final Logger log = LogManager.getLogger(PerformanceBudget.class.getName());
+
+    public enum Mode { OFF, SOFT, HARD }
+
+    private static final ThreadLocal<Mode> testMode = new ThreadLocal<>();
+    private static final ThreadLocal<List<String>> violations = ThreadLocal.withInitial(ArrayList::new);
+    private static final ThreadLocal<PagePerformance.Sample> lastChecked = new ThreadLocal<>();
+
+    private final String pageName;
+    private final long maxLoadMillis;
+    private final int maxRequests;
+    private final long maxTransferBytes;
+
+    /**
+     * @param pageName         Readable page name used in violation messages.
+     * @param maxLoadMillis    Maximum time from navigation start to the end of the load event.
+     * @param maxRequests      Maximum number of requests (document plus resources).
+     * @param maxTransferBytes Maximum bytes transferred over the network (document plus resources).
+     */
+    public PerformanceBudget(String pageName, long maxLoadMillis, int maxRequests, long maxTransferBytes) {
+        this.pageName = pageName;
+        this.maxLoadMillis = maxLoadMillis;
+        this.maxRequests = maxRequests;
+        this.maxTransferBytes = maxTransferBytes;
+    }
+
+    /**
+     * Starts budget tracking for a test on the current thread.
+     *
+     * @param mode The mode from the TestNG parameter, or null/empty to use config.properties.
+     */
+    public static void beginTest(String mode) {
+        String configured = mode == null || mode.isEmpty() ? ConfigReader.getProperty("perf.budget.mode", "soft") : mode;
+        testMode.set(Mode.valueOf(configured.trim().toUpperCase()));
+        violations.get().clear();
+        lastChecked.remove();
+    }
+
+    /**
+     * Ends budget tracking for the test on the current thread.
+     *
+     * @return The soft violations recorded during the test.
+     */
+    public static List<String> endTest() {
+        List<String> recorded = new ArrayList<>(violations.get());
+        violations.remove();
+        testMode.remove();
+        lastChecked.remove();
+        return Collections.unmodifiableList(recorded);
+    }
+
+    /**
+     * Checks a captured page load against this budget. Each sample is checked at most once per thread,
+     * so constructing the same page object twice does not report the same load twice.
+     *
+     * @param sample The page load to check; null (capture disabled or failed) is ignored.
+     * @throws AssertionError In HARD mode, if the page load exceeds the budget.
+     */
+    public void check(PagePerformance.Sample sample) {
+        Mode mode = testMode.get() != null ? testMode.get() : Mode.SOFT;
+        if (sample == null || mode == Mode.OFF || sample == lastChecked.get()) {
+            return;
+        }
+        if (sample.networkProfile != NetworkProfile.NONE) {
+            log.debug("{} page loaded under network profile {}; budgets apply to unthrottled loads only.", pageName, sample.networkProfile);
+            return;
+        }
+        lastChecked.set(sample);
+
+        List<String> exceeded = new ArrayList<>();
+        if (sample.loadMillis > maxLoadMillis) {
+            exceeded.add("load " + sample.loadMillis + " ms > " + maxLoadMillis + " ms");
+        }
+        if (sample.requestCount > maxRequests) {
+            exceeded.add("requests " + sample.requestCount + " > " + maxRequests);
+        }
+        if (sample.transferBytes > maxTransferBytes) {
+            exceeded.add("transferred " + sample.transferBytes / 1024 + " KB > " + maxTransferBytes / 1024 + " KB");
+        }
+        if (exceeded.isEmpty()) {
+            log.debug("{} page within its performance budget: {}", pageName, sample);
+            return;
+        }
+
+        String message = pageName + " page (" + sample.page + ") exceeded its performance budget: " + String.join(", ", exceeded);
+        if (mode == Mode.HARD) {
+            log.error(message);
+            throw new AssertionError(message);
+        }
+        log.warn(message);
+        violations.get().add(message);
+    }
+
+    @Override
+    public String toString() {
+        return pageName + " budget: load <= " + maxLoadMillis + " ms, requests <= " + maxRequests
+                + ", transferred <= " + maxTransferBytes / 1024 + " KB";
+    }
+}
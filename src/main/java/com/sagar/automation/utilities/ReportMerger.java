@@ -0,0 +1,277 @@
+package com.sagar.automation.utilities;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.aventstack.extentreports.reporter.configuration.Theme;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.apache.logging.log4j.util.Unbox.box;
+
+/**
+ * Combines the results of a sharded run ({@code scripts/run-tests.sh --shards N}) into one report and one exit code.
+ * Every shard ran in its own working directory {@code <shards dir>/shard-<i>} and left there:
+ * its Extent data ({@link #EXTENT_JSON}), screenshots, rerun manifest, gate failure summary, TestNG results,
+ * its copy of perf-baselines and the exit code of its JVM (file 'exit-code').
+ * Merged into the output reports directory:
+ * - one Extent report from the shards' Extent data, with their screenshots;
+ * - one rerun manifest (so {@code --rerun} works after a sharded run) and one gate failure summary;
+ * - {@code shards-summary.txt}: per shard its exit code and test counts.
+ * The perf-baselines the shards updated (durations, result cache, learned sizes, API latency runs) are merged back
+ * key by key into the shared directory. A shard that did not leave an exit code counts as failed.
+ * Usage: {@code ReportMerger <shards dir> <reports dir> <perf-baselines dir>}; exits with the combined exit code.
+ */
+public final class ReportMerger {
+    private static final Logger log = LogManager.getLogger(ReportMerger.class.getName());
+
+    /** The Extent data file a shard writes to its reports directory. */
+    public static final String EXTENT_JSON = "extent.json";
+
+    private static final Pattern SHARD_DIR = Pattern.compile("shard-(\\d+)");
+    private static final Pattern RESULT_COUNT = Pattern.compile("\\b(total|passed|failed|skipped)=\"(\\d+)\"");
+    private static final int NO_TESTS = 8; // TestNG exit code flag: the JVM ran no tests
+
+    private ReportMerger() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: ReportMerger <shards dir> <reports dir> <perf-baselines dir>");
+            System.exit(2);
+        }
+        System.exit(merge(Paths.get(args[0]), Paths.get(args[1]), Paths.get(args[2])));
+    }
+
+    /**
+     * @return The combined exit code: the TestNG exit code flags of all shards; 1 if a shard did not finish.
+     */
+    public static int merge(Path shardsDir, Path reportsDir, Path baselinesDir) throws IOException {
+        List<Path> shards = shardDirectories(shardsDir);
+        if (shards.isEmpty()) {
+            throw new IOException("No shard directories in: " + shardsDir);
+        }
+        Files.createDirectories(reportsDir);
+        Map<String, String> baseline = readFiles(baselinesDir);
+        Map<String, String> mergedBaseline = new TreeMap<>(baseline);
+        ExtentReports extent = new ExtentReports();
+        Path extentReport = reportsDir.resolve("ExtentReport_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".html");
+        ExtentSparkReporter sparkReporter = new ExtentSparkReporter(extentReport.toString());
+        sparkReporter.config().setDocumentTitle("Automation Exercise Test Report");
+        sparkReporter.config().setReportName("Functional Test Results (" + shards.size() + " shards)");
+        sparkReporter.config().setTheme(Theme.STANDARD);
+        extent.attachReporter(sparkReporter);
+        extent.setSystemInfo("Shards", String.valueOf(shards.size()));
+
+        JSONArray rerunEntries = new JSONArray();
+        String suiteName = null;
+        List<String> gateFailures = new ArrayList<>();
+        List<String> summary = new ArrayList<>();
+        summary.add(String.format("%-8s %-9s %6s %6s %6s %7s", "Shard", "Exit code", "Tests", "Passed", "Failed", "Skipped"));
+        int exitCode = 0;
+        int totalTests = 0;
+        for (Path shard : shards) {
+            String name = shard.getFileName().toString();
+            Path shardReports = shard.resolve("reports");
+            Integer shardExit = readExitCode(shard);
+            int[] counts = readCounts(shard.resolve("test-output").resolve("testng-results.xml"));
+            totalTests += counts[0];
+            exitCode |= shardExit == null ? 1 : shardExit & ~NO_TESTS;
+            summary.add(String.format("%-8s %-9s %6d %6d %6d %7d", name, shardExit == null ? "none" : String.valueOf(shardExit),
+                    counts[0], counts[1], counts[2], counts[3]));
+
+            Path extentJson = shardReports.resolve(EXTENT_JSON);
+            if (Files.exists(extentJson)) {
+                extent.createDomainFromJsonArchive(extentJson.toFile());
+            } else {
+                log.warn("{} left no Extent data ({}); its tests are missing from the merged report.", name, extentJson);
+            }
+            copyDirectory(shardReports.resolve("screenshots"), reportsDir.resolve("screenshots"));
+
+            Path manifest = shardReports.resolve("rerun-manifest.json");
+            if (Files.exists(manifest)) {
+                JSONObject json = new JSONObject(read(manifest));
+                suiteName = suiteName == null ? json.optString("suite") : suiteName;
+                for (Object entry : json.getJSONArray("entries")) {
+                    rerunEntries.put(entry);
+                }
+            }
+            Path gateFailure = shardReports.resolve("gate-failure.txt");
+            if (Files.exists(gateFailure)) {
+                gateFailures.add("[" + name + "]");
+                gateFailures.addAll(Files.readAllLines(gateFailure, StandardCharsets.UTF_8));
+            }
+            mergeBaselines(baseline, mergedBaseline, readFiles(shard.resolve("perf-baselines")));
+        }
+        if (totalTests == 0) {
+            exitCode |= NO_TESTS;
+        }
+        summary.add("Exit code: " + exitCode);
+
+        extent.flush();
+        write(reportsDir.resolve("rerun-manifest.json"), new JSONObject()
+                .put("suite", suiteName == null ? "" : suiteName)
+                .put("generated", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+                .put("entries", rerunEntries).toString(2));
+        if (!gateFailures.isEmpty()) {
+            write(reportsDir.resolve("gate-failure.txt"), String.join(System.lineSeparator(), gateFailures));
+        }
+        write(reportsDir.resolve("shards-summary.txt"), String.join(System.lineSeparator(), summary));
+        for (Map.Entry<String, String> file : mergedBaseline.entrySet()) {
+            if (!file.getValue().equals(baseline.get(file.getKey()))) {
+                write(baselinesDir.resolve(file.getKey()), file.getValue());
+            }
+        }
+        log.info("Merged {} shards into {} ({} failed/skipped tests in the rerun manifest):\n  {}",
+                box(shards.size()), extentReport, box(rerunEntries.length()), String.join("\n  ", summary));
+        return exitCode;
+    }
+
+    /**
+     * Applies what one shard changed in its copy of the baselines: JSON objects key by key (recursively), JSON lines
+     * by appending the lines it added, other files as a whole.
+     */
+    private static void mergeBaselines(Map<String, String> baseline, Map<String, String> merged, Map<String, String> shard) {
+        for (Map.Entry<String, String> file : shard.entrySet()) {
+            String name = file.getKey();
+            String base = baseline.get(name);
+            String changed = file.getValue();
+            if (changed.equals(base)) {
+                continue;
+            }
+            if (name.endsWith(".json") && changed.trim().startsWith("{")) {
+                JSONObject mergedJson = new JSONObject(merged.getOrDefault(name, "{}"));
+                mergeJson(new JSONObject(base == null ? "{}" : base), mergedJson, new JSONObject(changed));
+                merged.put(name, mergedJson.toString(2));
+            } else if (name.endsWith(".jsonl") && (base == null || changed.startsWith(base))) {
+                String added = base == null ? changed : changed.substring(base.length());
+                String current = merged.getOrDefault(name, "");
+                merged.put(name, current + (current.isEmpty() || current.endsWith("\n") ? "" : "\n") + added);
+            } else {
+                merged.put(name, changed);
+            }
+        }
+    }
+
+    private static void mergeJson(JSONObject base, JSONObject merged, JSONObject shard) {
+        for (String key : shard.keySet()) {
+            Object value = shard.get(key);
+            Object baseValue = base.opt(key);
+            if (value instanceof JSONObject && baseValue instanceof JSONObject && merged.opt(key) instanceof JSONObject) {
+                mergeJson((JSONObject) baseValue, merged.getJSONObject(key), (JSONObject) value);
+            } else if (baseValue == null || !baseValue.toString().equals(value.toString())) {
+                merged.put(key, value);
+            }
+        }
+        for (String key : base.keySet()) {
+            if (!shard.has(key)) {
+                merged.remove(key); // e.g. a result cache entry evicted by a failure
+            }
+        }
+    }
+
+    private static List<Path> shardDirectories(Path shardsDir) throws IOException {
+        Map<Integer, Path> shards = new TreeMap<>();
+        if (Files.isDirectory(shardsDir)) {
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(shardsDir)) {
+                for (Path entry : entries) {
+                    Matcher shard = SHARD_DIR.matcher(entry.getFileName().toString());
+                    if (Files.isDirectory(entry) && shard.matches()) {
+                        shards.put(Integer.parseInt(shard.group(1)), entry);
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(shards.values());
+    }
+
+    private static Integer readExitCode(Path shard) {
+        try {
+            return Integer.parseInt(read(shard.resolve("exit-code")).trim());
+        } catch (IOException | NumberFormatException e) {
+            log.error("{} did not finish (no exit code): see {}", shard.getFileName(), shard.resolve("shard.log"));
+            return null;
+        }
+    }
+
+    /**
+     * @return {total, passed, failed, skipped} from the TestNG results of a shard; zeros if missing.
+     */
+    private static int[] readCounts(Path testngResults) {
+        int[] counts = new int[4];
+        if (!Files.exists(testngResults)) {
+            return counts;
+        }
+        try (Stream<String> lines = Files.lines(testngResults, StandardCharsets.UTF_8)) {
+            String header = lines.filter(line -> line.contains("<testng-results")).findFirst().orElse("");
+            Matcher count = RESULT_COUNT.matcher(header);
+            List<String> names = Arrays.asList("total", "passed", "failed", "skipped");
+            while (count.find()) {
+                counts[names.indexOf(count.group(1))] = Integer.parseInt(count.group(2));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not read TestNG results {}: {}", testngResults, e.getMessage());
+        }
+        return counts;
+    }
+
+    /**
+     * @return The files of a directory tree by relative path ('/'-separated), with their contents.
+     */
+    private static Map<String, String> readFiles(Path dir) throws IOException {
+        Map<String, String> files = new TreeMap<>();
+        if (!Files.isDirectory(dir)) {
+            return files;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path file : (Iterable<Path>) paths.filter(Files::isRegularFile)::iterator) {
+                files.put(dir.relativize(file).toString().replace('\\', '/'), read(file));
+            }
+        }
+        return files;
+    }
+
+    private static void copyDirectory(Path source, Path target) throws IOException {
+        if (!Files.isDirectory(source)) {
+            return;
+        }
+        Files.createDirectories(target);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(source)) {
+            for (Path file : files) {
+                if (Files.isRegularFile(file)) {
+                    Files.copy(file, target.resolve(file.getFileName().toString()), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+    }
+
+    private static String read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,236 @@
+package com.sagar.automation.utilities;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.apache.logging.log4j.util.Unbox.box;
+
+/**
+ * Opt-in cache of green test results, so a run does not re-verify flows that cannot have changed.
+ * A test invocation (method + data row) is fingerprinted from:
+ * - the bytecode of its test class and its superclasses,
+ * - the page-object classes it touches, found transitively through {@link ClassReferences},
+ * - the contents of its Excel row,
+ * - the browser and the configured 'target.build.id' of the site under test.
+ * If the fingerprint matches the one of its last pass, the test is reported as passed (cached) without launching
+ * a browser; a failure evicts it. The cache is only used with {@code result.cache.enabled=true} and a non-empty
+ * 'target.build.id'; {@code result.cache.bypass=true} (release runs) runs everything but still refreshes the cache.
+ * Stored in {@code perf-baselines/result-cache.json}.
+ */
+public final class ResultCache {
+    private static final Logger log = LogManager.getLogger(ResultCache.class.getName());
+
+    /** Set to true on the ITestResult of a test that was answered from the cache. */
+    public static final String CACHED_ATTRIBUTE = "result.cache.hit";
+
+    private static final String DEFAULT_CACHE_FILE = "perf-baselines/result-cache.json";
+    private static final String PROJECT_PACKAGE = "com.sagar.automation.";
+    private static final String[] PAGE_OBJECT_PACKAGES = {"com.sagar.automation.pages.", "com.sagar.automation.base."};
+
+    private static final Map<String, Entry> entries = new ConcurrentHashMap<>(); // invocation key -> last pass
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static volatile boolean loaded;
+    private static volatile boolean changed;
+
+    private static final ThreadLocal<Lookup> current = new ThreadLocal<>();
+
+    private ResultCache() {
+    }
+
+    /**
+     * Looks the test about to run up in the cache; call at the start of test setup and close with {@link #endTest}.
+     *
+     * @param testClass The test class (its runtime class, not the declaring one).
+     * @param method    The test method.
+     * @param testArgs  The data row, if data-driven.
+     * @param browser   The browser the test would run on.
+     * @return True if an identical invocation passed before: the test can be reported as passed (cached).
+     */
+    public static boolean beginTest(Class<?> testClass, Method method, Object[] testArgs, String browser) {
+        current.remove();
+        String build = ConfigReader.getProperty("target.build.id", "").trim();
+        if (!Boolean.parseBoolean(ConfigReader.getProperty("result.cache.enabled", "false")) || build.isEmpty()) {
+            return false;
+        }
+        load();
+        String key = testClass.getName() + "." + TestLogContext.describeDataRow(method.getName(), testArgs);
+        String fingerprint = fingerprint(testClass, method, testArgs, browser, build);
+        Entry previous = entries.get(key);
+        boolean hit = previous != null && previous.fingerprint.equals(fingerprint)
+                && !Boolean.parseBoolean(ConfigReader.getProperty("result.cache.bypass", "false"));
+        current.set(new Lookup(key, fingerprint, hit ? previous.passedAt : null));
+        (hit ? hits : misses).increment();
+        if (hit) {
+            log.info("Result cache hit for {}: unchanged since its pass at {}", key, previous.passedAt);
+        }
+        return hit;
+    }
+
+    /**
+     * @return When the cached result of the current test passed, or null if the test runs for real.
+     */
+    public static String cachedSince() {
+        Lookup lookup = current.get();
+        return lookup == null ? null : lookup.cachedSince;
+    }
+
+    /**
+     * Records the outcome of the current test: a real pass is cached, a failure evicts the entry.
+     *
+     * @param passed Whether the test passed; skipped tests leave the cache unchanged.
+     * @param failed Whether the test failed.
+     */
+    public static void endTest(boolean passed, boolean failed) {
+        Lookup lookup = current.get();
+        current.remove();
+        if (lookup == null || lookup.cachedSince != null) {
+            return;
+        }
+        if (passed) {
+            entries.put(lookup.key, new Entry(lookup.fingerprint, LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)));
+            changed = true;
+        } else if (failed && entries.remove(lookup.key) != null) {
+            changed = true;
+        }
+    }
+
+    /**
+     * Writes the cache if this run changed it. Call once at the end of the suite.
+     */
+    public static void persist() {
+        if (hits.sum() + misses.sum() > 0) {
+            log.info("Result cache: {} hits, {} misses", box(hits.sum()), box(misses.sum()));
+        }
+        if (!changed) {
+            return;
+        }
+        JSONObject json = new JSONObject();
+        for (Map.Entry<String, Entry> entry : new TreeMap<>(entries).entrySet()) {
+            json.put(entry.getKey(), new JSONObject()
+                    .put("fingerprint", entry.getValue().fingerprint)
+                    .put("passedAt", entry.getValue().passedAt));
+        }
+        Path file = getCacheFile();
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, json.toString(2).getBytes(StandardCharsets.UTF_8));
+            log.info("Result cache written to: {}", file);
+        } catch (IOException e) {
+            log.error("Failed to write the result cache to: " + file, e);
+        }
+    }
+
+    private static String fingerprint(Class<?> testClass, Method method, Object[] testArgs, String browser, String build) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        update(digest, "build=" + build + ";browser=" + browser + ";method=" + method.getName());
+        for (Class<?> type = testClass; type != null && type.getName().startsWith(PROJECT_PACKAGE); type = type.getSuperclass()) {
+            for (String className : ClassReferences.closure(type.getName(), ResultCache::isPageObject)) {
+                byte[] bytecode = ClassReferences.bytecode(className);
+                update(digest, className);
+                if (bytecode != null) {
+                    digest.update(bytecode);
+                }
+            }
+        }
+        if (testArgs != null) {
+            for (Object arg : testArgs) {
+                if (arg instanceof Map) {
+                    Map<?, ?> row = new TreeMap<>((Map<?, ?>) arg);
+                    row.remove(ExcelReader.DATA_ROW_KEY); // Position only; the key already identifies the row
+                    update(digest, row.toString());
+                } else {
+                    update(digest, String.valueOf(arg));
+                }
+            }
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private static boolean isPageObject(String className) {
+        for (String prefix : PAGE_OBJECT_PACKAGES) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        Path file = getCacheFile();
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            JSONObject json = new JSONObject(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+            for (String key : json.keySet()) {
+                JSONObject entry = json.getJSONObject(key);
+                entries.put(key, new Entry(entry.getString("fingerprint"), entry.optString("passedAt")));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to read the result cache from: " + file, e);
+        }
+    }
+
+    private static Path getCacheFile() {
+        return Paths.get(ConfigReader.getProperty("result.cache.file", DEFAULT_CACHE_FILE));
+    }
+
+    private static final class Entry {
+        private final String fingerprint;
+        private final String passedAt;
+
+        private Entry(String fingerprint, String passedAt) {
+            this.fingerprint = fingerprint;
+            this.passedAt = passedAt;
+        }
+    }
+
+    private static final class Lookup {
+        private final String key;
+        private final String fingerprint;
+        private final String cachedSince;
+
+        private Lookup(String key, String fingerprint, String cachedSince) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.cachedSince = cachedSince;
+        }
+    }
+}
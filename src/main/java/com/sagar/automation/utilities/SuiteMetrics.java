@@ -0,0 +1,276 @@
+package com.sagar.automation.utilities;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static org.apache.logging.log4j.util.Unbox.box;
+
+/**
+ * Runtime metrics of the suite (tests, driver launches, waits, screenshots, API calls, Excel loading)
+ * in OpenMetrics text format.
+ * - Counters and histogram buckets are striped adders, so test threads record without taking locks.
+ * - The registry is written to a file at suite end and can be scraped during the run from
+ * {@code http://127.0.0.1:<metrics.port>/metrics} when 'metrics.port' is set.
+ */
+public final class SuiteMetrics {
+    private static final Logger log = LogManager.getLogger(SuiteMetrics.class.getName());
+
+    public static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    private static final double[] SECONDS_BUCKETS = {0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60};
+    private static final double[] BYTES_BUCKETS = {16 * 1024, 64 * 1024, 256 * 1024, 1024 * 1024, 4 * 1024 * 1024};
+
+    // Families in registration order, which is also the export order; only added to during class initialization
+    private static final List<Family<?>> families = new ArrayList<>();
+
+    public static final Family<Counter> TESTS_STARTED = counter("automation_tests_started", "Tests started");
+    public static final Family<Counter> TESTS_FINISHED = counter("automation_tests_finished", "Tests finished, by result", "result");
+    public static final Family<Counter> DRIVER_LAUNCHES = counter("automation_driver_launches", "Browser sessions started", "browser");
+    public static final Family<Histogram> DRIVER_LAUNCH_SECONDS = histogram("automation_driver_launch_seconds",
+            "Time to start a browser session", SECONDS_BUCKETS, "browser");
+    public static final Family<Histogram> WAIT_SECONDS = histogram("automation_wait_seconds",
+            "Explicit waits in page objects, by outcome", SECONDS_BUCKETS, "outcome");
+    public static final Family<Counter> TEST_PHASE_SECONDS = counter("automation_test_phase_seconds",
+            "Test wall time by phase (driver, navigation, explicit and implicit waits, actions, ...)", "phase");
+    public static final Family<Histogram> SCREENSHOT_SECONDS = histogram("automation_screenshot_seconds",
+            "Time to take and write a screenshot", SECONDS_BUCKETS);
+    public static final Family<Histogram> SCREENSHOT_BYTES = histogram("automation_screenshot_bytes",
+            "Size of written screenshots", BYTES_BUCKETS);
+    public static final Family<Histogram> API_REQUEST_SECONDS = histogram("automation_api_request_seconds",
+            "API call round trip, by endpoint", SECONDS_BUCKETS, "method", "endpoint");
+    public static final Family<Histogram> EXCEL_LOAD_SECONDS = histogram("automation_excel_load_seconds",
+            "Time to parse the Excel test data workbook", SECONDS_BUCKETS);
+
+    private static HttpServer server;
+
+    private SuiteMetrics() {
+    }
+
+    /**
+     * Serves the registry on 127.0.0.1 if 'metrics.port' is configured; does nothing otherwise.
+     */
+    public static synchronized void startServer() {
+        String port = ConfigReader.getProperty("metrics.port", "");
+        if (server != null || port.trim().isEmpty()) {
+            return;
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(port.trim())), 0);
+            server.createContext("/metrics", exchange -> {
+                byte[] body = export().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+            log.info("Suite metrics served at: http://127.0.0.1:{}/metrics", box(server.getAddress().getPort()));
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Could not serve suite metrics on port '{}': {}", port, e.getMessage());
+            server = null;
+        }
+    }
+
+    public static synchronized void stopServer() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+    }
+
+    /**
+     * Writes the current state of the registry as an OpenMetrics text file.
+     *
+     * @param file The file to write, e.g. reports/metrics.txt.
+     */
+    public static void write(Path file) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, export().getBytes(StandardCharsets.UTF_8));
+            log.info("Suite metrics written to: {}", file);
+        } catch (IOException e) {
+            log.error("Failed to write suite metrics to: " + file, e);
+        }
+    }
+
+    /**
+     * @return The registry in OpenMetrics text format, terminated by "# EOF".
+     */
+    public static String export() {
+        StringBuilder out = new StringBuilder();
+        for (Family<?> family : families) {
+            family.export(out);
+        }
+        return out.append("# EOF\n").toString();
+    }
+
+    /**
+     * Converts a System.nanoTime() difference to the seconds used by all duration metrics.
+     */
+    public static double seconds(long nanos) {
+        return nanos / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private static Family<Counter> counter(String name, String help, String... labelNames) {
+        return register(new Family<>(name, help, "counter", labelNames, Counter::new));
+    }
+
+    private static Family<Histogram> histogram(String name, String help, double[] buckets, String... labelNames) {
+        return register(new Family<>(name, help, "histogram", labelNames, () -> new Histogram(buckets)));
+    }
+
+    private static <T extends Metric> Family<T> register(Family<T> family) {
+        families.add(family);
+        return family;
+    }
+
+    private static String format(double value) {
+        if (value == Math.rint(value) && !Double.isInfinite(value)) {
+            return String.valueOf((long) value) + ".0";
+        }
+        return String.valueOf(value);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    interface Metric {
+        void export(StringBuilder out, String name, String labels);
+    }
+
+    /**
+     * A metric and its children, one per combination of label values.
+     */
+    public static final class Family<T extends Metric> {
+        private final String name;
+        private final String help;
+        private final String type;
+        private final String[] labelNames;
+        private final Supplier<T> factory;
+        private final Map<List<String>, T> children = new ConcurrentHashMap<>();
+
+        private Family(String name, String help, String type, String[] labelNames, Supplier<T> factory) {
+            this.name = name;
+            this.help = help;
+            this.type = type;
+            this.labelNames = labelNames;
+            this.factory = factory;
+        }
+
+        /**
+         * @param labelValues One value per label name, in declaration order; none for unlabelled metrics.
+         * @return The child for these label values, created on first use.
+         */
+        public T labels(String... labelValues) {
+            if (labelValues.length != labelNames.length) {
+                throw new IllegalArgumentException(name + " expects labels " + Arrays.toString(labelNames));
+            }
+            List<String> key = Arrays.asList(labelValues);
+            T child = children.get(key);
+            return child != null ? child : children.computeIfAbsent(key, k -> factory.get());
+        }
+
+        private void export(StringBuilder out) {
+            out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+            if (name.endsWith("_seconds")) {
+                out.append("# UNIT ").append(name).append(" seconds\n");
+            } else if (name.endsWith("_bytes")) {
+                out.append("# UNIT ").append(name).append(" bytes\n");
+            }
+            out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+            // Sorted by label values so that exports are stable
+            List<Map.Entry<List<String>, T>> sorted = new ArrayList<>(children.entrySet());
+            sorted.sort((a, b) -> String.join("\u0000", a.getKey()).compareTo(String.join("\u0000", b.getKey())));
+            for (Map.Entry<List<String>, T> child : sorted) {
+                StringBuilder labels = new StringBuilder();
+                for (int i = 0; i < labelNames.length; i++) {
+                    labels.append(i == 0 ? "" : ",").append(labelNames[i]).append("=\"").append(escape(child.getKey().get(i))).append('"');
+                }
+                child.getValue().export(out, name, labels.toString());
+            }
+        }
+    }
+
+    public static final class Counter implements Metric {
+        private final DoubleAdder value = new DoubleAdder();
+
+        public void inc() {
+            value.add(1);
+        }
+
+        public void add(double amount) {
+            value.add(amount);
+        }
+
+        @Override
+        public void export(StringBuilder out, String name, String labels) {
+            out.append(name).append("_total");
+            if (!labels.isEmpty()) {
+                out.append('{').append(labels).append('}');
+            }
+            out.append(' ').append(format(value.sum())).append('\n');
+        }
+    }
+
+    /**
+     * Fixed-bucket histogram. Buckets are counted individually and made cumulative on export.
+     */
+    public static final class Histogram implements Metric {
+        private final double[] upperBounds;
+        private final LongAdder[] buckets;
+        private final DoubleAdder sum = new DoubleAdder();
+
+        private Histogram(double[] upperBounds) {
+            this.upperBounds = upperBounds;
+            this.buckets = new LongAdder[upperBounds.length + 1]; // Last one is +Inf
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        public void observe(double value) {
+            int bucket = 0;
+            while (bucket < upperBounds.length && value > upperBounds[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+            sum.add(value);
+        }
+
+        @Override
+        public void export(StringBuilder out, String name, String labels) {
+            String prefix = labels.isEmpty() ? "" : labels + ",";
+            long cumulative = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                cumulative += buckets[i].sum();
+                String le = i < upperBounds.length ? format(upperBounds[i]) : "+Inf";
+                out.append(name).append("_bucket{").append(prefix).append("le=\"").append(le).append("\"} ").append(cumulative).append('\n');
+            }
+            String braces = labels.isEmpty() ? "" : "{" + labels + "}";
+            out.append(name).append("_count").append(braces).append(' ').append(cumulative).append('\n');
+            out.append(name).append("_sum").append(braces).append(' ').append(format(sum.sum())).append('\n');
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.sagar.automation.utilities;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves placeholders in Excel data values once per test execution, so the same rows can run on several workers
+ * at once and be repeated without two executions sharing an account:
+ * - {@code ${unique}}: a token no other execution gets, in this or any other JVM ("&lt;runId&gt;-&lt;n&gt;");
+ * - {@code ${uniqueEmail}}: an email address built from that token ({@code test.data.email.domain});
+ * - {@code ${runId}}: the id of this JVM's run, the same for all executions;
+ * - {@code ${worker}}: the name of the worker thread running the execution.
+ * All placeholders of one execution share one token, so e.g. EMAIL and a login column holding {@code ${uniqueEmail}}
+ * get the same address. Tokens come from a lock-free counter; no worker waits on another.
+ */
+public final class TestDataTemplate {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{(\\w+)}");
+
+    // Start time and process id: distinct for JVMs started together (shards) and for repeated runs
+    private static final String RUN_ID = Long.toString(System.currentTimeMillis(), 36) + processId();
+    private static final AtomicLong sequence = new AtomicLong();
+
+    private TestDataTemplate() {
+        // Static helper, not meant to be instantiated
+    }
+
+    /**
+     * @return The id of this run, as {@code ${runId}} resolves.
+     */
+    public static String getRunId() {
+        return RUN_ID;
+    }
+
+    /**
+     * Resolves the data row among the test method arguments for one execution.
+     *
+     * @param testArgs The test method arguments; an Excel data row (Map) is replaced by its resolved copy.
+     * @return True if a row was resolved (it had placeholders).
+     */
+    @SuppressWarnings("unchecked")
+    public static boolean resolveArguments(Object[] testArgs) {
+        if (testArgs == null || testArgs.length == 0 || !(testArgs[0] instanceof Map)) {
+            return false;
+        }
+        Map<String, String> row = (Map<String, String>) testArgs[0];
+        Map<String, String> resolved = resolve(row);
+        if (resolved == row) {
+            return false;
+        }
+        testArgs[0] = resolved;
+        return true;
+    }
+
+    /**
+     * @param row An Excel data row; it is not modified (rows are shared by all executions).
+     * @return A copy with every placeholder resolved, or the row itself if it has none.
+     * @throws IllegalArgumentException If a value names an unknown placeholder.
+     */
+    public static Map<String, String> resolve(Map<String, String> row) {
+        Map<String, String> resolved = null;
+        String unique = null;
+        for (Map.Entry<String, String> column : row.entrySet()) {
+            String value = column.getValue();
+            if (value == null || !value.contains("${")) {
+                continue;
+            }
+            if (resolved == null) {
+                resolved = new LinkedHashMap<>(row);
+                unique = RUN_ID + "-" + sequence.incrementAndGet();
+            }
+            Matcher placeholder = PLACEHOLDER.matcher(value);
+            StringBuffer text = new StringBuffer();
+            while (placeholder.find()) {
+                placeholder.appendReplacement(text, Matcher.quoteReplacement(valueOf(placeholder.group(1), unique, column.getKey())));
+            }
+            placeholder.appendTail(text);
+            resolved.put(column.getKey(), text.toString());
+        }
+        return resolved == null ? row : resolved;
+    }
+
+    private static String valueOf(String name, String unique, String column) {
+        switch (name) {
+            case "unique":
+                return unique;
+            case "uniqueEmail":
+                return "qa." + unique + "@" + ConfigReader.getProperty("test.data.email.domain", "example.com");
+            case "runId":
+                return RUN_ID;
+            case "worker":
+                return Thread.currentThread().getName();
+            default:
+                throw new IllegalArgumentException("Unknown placeholder '${" + name + "}' in test data column '" + column
+                        + "'; expected one of ${unique}, ${uniqueEmail}, ${runId}, ${worker}");
+        }
+    }
+
+    private static String processId() {
+        String name = ManagementFactory.getRuntimeMXBean().getName(); // "pid@host"
+        int at = name.indexOf('@');
+        try {
+            return Long.toString(Long.parseLong(at < 0 ? name : name.substring(0, at)), 36);
+        } catch (NumberFormatException e) {
+            return Integer.toString(name.hashCode() & 0xffff, 36);
+        }
+    }
+}
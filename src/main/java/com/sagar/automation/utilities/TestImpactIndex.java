@@ -0,0 +1,161 @@
+package com.sagar.automation.utilities;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Static usage index of the test methods: which project classes and page-object methods each one reaches,
+ * following the calls in the compiled classes ({@link ClassReferences}) from the test method through test helpers,
+ * page objects and utilities.
+ * Code that runs around the tests regardless of what they call is kept apart: the configuration methods of a test
+ * class (and what they reach) count for all tests of that class; the superclasses (BaseTest) are the fixture of every
+ * test.
+ */
+public final class TestImpactIndex {
+    private static final String PROJECT_PACKAGE = "com.sagar.automation.";
+    private static final String PAGES_PACKAGE = "com.sagar.automation.pages.";
+
+    private final Map<String, Set<String>> classesByTest = new TreeMap<>();
+    private final Map<String, Set<String>> pageMethodsByTest = new TreeMap<>();
+    private final Map<String, Set<String>> configurationByClass = new TreeMap<>();
+    private final Set<String> fixture = new TreeSet<>();
+
+    /**
+     * Indexes one test method.
+     *
+     * @param testClass          The test class.
+     * @param testMethod         The test method name.
+     * @param configurationRoots Methods of the test class that run around every test (BeforeMethod, BeforeClass, ...).
+     */
+    public void add(Class<?> testClass, String testMethod, Collection<String> configurationRoots) {
+        Set<String> classes = new TreeSet<>();
+        Set<String> pageMethods = new TreeSet<>();
+        walk(testClass.getName() + "#" + testMethod, classes, pageMethods);
+        classesByTest.put(key(testClass, testMethod), classes);
+        pageMethodsByTest.put(key(testClass, testMethod), pageMethods);
+
+        Set<String> ignored = new HashSet<>();
+        Set<String> configuration = configurationByClass.computeIfAbsent(testClass.getName(), k -> new TreeSet<>());
+        for (String root : configurationRoots) {
+            walk(testClass.getName() + "#" + root, configuration, ignored);
+        }
+        for (Class<?> type = testClass.getSuperclass(); type != null && type.getName().startsWith(PROJECT_PACKAGE); type = type.getSuperclass()) {
+            for (String method : ClassReferences.methodCalls(type.getName()).keySet()) {
+                walk(type.getName() + "#" + method, fixture, ignored);
+            }
+        }
+    }
+
+    /**
+     * @return The project classes the test method reaches, including its own class.
+     */
+    public Set<String> getReachedClasses(Class<?> testClass, String testMethod) {
+        Set<String> classes = classesByTest.get(key(testClass, testMethod));
+        return classes == null ? new TreeSet<>() : classes;
+    }
+
+    /**
+     * @return The classes run around every indexed test (superclasses of the test classes and what they reach);
+     * a change to one of them can affect any test.
+     */
+    public Set<String> getFixtureClasses() {
+        return fixture;
+    }
+
+    /**
+     * @param classNames Binary class names; nested classes are matched through their top-level class.
+     * @return True if the test method or the configuration methods of its class reach one of the classes.
+     */
+    public boolean reachesAny(Class<?> testClass, String testMethod, Set<String> classNames) {
+        Set<String> configuration = configurationByClass.get(testClass.getName());
+        return containsAny(getReachedClasses(testClass, testMethod), classNames)
+                || (configuration != null && containsAny(configuration, classNames));
+    }
+
+    public JSONObject toJson() {
+        JSONObject tests = new JSONObject();
+        for (Map.Entry<String, Set<String>> test : classesByTest.entrySet()) {
+            tests.put(test.getKey(), new JSONObject()
+                    .put("classes", new JSONArray(test.getValue()))
+                    .put("pageObjectMethods", new JSONArray(pageMethodsByTest.get(test.getKey()))));
+        }
+        JSONObject configuration = new JSONObject();
+        for (Map.Entry<String, Set<String>> testClass : configurationByClass.entrySet()) {
+            configuration.put(testClass.getKey(), new JSONArray(testClass.getValue()));
+        }
+        return new JSONObject().put("tests", tests).put("classConfiguration", configuration).put("fixture", new JSONArray(fixture));
+    }
+
+    /**
+     * @return The class name without its nested part, e.g. "a.B$1" -> "a.B".
+     */
+    public static String topLevel(String className) {
+        int nested = className.indexOf('$');
+        return nested < 0 ? className : className.substring(0, nested);
+    }
+
+    private static boolean containsAny(Set<String> reached, Set<String> classNames) {
+        for (String className : reached) {
+            if (classNames.contains(topLevel(className))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Follows the calls from "owner#method" through project code.
+     */
+    private static void walk(String root, Set<String> classes, Set<String> pageMethods) {
+        Set<String> visited = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            String call = pending.pop();
+            if (!visited.add(call)) {
+                continue;
+            }
+            String owner = call.substring(0, call.indexOf('#'));
+            String method = call.substring(call.indexOf('#') + 1);
+            String declaring = declaringClass(owner, method);
+            if (declaring == null) {
+                continue;
+            }
+            classes.add(owner);
+            classes.add(declaring);
+            if (declaring.startsWith(PAGES_PACKAGE) && !"<init>".equals(method) && !method.startsWith("lambda$")) {
+                pageMethods.add(declaring.substring(PAGES_PACKAGE.length()) + "." + method);
+            }
+            for (String invoked : ClassReferences.methodCalls(declaring).get(method)) {
+                if (invoked.startsWith(PROJECT_PACKAGE)) {
+                    pending.push(invoked);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The project class that declares the method, looking up the superclasses; null if not project code.
+     */
+    private static String declaringClass(String owner, String method) {
+        for (String type = owner; type != null && type.startsWith(PROJECT_PACKAGE); type = ClassReferences.superclass(type)) {
+            if (ClassReferences.methodCalls(type).containsKey(method)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    private static String key(Class<?> testClass, String testMethod) {
+        return testClass.getName() + "#" + testMethod;
+    }
+}
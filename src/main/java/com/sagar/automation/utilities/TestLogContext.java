@@ -0,0 +1,99 @@
+package com.sagar.automation.utilities;
+
+import org.apache.logging.log4j.ThreadContext;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Puts the identity of the running test into the Log4j ThreadContext (MDC) of the test thread.
+ * - Every log line written while the test runs carries testMethod, testName, browser and worker.
+ * - The 'testId' key drives the per-test routing appender in log4j2.xml, which writes logs/tests/&lt;testId&gt;.log
+ * on Log4j's background thread, so the test thread itself does no extra file I/O. Ids carry the run id, so a run never
+ * appends to the file of an earlier one.
+ */
+public final class TestLogContext {
+
+    public static final String TEST_ID = "testId";
+    public static final String TEST_METHOD = "testMethod";
+    public static final String TEST_NAME = "testName";
+    public static final String BROWSER = "browser";
+    public static final String WORKER = "worker";
+
+    private static final String PER_TEST_LOG_DIR = "logs/tests";
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    private TestLogContext() {
+        // Static helper, not meant to be instantiated
+    }
+
+    /**
+     * Opens the log context for a test on the current thread.
+     *
+     * @param testMethod The TestNG method name.
+     * @param testArgs   The test method arguments; an Excel data row (Map) contributes its TestName and DataRow.
+     * @param browser    The browser the test runs on.
+     * @return The unique test id, also used as the per-test log file name.
+     */
+    public static String begin(String testMethod, Object[] testArgs, String browser) {
+        String testName = describeDataRow(testMethod, testArgs);
+        String testId = String.format("%s_%s_%04d", testName.replaceAll("[^a-zA-Z0-9_.-]", "_"),
+                TestDataTemplate.getRunId(), sequence.incrementAndGet());
+
+        ThreadContext.put(TEST_ID, testId);
+        ThreadContext.put(TEST_METHOD, testMethod);
+        ThreadContext.put(TEST_NAME, testName);
+        ThreadContext.put(BROWSER, browser);
+        ThreadContext.put(WORKER, Thread.currentThread().getName());
+        return testId;
+    }
+
+    /**
+     * Clears the log context of the current thread. Call at the very end of test tear down.
+     */
+    public static void end() {
+        ThreadContext.clearMap();
+    }
+
+    /**
+     * @return The id of the test running on this thread, or null outside a test.
+     */
+    public static String currentTestId() {
+        return ThreadContext.get(TEST_ID);
+    }
+
+    /**
+     * @return The data-row label of the test running on this thread (e.g. "LoginTest#2"), or null outside a test.
+     */
+    public static String currentTestName() {
+        return ThreadContext.get(TEST_NAME);
+    }
+
+    /**
+     * Path of the per-test log file, relative to the project root.
+     *
+     * @param testId The id returned by {@link #begin}.
+     * @return e.g. "logs/tests/LoginTest_2_mf3k2x1a4z_0001.log".
+     */
+    public static String getLogFilePath(String testId) {
+        return PER_TEST_LOG_DIR + "/" + testId + ".log";
+    }
+
+    /**
+     * Builds a readable label for one data set, e.g. "LoginWithValidUsernameAndPassword#2".
+     *
+     * @param testMethod The TestNG method name, used when the test has no Excel data row.
+     * @param testArgs   The test method arguments.
+     * @return The TestName of the row plus its DataRow position, or just the method name.
+     */
+    @SuppressWarnings("unchecked")
+    public static String describeDataRow(String testMethod, Object[] testArgs) {
+        if (testArgs != null && testArgs.length > 0 && testArgs[0] instanceof Map) {
+            Map<String, String> row = (Map<String, String>) testArgs[0];
+            String testName = row.getOrDefault(ExcelReader.TEST_NAME_COLUMN, testMethod);
+            String dataRow = row.get(ExcelReader.DATA_ROW_KEY);
+            return dataRow == null ? testName : testName + "#" + dataRow;
+        }
+        return testMethod;
+    }
+}
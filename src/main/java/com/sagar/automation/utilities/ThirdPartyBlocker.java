@@ -0,0 +1,262 @@
+package com.sagar.automation.utilities;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONObject;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import static org.apache.logging.log4j.util.Unbox.box;
+
+/**
+ * Blocks third-party requests (ads, analytics, fonts) matching the 'thirdparty.block.list' patterns
+ * in Chromium sessions via DevTools (Network.setBlockedURLs), and counts them per test.
+ * - With blocking enabled, each blocked request is counted and the bytes it would have cost are estimated
+ * from the average size learned for its host.
+ * - With blocking disabled (e.g. the perf suite), matching requests still load and are counted; their real sizes
+ * feed the learned per-host averages, which are persisted so later blocked runs can estimate savings.
+ * Browsers without DevTools (Firefox) run unblocked with a warning.
+ */
+public final class ThirdPartyBlocker {
+    private static final Logger log = LogManager.getLogger(ThirdPartyBlocker.class.getName());
+
+    private static final String DEFAULT_SIZES_FILE = "perf-baselines/thirdparty-sizes.json";
+    private static final long DEFAULT_REQUEST_BYTES = 20 * 1024;
+
+    private static final ThreadLocal<ThirdPartyBlocker> current = new ThreadLocal<>();
+    // Learned transfer size per third-party host: {requests, bytes}
+    private static final Map<String, LongAdder[]> learnedSizes = new ConcurrentHashMap<>();
+    private static volatile boolean learnedSizesLoaded;
+
+    private final boolean blocking;
+    private final List<Pattern> patterns;
+    private final Map<String, String> matchedRequests = new ConcurrentHashMap<>(); // requestId -> host
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final AtomicLong bytes = new AtomicLong();
+    private final Map<String, AtomicInteger> requestsByHost = new ConcurrentHashMap<>();
+
+    private ThirdPartyBlocker(boolean blocking, List<String> urlPatterns) {
+        this.blocking = blocking;
+        this.patterns = new ArrayList<>();
+        for (String urlPattern : urlPatterns) {
+            patterns.add(toRegex(urlPattern));
+        }
+    }
+
+    /**
+     * Starts blocking (or just counting) third-party requests for the test on the current thread.
+     * Must be called before the first navigation of the test.
+     *
+     * @param driver   The freshly created WebDriver.
+     * @param blocking True to block the requests, false to let them load and only measure them.
+     * @return True if the browser supports it; false if the test runs without third-party handling.
+     */
+    public static boolean begin(WebDriver driver, boolean blocking) {
+        current.remove();
+        List<String> urlPatterns = getBlockList();
+        if (urlPatterns.isEmpty()) {
+            return false;
+        }
+        DevTools devTools = DevToolsNetwork.open(driver);
+        if (devTools == null) {
+            log.warn("Third-party blocking needs DevTools, which {} does not support. Running unblocked.",
+                    driver == null ? "no driver" : driver.getClass().getSimpleName());
+            return false;
+        }
+        loadLearnedSizes();
+
+        ThirdPartyBlocker blocker = new ThirdPartyBlocker(blocking, urlPatterns);
+        devTools.addListener(DevToolsNetwork.event("Network.requestWillBeSent"), blocker::onRequestWillBeSent);
+        devTools.addListener(DevToolsNetwork.event("Network.loadingFailed"), blocker::onLoadingFailed);
+        devTools.addListener(DevToolsNetwork.event("Network.loadingFinished"), blocker::onLoadingFinished);
+        if (blocking) {
+            Map<String, Object> params = new TreeMap<>();
+            params.put("urls", urlPatterns);
+            devTools.send(DevToolsNetwork.command("Network.setBlockedURLs", params));
+        }
+        current.set(blocker);
+        log.info("Third-party requests matching {} patterns will be {}.", box(urlPatterns.size()), blocking ? "blocked" : "counted");
+        return true;
+    }
+
+    /**
+     * Ends tracking for the test on the current thread.
+     *
+     * @return A one-line summary for the report, or null if nothing was tracked.
+     */
+    public static String end() {
+        ThirdPartyBlocker blocker = current.get();
+        current.remove();
+        if (blocker == null) {
+            return null;
+        }
+        String summary = blocker.summary();
+        log.info(summary);
+        return summary;
+    }
+
+    /**
+     * Writes the learned per-host sizes so later runs can estimate the bytes saved by blocking.
+     */
+    public static void persistLearnedSizes() {
+        if (learnedSizes.isEmpty()) {
+            return;
+        }
+        JSONObject json = new JSONObject();
+        for (Map.Entry<String, LongAdder[]> entry : new TreeMap<>(learnedSizes).entrySet()) {
+            JSONObject host = new JSONObject();
+            host.put("requests", entry.getValue()[0].sum());
+            host.put("bytes", entry.getValue()[1].sum());
+            json.put(entry.getKey(), host);
+        }
+        Path file = getSizesFile();
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, json.toString(2).getBytes(StandardCharsets.UTF_8));
+            log.info("Third-party request sizes written to: {}", file);
+        } catch (IOException e) {
+            log.error("Failed to write third-party request sizes to: " + file, e);
+        }
+    }
+
+    private void onRequestWillBeSent(Map<String, Object> params) {
+        Object request = params.get("request");
+        if (!(request instanceof Map)) {
+            return;
+        }
+        String url = String.valueOf(((Map<?, ?>) request).get("url"));
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(url).matches()) {
+                matchedRequests.put(String.valueOf(params.get("requestId")), hostOf(url));
+                return;
+            }
+        }
+    }
+
+    private void onLoadingFailed(Map<String, Object> params) {
+        String host = matchedRequests.remove(String.valueOf(params.get("requestId")));
+        if (host != null && blocking && params.get("blockedReason") != null) {
+            count(host, estimatedBytes(host));
+        }
+    }
+
+    private void onLoadingFinished(Map<String, Object> params) {
+        String host = matchedRequests.remove(String.valueOf(params.get("requestId")));
+        if (host != null && !blocking) {
+            long transferred = DevToolsNetwork.number(params, "encodedDataLength");
+            count(host, transferred);
+            LongAdder[] size = learnedSizes.computeIfAbsent(host, k -> new LongAdder[]{new LongAdder(), new LongAdder()});
+            size[0].increment();
+            size[1].add(transferred);
+        }
+    }
+
+    private void count(String host, long requestBytes) {
+        requestCount.incrementAndGet();
+        bytes.addAndGet(requestBytes);
+        requestsByHost.computeIfAbsent(host, k -> new AtomicInteger()).incrementAndGet();
+    }
+
+    private String summary() {
+        StringBuilder hosts = new StringBuilder();
+        for (Map.Entry<String, AtomicInteger> entry : new TreeMap<>(requestsByHost).entrySet()) {
+            hosts.append(hosts.length() == 0 ? "" : ", ").append(entry.getKey()).append(" x").append(entry.getValue().get());
+        }
+        if (blocking) {
+            return "Third-party requests blocked: " + requestCount.get() + ", ~" + bytes.get() / 1024 + " KB saved (estimated)"
+                    + (hosts.length() == 0 ? "" : " [" + hosts + "]");
+        }
+        return "Third-party requests (not blocked): " + requestCount.get() + ", " + bytes.get() / 1024 + " KB transferred"
+                + (hosts.length() == 0 ? "" : " [" + hosts + "]");
+    }
+
+    private static long estimatedBytes(String host) {
+        LongAdder[] size = learnedSizes.get(host);
+        long requests = size == null ? 0 : size[0].sum();
+        if (requests == 0) {
+            return Long.parseLong(ConfigReader.getProperty("thirdparty.block.default.request.bytes", String.valueOf(DEFAULT_REQUEST_BYTES)));
+        }
+        return size[1].sum() / requests;
+    }
+
+    private static List<String> getBlockList() {
+        List<String> urlPatterns = new ArrayList<>();
+        for (String entry : ConfigReader.getProperty("thirdparty.block.list", "").split(",")) {
+            if (!entry.trim().isEmpty()) {
+                urlPatterns.add(entry.trim());
+            }
+        }
+        return Collections.unmodifiableList(urlPatterns);
+    }
+
+    private static synchronized void loadLearnedSizes() {
+        if (learnedSizesLoaded) {
+            return;
+        }
+        learnedSizesLoaded = true;
+        Path file = getSizesFile();
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            JSONObject json = new JSONObject(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+            for (String host : json.keySet()) {
+                JSONObject size = json.getJSONObject(host);
+                LongAdder requests = new LongAdder();
+                LongAdder hostBytes = new LongAdder();
+                requests.add(size.getLong("requests"));
+                hostBytes.add(size.getLong("bytes"));
+                learnedSizes.put(host, new LongAdder[]{requests, hostBytes});
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to read third-party request sizes from: " + file, e);
+        }
+    }
+
+    private static Path getSizesFile() {
+        return Paths.get(ConfigReader.getProperty("thirdparty.sizes.file", DEFAULT_SIZES_FILE));
+    }
+
+    private static String hostOf(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host == null ? url : host;
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    /**
+     * Turns a DevTools URL pattern ('*' matches anything) into a regex for matching request URLs.
+     */
+    private static Pattern toRegex(String urlPattern) {
+        String[] parts = urlPattern.split("\\*", -1);
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                regex.append(".*");
+            }
+            regex.append(Pattern.quote(parts[i]));
+        }
+        return Pattern.compile(regex.toString());
+    }
+}
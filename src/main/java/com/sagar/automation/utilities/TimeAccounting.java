@@ -0,0 +1,252 @@
+package com.sagar.automation.utilities;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.apache.logging.log4j.util.Unbox.box;
+
+/**
+ * Attributes the wall time of each test to what it was spent on: driver launch, navigation, explicit waits,
+ * implicit waits, actions, screenshots and reporting.
+ * - Code opens a {@link Span} around the work it does; spans nest and time is always charged to the innermost one,
+ * so a screenshot inside a reporting step counts as screenshot time only.
+ * - WebDriver commands are classified by {@link CommandTracer}. They only refine plain test code; inside screenshots,
+ * reporting etc. they keep the enclosing phase. The part of an element lookup spent in the implicit wait is charged to
+ * implicit waits, in plain test code and in explicit waits alike.
+ * - Time outside any span is "Test code / other".
+ * Each test's breakdown is reported on its own and added to the suite totals.
+ */
+public final class TimeAccounting {
+    private static final Logger log = LogManager.getLogger(TimeAccounting.class.getName());
+
+    public enum Phase {
+        DRIVER("Driver launch / quit"),
+        NAVIGATION("Navigation"),
+        EXPLICIT_WAIT("Explicit waits"),
+        IMPLICIT_WAIT("Implicit waits"),
+        ACTIONS("Actions"),
+        SCREENSHOTS("Screenshots"),
+        REPORTING("Reporting"),
+        OTHER("Test code / other");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final Span NO_SPAN = new Span();
+
+    private static final ThreadLocal<Ledger> current = new ThreadLocal<>();
+    private static final LongAdder[] suiteNanos = new LongAdder[PHASES.length];
+    private static final LongAdder suiteTests = new LongAdder();
+
+    static {
+        for (int i = 0; i < suiteNanos.length; i++) {
+            suiteNanos[i] = new LongAdder();
+        }
+    }
+
+    private TimeAccounting() {
+    }
+
+    /**
+     * Starts accounting for the test on the current thread. Everything up to {@link #endTest()} is attributed.
+     */
+    public static void beginTest() {
+        current.set(new Ledger(System.nanoTime()));
+    }
+
+    /**
+     * Charges the time until the returned span is closed to the given phase.
+     * Use with try-with-resources; outside a test this is a no-op.
+     *
+     * @param phase What the enclosed code spends its time on.
+     * @return The span to close.
+     */
+    public static Span enter(Phase phase) {
+        Ledger ledger = current.get();
+        if (ledger == null) {
+            return NO_SPAN;
+        }
+        ledger.push(phase);
+        return ledger;
+    }
+
+    /**
+     * Opens the span of a single WebDriver command; closed by {@link #exitCommand(long)}.
+     *
+     * @return True if the implicit wait of the command may be charged to implicit waits: it runs in plain test code
+     * or in an explicit wait.
+     */
+    static boolean enterCommand(Phase phase) {
+        Ledger ledger = current.get();
+        if (ledger == null) {
+            return false;
+        }
+        Phase enclosing = ledger.top();
+        ledger.push(enclosing == null ? phase : enclosing);
+        return enclosing == null || enclosing == Phase.EXPLICIT_WAIT;
+    }
+
+    /**
+     * Closes the span of a WebDriver command.
+     *
+     * @param implicitWaitNanos The last part of the command that was spent in the implicit wait; 0 for none.
+     */
+    static void exitCommand(long implicitWaitNanos) {
+        Ledger ledger = current.get();
+        if (ledger != null) {
+            ledger.close(Phase.IMPLICIT_WAIT, implicitWaitNanos);
+        }
+    }
+
+    /**
+     * Ends accounting for the test on the current thread and adds it to the suite totals.
+     *
+     * @return Rows of {phase, time, share} with a header row first, or null if the test was not accounted.
+     */
+    public static String[][] endTest() {
+        Ledger ledger = current.get();
+        current.remove();
+        if (ledger == null) {
+            return null;
+        }
+        long[] nanos = ledger.finish(System.nanoTime());
+        for (int i = 0; i < nanos.length; i++) {
+            suiteNanos[i].add(nanos[i]);
+            SuiteMetrics.TEST_PHASE_SECONDS.labels(PHASES[i].name().toLowerCase()).add(SuiteMetrics.seconds(nanos[i]));
+        }
+        suiteTests.increment();
+        log.info("Time breakdown: {}", summary(nanos));
+        return table(nanos);
+    }
+
+    /**
+     * @return The time breakdown summed over every accounted test of the suite, header row first.
+     */
+    public static String[][] getSuiteTable() {
+        long[] nanos = new long[PHASES.length];
+        for (int i = 0; i < nanos.length; i++) {
+            nanos[i] = suiteNanos[i].sum();
+        }
+        log.info("Suite time breakdown over {} tests: {}", box(suiteTests.sum()), summary(nanos));
+        return table(nanos);
+    }
+
+    /**
+     * @return True if at least one test has been accounted.
+     */
+    public static boolean hasSuiteTotals() {
+        return suiteTests.sum() > 0;
+    }
+
+    private static String[][] table(long[] nanos) {
+        long total = Arrays.stream(nanos).sum();
+        String[][] table = new String[PHASES.length + 2][];
+        table[0] = new String[]{"Phase", "Time (ms)", "Share"};
+        for (Phase phase : PHASES) {
+            long phaseNanos = nanos[phase.ordinal()];
+            table[phase.ordinal() + 1] = new String[]{phase.getLabel(), String.valueOf(millis(phaseNanos)), share(phaseNanos, total)};
+        }
+        table[table.length - 1] = new String[]{"Total", String.valueOf(millis(total)), "100%"};
+        return table;
+    }
+
+    private static String summary(long[] nanos) {
+        long total = Arrays.stream(nanos).sum();
+        StringBuilder summary = new StringBuilder().append(millis(total)).append(" ms total");
+        for (Phase phase : PHASES) {
+            if (nanos[phase.ordinal()] > 0) {
+                summary.append(", ").append(phase.getLabel()).append(' ').append(millis(nanos[phase.ordinal()])).append(" ms");
+            }
+        }
+        return summary.toString();
+    }
+
+    private static String share(long nanos, long total) {
+        return total == 0 ? "0%" : Math.round(nanos * 100.0 / total) + "%";
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /**
+     * A timed section of a test; closing it hands the time back to the enclosing phase.
+     */
+    public static class Span implements AutoCloseable {
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * The phase stack and per-phase totals of one test, only touched by the test thread.
+     */
+    private static final class Ledger extends Span {
+        private final long[] nanos = new long[PHASES.length];
+        private Phase[] stack = new Phase[16];
+        private int depth;
+        private long mark;
+
+        private Ledger(long start) {
+            this.mark = start;
+        }
+
+        private Phase top() {
+            return depth == 0 ? null : stack[depth - 1];
+        }
+
+        private void push(Phase phase) {
+            charge(System.nanoTime());
+            if (depth == stack.length) {
+                stack = Arrays.copyOf(stack, depth * 2);
+            }
+            stack[depth++] = phase;
+        }
+
+        @Override
+        public void close() {
+            close(null, 0);
+        }
+
+        /**
+         * Closes the innermost span, charging its last tailNanos to another phase.
+         */
+        private void close(Phase tailPhase, long tailNanos) {
+            if (depth > 0) {
+                long now = System.nanoTime();
+                long tail = Math.max(0, Math.min(tailNanos, now - mark));
+                charge(now - tail);
+                if (tail > 0) {
+                    nanos[tailPhase.ordinal()] += tail;
+                    mark = now;
+                }
+                depth--;
+            }
+        }
+
+        private long[] finish(long now) {
+            charge(now);
+            depth = 0;
+            return nanos;
+        }
+
+        private void charge(long now) {
+            Phase phase = depth == 0 ? Phase.OTHER : stack[depth - 1];
+            nanos[phase.ordinal()] += now - mark;
+            mark = now;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.sagar.automation.utilities;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a test method (or every test of a class) under the given network profile.
+ * Takes precedence over the 'network.profile' suite parameter and config property.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface UseNetworkProfile {
+    NetworkProfile value();
+}
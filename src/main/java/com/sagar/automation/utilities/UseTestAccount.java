@@ -0,0 +1,22 @@
+package com.sagar.automation.utilities;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Gives a data-driven test method the account of its data row (EMAIL, PASSWORD, NAME, ...), managed over the
+ * HTTP API by {@link AccountApi} rather than through the site's pages:
+ * - created once the browser is ready, so the test starts on the home page with an existing account;
+ * - deleted after the test whatever its outcome, unless the test already deleted it.
+ * Use ${uniqueEmail} for the row's EMAIL so parallel and repeated executions never share an account.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface UseTestAccount {
+    /**
+     * @return False if the test creates the account itself (e.g. through the signup page); it is still deleted.
+     */
+    boolean create() default true;
+}
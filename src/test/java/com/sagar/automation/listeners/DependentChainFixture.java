@@ -0,0 +1,22 @@
+package com.sagar.automation.listeners;
+
+import org.testng.annotations.Test;
+
+/**
+ * A dependsOnMethods chain like ApiTests (authenticate &lt;- listProducts &lt;- getProduct), run by
+ * {@link RerunManifestTests} in its own TestNG instance; not part of any suite file.
+ */
+public class DependentChainFixture {
+
+    @Test
+    public void authenticate() {
+    }
+
+    @Test(dependsOnMethods = "authenticate")
+    public void listProducts() {
+    }
+
+    @Test(dependsOnMethods = "listProducts")
+    public void getProduct() {
+    }
+}
@@ -0,0 +1,67 @@
+package com.sagar.automation.listeners;
+
+import org.testng.Assert;
+import org.testng.ITestResult;
+import org.testng.TestListenerAdapter;
+import org.testng.TestNG;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Checks the rerun selection of {@link RerunManifest} without a browser (testng-framework.xml).
+ */
+public class RerunManifestTests {
+
+    @Test(description = "A rerun of a failed dependent test also runs the passed prerequisites it depends on")
+    public void rerunIncludesPrerequisitesOfFailedDependent() throws IOException {
+        XmlSuite suite = new XmlSuite();
+        suite.setName("RerunFixtureSuite");
+        XmlTest xmlTest = new XmlTest(suite);
+        xmlTest.setName("APITests");
+        xmlTest.setXmlClasses(new ArrayList<>(Collections.singletonList(new XmlClass(DependentChainFixture.class.getName()))));
+
+        // The manifest lists only the failed leaf; 'authenticate' and 'listProducts' passed
+        Map<String, Map<String, Set<String>>> selection = new LinkedHashMap<>();
+        selection.computeIfAbsent("APITests", k -> new LinkedHashMap<>())
+                .put(DependentChainFixture.class.getName(), new LinkedHashSet<>(Collections.singletonList("getProduct")));
+        RerunManifest.select(suite, selection, "");
+
+        Set<String> included = new TreeSet<>();
+        for (XmlInclude include : xmlTest.getXmlClasses().get(0).getIncludedMethods()) {
+            included.add(include.getName());
+        }
+        Assert.assertEquals(included, new TreeSet<>(Arrays.asList("authenticate", "getProduct", "listProducts")),
+                "Rerun must include the transitive dependsOnMethods prerequisites");
+
+        // TestNG accepts the narrowed suite (no "depending on method ... not included") and runs the chain
+        TestNG testng = new TestNG(false);
+        testng.setXmlSuites(new ArrayList<>(Collections.singletonList(suite)));
+        testng.setOutputDirectory(Files.createTempDirectory("rerun-manifest-tests").toString());
+        testng.setVerbose(0);
+        TestListenerAdapter results = new TestListenerAdapter();
+        testng.addListener(results);
+        testng.run();
+
+        List<String> passed = new ArrayList<>();
+        for (ITestResult result : results.getPassedTests()) {
+            passed.add(result.getMethod().getMethodName());
+        }
+        Assert.assertEquals(testng.getStatus(), 0, "Rerun of the narrowed suite failed");
+        Assert.assertEquals(new TreeSet<>(passed), included);
+    }
+}
@@ -26,7 +26,7 @@ public class ContactUsTests extends BaseTest {
         log.info("Starting ContactUsFormSubmissionTest");
         logAndCapture(Status.INFO, "Test execution started for Contact Us form submission", "ContactUs_Test_Start");
 
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         Assert.assertTrue(homePage.isHomePageDisplayed(), "Home Page is not displayed");
         logAndCapture(Status.INFO, "Home Page verified successfully", "HomePage_Verified");
 
@@ -34,7 +34,7 @@ public class ContactUsTests extends BaseTest {
         homePage.getHeader().clickContactUsLink();
         logAndCapture(Status.INFO, "Clicked Contact Us link", "ContactUs_Link_Clicked");
 
-        ContactUsPage contactUsPage = new ContactUsPage(driver);
+        ContactUsPage contactUsPage = new ContactUsPage(getDriver());
         Assert.assertTrue(contactUsPage.isContactUsPageDisplayed(), "Contact Us page is not displayed");
         logAndCapture(Status.INFO, "Contact Us page displayed successfully", "ContactUs_Page_Displayed");
 
@@ -66,10 +66,10 @@ public class ContactUsTests extends BaseTest {
         log.info("Starting ContactUsFormValidationTest");
         logAndCapture(Status.INFO, "Test execution started for Contact Us form validation", "ContactUsValidation_Test_Start");
 
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         homePage.getHeader().clickContactUsLink();
 
-        ContactUsPage contactUsPage = new ContactUsPage(driver);
+        ContactUsPage contactUsPage = new ContactUsPage(getDriver());
         Assert.assertTrue(contactUsPage.isContactUsPageDisplayed(), "Contact Us page is not displayed");
 
         // Try to submit empty form
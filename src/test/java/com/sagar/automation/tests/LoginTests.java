@@ -4,6 +4,7 @@ import com.sagar.automation.base.BaseTest;
 import com.sagar.automation.pages.HomePage;
 import com.sagar.automation.pages.LoginPage;
 import com.sagar.automation.utilities.ExcelReader; // ExcelReader is still used by the DataProvider
+import com.sagar.automation.utilities.UseTestAccount;
 import org.testng.Assert;
 import org.testng.annotations.DataProvider; // Still needed for @DataProvider annotation
 import org.testng.annotations.Test;
@@ -21,6 +22,8 @@ public class LoginTests extends BaseTest {
 
 
     // The @Test method now refers to the generic DataProvider in BaseTest
+    // The account to log in with is created (and deleted) over the API; only the login goes through the UI
+    @UseTestAccount
     @Test(dataProvider = "testDataFromExcel", dataProviderClass = BaseTest.class, description = "Verify user can login with valid email and password")
     public void LoginWithValidUsernameAndPassword(Map<String, String> testData) { // TestNG will pass a Map for each data set
         // Extract data from the map using the parameter names defined in your Excel schema row
@@ -32,7 +35,7 @@ public class LoginTests extends BaseTest {
         logAndCapture(Status.INFO, "Test execution started for valid login scenario with data: " + testData, "Test_Start");
 
         // 1. Initialize HomePage by passing the WebDriver instance from BaseTest
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         Assert.assertTrue(homePage.isHomePageDisplayed(), "Home Page is not displayed before login attempt!");
         log.info("Home Page verified as displayed.");
         logAndCapture(Status.INFO, "Home Page is displayed successfully.", "HomePage_Displayed");
@@ -43,7 +46,7 @@ public class LoginTests extends BaseTest {
         logAndCapture(Status.INFO, "Clicked 'Signup / Login' link and navigated to Login/Signup Page.", "Navigated_to_LoginSignup_Page");
 
         // 3. Initialize LoginPage by passing the WebDriver instance
-        LoginPage loginPage = new LoginPage(driver);
+        LoginPage loginPage = new LoginPage(getDriver());
         Assert.assertTrue(loginPage.isLoginPageDisplayed(), "Login Page is not displayed!");
         log.info("Login Page verified as displayed.");
         logAndCapture(Status.INFO, "Login Page is displayed successfully.", "LoginPage_Displayed");
@@ -93,7 +96,7 @@ public class LoginTests extends BaseTest {
         logAndCapture(Status.INFO, "Test execution started for valid login scenario with data: " + testData, "Test_Start");
 
         //Initialize HomePage by passing the WebDriver instance from BaseTest
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         Assert.assertTrue(homePage.isHomePageDisplayed(), "Home Page is not displayed before login attempt!");
         log.info("Home Page verifies as displayed.");
         logAndCapture(Status.INFO, "Home Page is displayed successfully.", "HomePage_Displayed");
@@ -104,7 +107,7 @@ public class LoginTests extends BaseTest {
         logAndCapture(Status.INFO, "Clicked 'Signup / Login' link and navigated to Login/Signup Page.", "Navigated_to_LoginSignup_Page");
 
         //Initialize LoginPage by passing the WebDriver instance
-        LoginPage loginPage = new LoginPage(driver);
+        LoginPage loginPage = new LoginPage(getDriver());
         Assert.assertTrue(loginPage.isLoginPageDisplayed(), "Login Page is not displayed!");
         log.info("Login Page verified as displayed.");
         logAndCapture(Status.INFO, "Login Page is displayed successfully.", "LoginPage_Displayed");
@@ -19,7 +19,7 @@ public class NavigationTests extends BaseTest {
         log.info("Starting HeaderNavigationTest");
         logAndCapture(Status.INFO, "Test execution started for header navigation verification", "Navigation_Test_Start");
 
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         Assert.assertTrue(homePage.isHomePageDisplayed(), "Home Page is not displayed");
         logAndCapture(Status.INFO, "Home Page verified successfully", "HomePage_Initial_Verified");
 
@@ -30,7 +30,7 @@ public class NavigationTests extends BaseTest {
 
         // Test Products link
         homePage.getHeader().clickProductsLink();
-        Assert.assertTrue(driver.getCurrentUrl().contains("/products"), "Products link navigation failed");
+        Assert.assertTrue(getDriver().getCurrentUrl().contains("/products"), "Products link navigation failed");
         logAndCapture(Status.PASS, "Products link navigation verified", "Products_Link_Verified");
 
         // Navigate back to home
@@ -38,7 +38,7 @@ public class NavigationTests extends BaseTest {
 
         // Test Cart link
         homePage.getHeader().clickCartLink();
-        Assert.assertTrue(driver.getCurrentUrl().contains("/view_cart"), "Cart link navigation failed");
+        Assert.assertTrue(getDriver().getCurrentUrl().contains("/view_cart"), "Cart link navigation failed");
         logAndCapture(Status.PASS, "Cart link navigation verified", "Cart_Link_Verified");
 
         // Navigate back to home
@@ -46,7 +46,7 @@ public class NavigationTests extends BaseTest {
 
         // Test Login/Signup link
         homePage.getHeader().clickLoginSignupLink();
-        Assert.assertTrue(driver.getCurrentUrl().contains("/login"), "Login/Signup link navigation failed");
+        Assert.assertTrue(getDriver().getCurrentUrl().contains("/login"), "Login/Signup link navigation failed");
         logAndCapture(Status.PASS, "Login/Signup link navigation verified", "LoginSignup_Link_Verified");
 
         // Navigate back to home
@@ -54,7 +54,7 @@ public class NavigationTests extends BaseTest {
 
         // Test Contact Us link
         homePage.getHeader().clickContactUsLink();
-        Assert.assertTrue(driver.getCurrentUrl().contains("/contact_us"), "Contact Us link navigation failed");
+        Assert.assertTrue(getDriver().getCurrentUrl().contains("/contact_us"), "Contact Us link navigation failed");
         logAndCapture(Status.PASS, "Contact Us link navigation verified", "ContactUs_Link_Verified");
 
         log.info("HeaderNavigationTest completed successfully");
@@ -65,34 +65,34 @@ public class NavigationTests extends BaseTest {
         log.info("Starting BrowserNavigationTest");
         logAndCapture(Status.INFO, "Test execution started for browser navigation", "BrowserNav_Test_Start");
 
-        HomePage homePage = new HomePage(driver);
-        String homeUrl = driver.getCurrentUrl();
+        HomePage homePage = new HomePage(getDriver());
+        String homeUrl = getDriver().getCurrentUrl();
 
         // Navigate to products
         homePage.getHeader().clickProductsLink();
-        String productsUrl = driver.getCurrentUrl();
+        String productsUrl = getDriver().getCurrentUrl();
         Assert.assertTrue(productsUrl.contains("/products"), "Products page navigation failed");
         logAndCapture(Status.INFO, "Navigated to Products page", "Products_Page_Navigated");
 
         // Navigate to login
         homePage.getHeader().clickLoginSignupLink();
-        String loginUrl = driver.getCurrentUrl();
+        String loginUrl = getDriver().getCurrentUrl();
         Assert.assertTrue(loginUrl.contains("/login"), "Login page navigation failed");
         logAndCapture(Status.INFO, "Navigated to Login page", "Login_Page_Navigated");
 
         // Test browser back navigation
-        driver.navigate().back();
-        Assert.assertEquals(driver.getCurrentUrl(), productsUrl, "Browser back navigation failed");
+        getDriver().navigate().back();
+        Assert.assertEquals(getDriver().getCurrentUrl(), productsUrl, "Browser back navigation failed");
         logAndCapture(Status.PASS, "Browser back navigation verified", "Browser_Back_Verified");
 
         // Test browser forward navigation
-        driver.navigate().forward();
-        Assert.assertEquals(driver.getCurrentUrl(), loginUrl, "Browser forward navigation failed");
+        getDriver().navigate().forward();
+        Assert.assertEquals(getDriver().getCurrentUrl(), loginUrl, "Browser forward navigation failed");
         logAndCapture(Status.PASS, "Browser forward navigation verified", "Browser_Forward_Verified");
 
         // Test browser refresh
-        driver.navigate().refresh();
-        Assert.assertTrue(driver.getCurrentUrl().contains("/login"), "Browser refresh failed");
+        getDriver().navigate().refresh();
+        Assert.assertTrue(getDriver().getCurrentUrl().contains("/login"), "Browser refresh failed");
         logAndCapture(Status.PASS, "Browser refresh navigation verified", "Browser_Refresh_Verified");
 
         log.info("BrowserNavigationTest completed successfully");
@@ -3,6 +3,10 @@ package com.sagar.automation.tests;
 import com.sagar.automation.base.BaseTest;
 import com.sagar.automation.pages.HomePage;
 import com.sagar.automation.pages.LoginPage;
+import com.sagar.automation.utilities.NetworkProfile;
+import com.sagar.automation.utilities.PagePerformance;
+import com.sagar.automation.utilities.UseNetworkProfile;
+import com.sagar.automation.utilities.UseTestAccount;
 import com.aventstack.extentreports.Status;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -24,10 +28,10 @@ public class NegativeTests extends BaseTest {
         log.info("Starting SQL Injection Login Test");
         logAndCapture(Status.INFO, "Test execution started for SQL injection attempt", "SqlInjection_Test_Start");
 
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         homePage.getHeader().clickLoginSignupLink();
 
-        LoginPage loginPage = new LoginPage(driver);
+        LoginPage loginPage = new LoginPage(getDriver());
         loginPage.login(maliciousEmail, maliciousPassword);
         logAndCapture(Status.INFO, "Attempted login with malicious input", "Malicious_Login_Attempted");
 
@@ -41,6 +45,8 @@ public class NegativeTests extends BaseTest {
         log.info("SQL Injection Login Test completed successfully");
     }
 
+    // The existing account is created over the API; only the signup attempt goes through the UI
+    @UseTestAccount
     @Test(dataProvider = "testDataFromExcel", dataProviderClass = BaseTest.class,
           description = "Verify registration with duplicate email")
     public void DuplicateEmailRegistrationTest(Map<String, String> testData) {
@@ -51,18 +57,18 @@ public class NegativeTests extends BaseTest {
         log.info("Starting Duplicate Email Registration Test");
         logAndCapture(Status.INFO, "Test execution started for duplicate email registration", "DuplicateEmail_Test_Start");
 
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         homePage.getHeader().clickLoginSignupLink();
 
-        LoginPage loginPage = new LoginPage(driver);
+        LoginPage loginPage = new LoginPage(getDriver());
         loginPage.enterSignupName(name);
         loginPage.enterSignupEmail(existingEmail);
         loginPage.clickSignupButton();
         logAndCapture(Status.INFO, "Attempted signup with existing email", "DuplicateEmail_Signup_Attempted");
 
         // Verify appropriate error handling
-        // This depends on the actual implementation - adjust based on actual behavior
         Assert.assertTrue(loginPage.isLoginPageDisplayed(), "Should remain on login page for duplicate email");
+        Assert.assertEquals(loginPage.getSignupErrorMessage(), expectedErrorMessage, "Duplicate email error message mismatch!");
         logAndCapture(Status.PASS, "Duplicate email registration properly handled", "DuplicateEmail_Handled");
 
         log.info("Duplicate Email Registration Test completed successfully");
@@ -77,16 +83,16 @@ public class NegativeTests extends BaseTest {
         log.info("Starting XSS Attack Test");
         logAndCapture(Status.INFO, "Test execution started for XSS attack attempt", "XSS_Test_Start");
 
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         homePage.getHeader().clickLoginSignupLink();
 
-        LoginPage loginPage = new LoginPage(driver);
+        LoginPage loginPage = new LoginPage(getDriver());
         loginPage.enterSignupName(xssScript);
         loginPage.enterSignupEmail("test@example.com");
         logAndCapture(Status.INFO, "Entered XSS script in form fields", "XSS_Script_Entered");
 
         // Verify that XSS script is properly sanitized
-        String enteredName = driver.findElement(org.openqa.selenium.By.xpath("//input[@data-qa='signup-name']")).getAttribute("value");
+        String enteredName = getDriver().findElement(org.openqa.selenium.By.xpath("//input[@data-qa='signup-name']")).getAttribute("value");
         Assert.assertFalse(enteredName.contains("<script>"), "XSS script should be sanitized");
         logAndCapture(Status.PASS, "XSS attack properly handled", "XSS_Handled");
 
@@ -100,7 +106,7 @@ public class NegativeTests extends BaseTest {
 
         // This test would require special browser setup to disable JavaScript
         // For now, we'll verify that critical functionality still works
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         Assert.assertTrue(homePage.isHomePageDisplayed(), "Home page should be accessible without JavaScript");
         logAndCapture(Status.PASS, "Application accessible with basic functionality", "DisabledJS_Verified");
 
@@ -108,21 +114,23 @@ public class NegativeTests extends BaseTest {
     }
 
     @Test(description = "Verify application behavior with slow network conditions")
+    @UseNetworkProfile(NetworkProfile.SLOW_4G)
     public void SlowNetworkTest() {
         log.info("Starting Slow Network Test");
         logAndCapture(Status.INFO, "Test execution started for slow network simulation", "SlowNetwork_Test_Start");
 
-        // Simulate slow loading by adding explicit waits
-        HomePage homePage = new HomePage(driver);
+        // BaseTest applies the SLOW_4G profile after setup (Chromium only; other browsers run unthrottled)
+        HomePage homePage = new HomePage(getDriver());
         
-        // Test that page loads within reasonable time even with delays
-        long startTime = System.currentTimeMillis();
+        // Test that page loads within reasonable time even with delays, measured by the browser (Navigation Timing)
         homePage.getHeader().clickProductsLink();
-        long endTime = System.currentTimeMillis();
+        PagePerformance.Sample pageLoad = PagePerformance.getLastSample();
+        Assert.assertNotNull(pageLoad, "Browser should report Navigation Timing for the Products page");
         
-        long loadTime = endTime - startTime;
-        Assert.assertTrue(loadTime < 30000, "Page should load within 30 seconds even with slow network");
-        logAndCapture(Status.PASS, "Application handles slow network conditions. Load time: " + loadTime + "ms", "SlowNetwork_Handled");
+        long loadTime = pageLoad.loadMillis;
+        Assert.assertTrue(loadTime >= 0 && loadTime < 30000, "Page should load within 30 seconds even with slow network");
+        logAndCapture(Status.PASS, "Application handles slow network conditions (" + pageLoad.networkProfile + "). Load time: "
+                + loadTime + "ms (TTFB " + pageLoad.ttfbMillis + " ms, LCP " + pageLoad.lcpMillis + " ms)", "SlowNetwork_Handled");
 
         log.info("Slow Network Test completed successfully");
     }
@@ -0,0 +1,126 @@
+package com.sagar.automation.tests;
+
+import com.sagar.automation.base.BaseTest;
+import com.sagar.automation.utilities.NetworkProfile;
+import com.sagar.automation.utilities.NetworkThrottling;
+import com.sagar.automation.utilities.PagePerformance;
+import com.sagar.automation.utilities.UseNetworkProfile;
+import com.aventstack.extentreports.Status;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Verifies the network profiles against a page served from this JVM, so the expected
+ * timings depend only on the emulated conditions and not on the public site.
+ */
+public class NetworkThrottlingTests extends BaseTest {
+    private static final Logger log = LogManager.getLogger(NetworkThrottlingTests.class.getName());
+
+    private static final int STYLESHEET_BYTES = 150 * 1024; // Blocks the load event until fully downloaded
+
+    private HttpServer server;
+    private String localPageUrl;
+
+    @BeforeClass
+    public void startLocalServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/throttled", exchange -> respond(exchange, "text/html",
+                "<html><head><link rel='stylesheet' href='/throttled/style.css'></head>"
+                        + "<body><h1>Network profile check</h1></body></html>"));
+        server.createContext("/throttled/style.css", exchange -> {
+            char[] comment = new char[STYLESHEET_BYTES - 4];
+            Arrays.fill(comment, 'x');
+            respond(exchange, "text/css", "/*" + new String(comment) + "*/");
+        });
+        server.start();
+        localPageUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/throttled";
+        log.info("Local page for network profile checks served at: {}", localPageUrl);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopLocalServer() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test(description = "Verify the local page loads fast without a network profile")
+    public void UnthrottledLocalPageTest() {
+        PagePerformance.Sample pageLoad = loadLocalPage();
+
+        Assert.assertEquals(pageLoad.networkProfile, NetworkProfile.NONE, "No network profile should be in effect");
+        Assert.assertTrue(pageLoad.loadMillis < minimumLoadMillis(NetworkProfile.SLOW_3G),
+                "Unthrottled local page should load faster than the SLOW_3G minimum");
+        logAndCapture(Status.PASS, "Unthrottled local page load: " + pageLoad, "Unthrottled_Local_Page");
+    }
+
+    @Test(description = "Verify the HIGH_LATENCY profile delays the first byte")
+    @UseNetworkProfile(NetworkProfile.HIGH_LATENCY)
+    public void HighLatencyProfileTest() {
+        skipUnlessApplied(NetworkProfile.HIGH_LATENCY);
+        PagePerformance.Sample pageLoad = loadLocalPage();
+
+        Assert.assertEquals(pageLoad.networkProfile, NetworkProfile.HIGH_LATENCY);
+        Assert.assertTrue(pageLoad.ttfbMillis >= NetworkProfile.HIGH_LATENCY.getLatencyMillis() * 9 / 10,
+                "TTFB should include the emulated latency, was " + pageLoad.ttfbMillis + " ms");
+        logAndCapture(Status.PASS, "HIGH_LATENCY local page load: " + pageLoad, "HighLatency_Local_Page");
+    }
+
+    @Test(description = "Verify the SLOW_3G profile limits download bandwidth")
+    @UseNetworkProfile(NetworkProfile.SLOW_3G)
+    public void Slow3gProfileTest() {
+        skipUnlessApplied(NetworkProfile.SLOW_3G);
+        PagePerformance.Sample pageLoad = loadLocalPage();
+
+        Assert.assertEquals(pageLoad.networkProfile, NetworkProfile.SLOW_3G);
+        Assert.assertTrue(pageLoad.loadMillis >= minimumLoadMillis(NetworkProfile.SLOW_3G),
+                "Load time should reflect the SLOW_3G bandwidth, was " + pageLoad.loadMillis + " ms");
+        logAndCapture(Status.PASS, "SLOW_3G local page load: " + pageLoad, "Slow3g_Local_Page");
+    }
+
+    private PagePerformance.Sample loadLocalPage() {
+        getDriver().get(localPageUrl);
+        PagePerformance.Sample pageLoad = PagePerformance.capture(getDriver());
+        Assert.assertNotNull(pageLoad, "Browser should report Navigation Timing for the local page");
+        log.info("Local page load: {}", pageLoad);
+        return pageLoad;
+    }
+
+    private void skipUnlessApplied(NetworkProfile profile) {
+        if (NetworkThrottling.current() != profile) {
+            throw new SkipException("Network profile " + profile + " could not be applied on this browser");
+        }
+    }
+
+    /**
+     * Lower bound for loading the stylesheet under a profile: one round trip plus the transfer at the emulated bandwidth,
+     * with 20% slack for how the browser schedules the throttled bytes.
+     */
+    private static long minimumLoadMillis(NetworkProfile profile) {
+        return (profile.getLatencyMillis() + STYLESHEET_BYTES * 1000L / profile.getDownloadBytesPerSecond()) * 8 / 10;
+    }
+
+    private static void respond(HttpExchange exchange, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -24,7 +24,7 @@ public class ProductTests extends BaseTest {
         log.info("Starting ViewAllProductsTest");
         logAndCapture(Status.INFO, "Test execution started for viewing all products", "ViewProducts_Test_Start");
 
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         Assert.assertTrue(homePage.isHomePageDisplayed(), "Home Page is not displayed");
         logAndCapture(Status.INFO, "Home Page verified successfully", "HomePage_Verified");
 
@@ -32,7 +32,7 @@ public class ProductTests extends BaseTest {
         homePage.getHeader().clickProductsLink();
         logAndCapture(Status.INFO, "Clicked Products link", "Products_Link_Clicked");
 
-        ProductsPage productsPage = new ProductsPage(driver);
+        ProductsPage productsPage = new ProductsPage(getDriver());
         Assert.assertTrue(productsPage.isProductsPageDisplayed(), "Products page is not displayed");
         Assert.assertEquals(productsPage.getPageTitle(), expectedProductsPageTitle, "Products page title mismatch");
         logAndCapture(Status.PASS, "Products page displayed with correct title", "Products_Page_Verified");
@@ -55,10 +55,10 @@ public class ProductTests extends BaseTest {
         log.info("Starting SearchProductTest with keyword: " + searchKeyword);
         logAndCapture(Status.INFO, "Test execution started for product search", "SearchProduct_Test_Start");
 
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         homePage.getHeader().clickProductsLink();
         
-        ProductsPage productsPage = new ProductsPage(driver);
+        ProductsPage productsPage = new ProductsPage(getDriver());
         productsPage.searchProduct(searchKeyword);
         logAndCapture(Status.INFO, "Searched for product: " + searchKeyword, "Product_Search_Performed");
 
@@ -82,14 +82,14 @@ public class ProductTests extends BaseTest {
         log.info("Starting AddProductToCartTest");
         logAndCapture(Status.INFO, "Test execution started for adding product to cart", "AddToCart_Test_Start");
 
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         homePage.getHeader().clickProductsLink();
 
-        ProductsPage productsPage = new ProductsPage(driver);
+        ProductsPage productsPage = new ProductsPage(getDriver());
         productsPage.clickViewProduct(Integer.parseInt(productIndex));
         logAndCapture(Status.INFO, "Clicked on product " + productIndex, "Product_Clicked");
 
-        ProductDetailPage productDetailPage = new ProductDetailPage(driver);
+        ProductDetailPage productDetailPage = new ProductDetailPage(getDriver());
         Assert.assertTrue(productDetailPage.isProductDetailDisplayed(), "Product detail page is not displayed");
         
         String productName = productDetailPage.getProductName();
@@ -102,7 +102,7 @@ public class ProductTests extends BaseTest {
 
         productDetailPage.clickViewCart();
         
-        CartPage cartPage = new CartPage(driver);
+        CartPage cartPage = new CartPage(getDriver());
         Assert.assertTrue(cartPage.isCartPageDisplayed(), "Cart page is not displayed");
         Assert.assertTrue(cartPage.isProductInCart(productName), "Product is not found in cart");
         Assert.assertEquals(cartPage.getProductQuantity(productName), expectedQuantity, "Product quantity mismatch in cart");
@@ -6,6 +6,8 @@ import com.sagar.automation.pages.AccountDeletedPage;
 import com.sagar.automation.pages.HomePage;
 import com.sagar.automation.pages.LoginPage; // The page where signup form is
 import com.sagar.automation.pages.SignupPage; // The page for account information
+import com.sagar.automation.utilities.AccountApi;
+import com.sagar.automation.utilities.UseTestAccount;
 import org.openqa.selenium.By;
 import org.testng.Assert;
 import org.testng.annotations.Test; // Import TestNG annotations
@@ -19,7 +21,9 @@ public class RegisterUserTests extends BaseTest {
     private static final Logger log = LogManager.getLogger(RegisterUserTests.class.getName());
 
     // This test method will get its data from the generic DataProvider in BaseTest
-    @Test(dataProvider = "testDataFromExcel", dataProviderClass = BaseTest.class, description = "Verify User Registration and Account Deletion")
+    // Registration is the flow under test; the account it creates is checked and deleted over the API
+    @UseTestAccount(create = false)
+    @Test(dataProvider = "testDataFromExcel", dataProviderClass = BaseTest.class, description = "Verify User Registration")
     public void RegisterUserTest(Map<String, String> testData) {
         // Extract data from the map using the parameter names defined in your Excel schema
         String name = testData.get("NAME");
@@ -41,14 +45,13 @@ public class RegisterUserTests extends BaseTest {
         String mobileNumber = testData.get("MOBILE_NUMBER");
         String expectedLoggedInUsername = testData.get("ExpectedLoggedInUsername"); // e.g., the 'name' used for signup
         String expectedAccountCreatedMsg = testData.get("ExpectedAccountCreatedMsg"); // e.g., "ACCOUNT CREATED!"
-        String expectedAccountDeletedMsg = testData.get("ExpectedAccountDeletedMsg"); // e.g., "ACCOUNT DELETED!"
 
         log.info("Starting test: RegisterUserTest with data set for user: " + name + " (" + email + ")");
-        logAndCapture(Status.INFO, "Test execution started for user registration and deletion.", "RegisterUser_Test_Start");
+        logAndCapture(Status.INFO, "Test execution started for user registration.", "RegisterUser_Test_Start");
 
         // 1. Launch browser and Navigate to url 'http://automationexercise.com' (Handled by BaseTest @BeforeMethod)
         // 2. Verify that home page is visible successfully
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         Assert.assertTrue(homePage.isHomePageDisplayed(), "Home Page is not visible successfully.");
         log.info("Home Page is visible successfully.");
         logAndCapture(Status.INFO, "Home Page is visible successfully.", "HomePage_Visible");
@@ -59,7 +62,7 @@ public class RegisterUserTests extends BaseTest {
         logAndCapture(Status.INFO, "Clicked 'Signup / Login' button.", "Clicked_Signup_Login");
 
         // 4. Verify 'New User Signup!' is visible (This is on LoginPage)
-        LoginPage loginPage = new LoginPage(driver);
+        LoginPage loginPage = new LoginPage(getDriver());
         Assert.assertTrue(loginPage.isSignupFormDisplayed(), "New User Signup! section is not visible.");
         log.info("'New User Signup!' is visible.");
         logAndCapture(Status.INFO, "'New User Signup!' section is visible.", "NewUserSignup_Visible");
@@ -76,7 +79,7 @@ public class RegisterUserTests extends BaseTest {
         logAndCapture(Status.INFO, "Clicked 'Signup' button.", "Clicked_Signup_Button");
 
         // 7. Verify that 'ENTER ACCOUNT INFORMATION' is visible
-        SignupPage signupPage = new SignupPage(driver);
+        SignupPage signupPage = new SignupPage(getDriver());
         Assert.assertTrue(signupPage.isEnterAccountInformationHeaderVisible(), "ENTER ACCOUNT INFORMATION header is not visible.");
         log.info("'ENTER ACCOUNT INFORMATION' is visible.");
         logAndCapture(Status.INFO, "'ENTER ACCOUNT INFORMATION' page is visible.", "EnterAccountInfo_Visible");
@@ -109,7 +112,7 @@ public class RegisterUserTests extends BaseTest {
         logAndCapture(Status.INFO, "Clicked 'Create Account' button.", "CreateAccount_Clicked");
 
         // 13. Verify that 'ACCOUNT CREATED!' is visible
-        AccountCreatedPage accountCreatedPage = new AccountCreatedPage(driver);
+        AccountCreatedPage accountCreatedPage = new AccountCreatedPage(getDriver());
         Assert.assertTrue(accountCreatedPage.isAccountCreatedHeaderVisible(), "ACCOUNT CREATED! header is not visible.");
         Assert.assertEquals(accountCreatedPage.getElementText(By.cssSelector("h2.title.text-center b")), expectedAccountCreatedMsg, "Account Created message mismatch!");
         log.info("'ACCOUNT CREATED!' is visible.");
@@ -129,13 +132,40 @@ public class RegisterUserTests extends BaseTest {
         log.info("'Logged in as username' is visible: " + actualLoggedInUsername);
         logAndCapture(Status.PASS, "User successfully registered and logged in as: " + actualLoggedInUsername, "LoggedIn_As_User");
 
-        // 16. Click 'Delete Account' button (assuming it's in the header)
-        homePage.getHeader().clickElement(By.cssSelector("a[href='/delete_account']")); // Assuming locator for delete account link
+        // 16. Verify that the account exists on the server (deleted over the API after the test)
+        Assert.assertTrue(AccountApi.verifyLogin(email, password), "Registered account cannot log in: " + email);
+        log.info("Registered account verified over the API.");
+        logAndCapture(Status.PASS, "Registered account verified over the API: " + email, "Account_Verified_Over_Api");
+
+        log.info("Test 'RegisterUserTest' completed successfully.");
+    }
+
+    // The account is created over the API; logging in and deleting it are the flow under test
+    @UseTestAccount
+    @Test(dataProvider = "testDataFromExcel", dataProviderClass = BaseTest.class, description = "Verify Account Deletion")
+    public void DeleteAccountTest(Map<String, String> testData) {
+        String email = testData.get("EMAIL");
+        String password = testData.get("PASSWORD");
+        String expectedAccountDeletedMsg = testData.get("ExpectedAccountDeletedMsg"); // e.g., "ACCOUNT DELETED!"
+
+        log.info("Starting test: DeleteAccountTest for user: {}", email);
+        logAndCapture(Status.INFO, "Test execution started for account deletion.", "DeleteAccount_Test_Start");
+
+        // 1. Log in with the account created over the API
+        HomePage homePage = new HomePage(getDriver());
+        homePage.getHeader().clickLoginSignupLink();
+        LoginPage loginPage = new LoginPage(getDriver());
+        loginPage.login(email, password);
+        Assert.assertTrue(homePage.getHeader().isLoggedInUsernameDisplayed(), "User is not logged in with the test account!");
+        logAndCapture(Status.INFO, "Logged in with the test account.", "Logged_In_Test_Account");
+
+        // 2. Click 'Delete Account' button
+        homePage.getHeader().clickElement(By.cssSelector("a[href='/delete_account']"));
         log.info("Clicked 'Delete Account' button.");
         logAndCapture(Status.INFO, "Clicked 'Delete Account' button.", "DeleteAccount_Clicked");
 
-        // 17. Verify that 'ACCOUNT DELETED!' is visible and click 'Continue' button
-        AccountDeletedPage accountDeletedPage = new AccountDeletedPage(driver);
+        // 3. Verify that 'ACCOUNT DELETED!' is visible and click 'Continue' button
+        AccountDeletedPage accountDeletedPage = new AccountDeletedPage(getDriver());
         Assert.assertTrue(accountDeletedPage.isAccountDeletedHeaderVisible(), "ACCOUNT DELETED! header is not visible.");
         Assert.assertEquals(accountDeletedPage.getElementText(By.cssSelector("h2.title.text-center b")), expectedAccountDeletedMsg, "Account Deleted message mismatch!");
         log.info("'ACCOUNT DELETED!' is visible.");
@@ -143,13 +173,12 @@ public class RegisterUserTests extends BaseTest {
 
         accountDeletedPage.clickContinueButton();
         log.info("Clicked 'Continue' button on Account Deleted page.");
-        logAndCapture(Status.INFO, "Clicked 'Continue' button on Account Deleted page.", "AccountDeleted_Continue_Clicked");
 
-        // Final verification: User should be logged out (e.g., Signup/Login link visible)
+        // 4. The user is logged out and the account is gone from the server
         Assert.assertTrue(homePage.getHeader().isLoginSignupLinkDisplayed(), "Login/Signup link should be visible after account deletion!");
-        log.info("User is logged out after account deletion.");
-        logAndCapture(Status.PASS, "Account deletion verified. User is logged out.", "User_Logged_Out");
+        Assert.assertFalse(AccountApi.verifyLogin(email, password), "Deleted account can still log in: " + email);
+        logAndCapture(Status.PASS, "Account deletion verified. User is logged out and the account no longer exists.", "Account_Deleted_Verified");
 
-        log.info("Test 'RegisterUserTest' completed successfully.");
+        log.info("Test 'DeleteAccountTest' completed successfully.");
     }
 }
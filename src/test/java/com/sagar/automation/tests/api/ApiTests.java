@@ -1,27 +1,66 @@
 package com.sagar.automation.tests.api;
 
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
 import com.sagar.automation.base.BaseTest;
+import com.sagar.automation.utilities.ApiLatencyFilter;
 import com.sagar.automation.utilities.ConfigReader;
-import io.restassured.RestAssured;
+import com.sagar.automation.utilities.ContractValidationFilter;
+import com.sagar.automation.utilities.ContractValidator;
+import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.testng.Assert;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.util.Map;
+
 import static io.restassured.RestAssured.*;
+import static org.apache.logging.log4j.util.Unbox.box;
 import static org.hamcrest.Matchers.*;
 
 public class ApiTests extends BaseTest {
     private static final Logger log = LogManager.getLogger(ApiTests.class.getName());
     private String authToken;
+    // Base URI and filters of this class only: REST Assured's static defaults are shared by every thread and class
+    private RequestSpecification apiSpec;
 
     @BeforeClass
     public void setupApi() {
         ConfigReader.initializeProperties();
-        RestAssured.baseURI = ConfigReader.getProperty("url.dummyJson");
-        log.info("API base URI set to: " + RestAssured.baseURI);
+        // Compile the endpoint contracts once and validate every response of these tests
+        ContractValidator.initializeContracts();
+        // Latency filter goes last so that it times only the HTTP round trip, not the contract check
+        apiSpec = new RequestSpecBuilder()
+                .setBaseUri(ConfigReader.getProperty("url.dummyJson"))
+                .addFilter(new ContractValidationFilter())
+                .addFilter(new ApiLatencyFilter())
+                .build();
+        log.info("API base URI set to: {}, with contract validation and latency filters", ConfigReader.getProperty("url.dummyJson"));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void reportContractValidationCost() {
+        Map<String, long[]> stats = ContractValidator.getValidationStats();
+        if (stats.isEmpty() || extent == null) {
+            return;
+        }
+        String[][] table = new String[stats.size() + 1][];
+        table[0] = new String[]{"Endpoint", "Responses", "Avg (us)", "Max (us)"};
+        int row = 1;
+        for (Map.Entry<String, long[]> entry : stats.entrySet()) {
+            long[] s = entry.getValue(); // {count, total nanos, max nanos}
+            table[row++] = new String[]{entry.getKey(), String.valueOf(s[0]),
+                    String.valueOf(s[1] / Math.max(1, s[0]) / 1_000), String.valueOf(s[2] / 1_000)};
+            log.info("Contract validation for '{}': {} responses, avg {} us, max {} us",
+                    entry.getKey(), box(s[0]), box(s[1] / Math.max(1, s[0]) / 1_000), box(s[2] / 1_000));
+        }
+        ExtentTest summary = extent.createTest("API Contract Validation Cost");
+        summary.info(MarkupHelper.createTable(table));
     }
 
     @Test(description = "Verify API authentication and token generation")
@@ -31,7 +70,7 @@ public class ApiTests extends BaseTest {
         String username = ConfigReader.getProperty("api.username");
         String password = ConfigReader.getProperty("api.password");
 
-        Response response = given()
+        Response response = given(apiSpec)
                 .contentType("application/json")
                 .body("{\n" +
                       "  \"username\": \"" + username + "\",\n" +
@@ -46,14 +85,14 @@ public class ApiTests extends BaseTest {
 
         authToken = response.jsonPath().getString("token");
         Assert.assertNotNull(authToken, "Authentication token should not be null");
-        log.info("API Authentication successful. Token received: " + authToken.substring(0, 10) + "...");
+        log.info("API Authentication successful. Token received: {}...", authToken.substring(0, 10));
     }
 
     @Test(dependsOnMethods = "ApiAuthenticationTest", description = "Verify GET all products API")
     public void GetAllProductsApiTest() {
         log.info("Starting Get All Products API Test");
 
-        given()
+        given(apiSpec)
                 .header("Authorization", "Bearer " + authToken)
                 .when()
                 .get("/products")
@@ -74,7 +113,7 @@ public class ApiTests extends BaseTest {
         
         int productId = 1;
 
-        Response response = given()
+        Response response = given(apiSpec)
                 .header("Authorization", "Bearer " + authToken)
                 .when()
                 .get("/products/" + productId)
@@ -92,7 +131,7 @@ public class ApiTests extends BaseTest {
         Assert.assertNotNull(productTitle, "Product title should not be null");
         Assert.assertTrue(productPrice > 0, "Product price should be greater than 0");
         
-        log.info("Get Single Product API test completed successfully. Product: " + productTitle + ", Price: $" + productPrice);
+        log.info("Get Single Product API test completed successfully. Product: {}, Price: ${}", productTitle, productPrice);
     }
 
     @Test(dependsOnMethods = "ApiAuthenticationTest", description = "Verify POST create product API")
@@ -110,7 +149,7 @@ public class ApiTests extends BaseTest {
                 "  \"category\": \"electronics\"\n" +
                 "}";
 
-        Response response = given()
+        Response response = given(apiSpec)
                 .header("Authorization", "Bearer " + authToken)
                 .contentType("application/json")
                 .body(newProductJson)
@@ -126,7 +165,7 @@ public class ApiTests extends BaseTest {
         Integer createdProductId = response.jsonPath().getInt("id");
         Assert.assertNotNull(createdProductId, "Created product ID should not be null");
         
-        log.info("Create Product API test completed successfully. Created product ID: " + createdProductId);
+        log.info("Create Product API test completed successfully. Created product ID: {}", createdProductId);
     }
 
     @Test(dependsOnMethods = "ApiAuthenticationTest", description = "Verify PUT update product API")
@@ -139,7 +178,7 @@ public class ApiTests extends BaseTest {
                 "  \"price\": 199.99\n" +
                 "}";
 
-        given()
+        given(apiSpec)
                 .header("Authorization", "Bearer " + authToken)
                 .contentType("application/json")
                 .body(updatedProductJson)
@@ -160,7 +199,7 @@ public class ApiTests extends BaseTest {
         
         int productId = 1;
 
-        given()
+        given(apiSpec)
                 .header("Authorization", "Bearer " + authToken)
                 .when()
                 .delete("/products/" + productId)
@@ -178,14 +217,14 @@ public class ApiTests extends BaseTest {
         log.info("Starting API Error Handling Test");
 
         // Test 404 for non-existent endpoint
-        given()
+        given(apiSpec)
                 .when()
                 .get("/nonexistent")
                 .then()
                 .statusCode(404);
 
         // Test 404 for non-existent product
-        given()
+        given(apiSpec)
                 .when()
                 .get("/products/99999")
                 .then()
@@ -1,7 +1,31 @@
 package com.sagar.automation.base;
 
+import com.sagar.automation.listeners.DurationScheduler;
+import com.sagar.automation.listeners.RerunManifest;
+import com.sagar.automation.listeners.ShardSelector;
+import com.sagar.automation.listeners.SuiteGate;
+import com.sagar.automation.listeners.SuitePlanner;
+import com.sagar.automation.utilities.AccountApi;
+import com.sagar.automation.utilities.ApiLatencySlo;
+import com.sagar.automation.utilities.CommandTracer;
 import com.sagar.automation.utilities.ConfigReader;
 import com.sagar.automation.utilities.ExcelReader;
+import com.sagar.automation.utilities.FlightRecorderEvents;
+import com.sagar.automation.utilities.LiveDashboard;
+import com.sagar.automation.utilities.NetworkProfile;
+import com.sagar.automation.utilities.NetworkRecorder;
+import com.sagar.automation.utilities.NetworkThrottling;
+import com.sagar.automation.utilities.PagePerformance;
+import com.sagar.automation.utilities.PerformanceBudget;
+import com.sagar.automation.utilities.ReportMerger;
+import com.sagar.automation.utilities.ResultCache;
+import com.sagar.automation.utilities.SuiteMetrics;
+import com.sagar.automation.utilities.TestDataTemplate;
+import com.sagar.automation.utilities.TestLogContext;
+import com.sagar.automation.utilities.ThirdPartyBlocker;
+import com.sagar.automation.utilities.TimeAccounting;
+import com.sagar.automation.utilities.UseNetworkProfile;
+import com.sagar.automation.utilities.UseTestAccount;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
@@ -11,6 +35,10 @@ import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
+import org.testng.IHookCallBack;
+import org.testng.IHookable;
+import org.testng.ISuiteResult;
+import org.testng.ITestContext;
 import org.testng.ITestResult;
 import org.testng.annotations.*;
 
@@ -18,8 +46,10 @@ import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.aventstack.extentreports.reporter.JsonFormatter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
 import com.aventstack.extentreports.MediaEntityBuilder;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
 
 import java.io.File;
 import java.io.IOException;
@@ -30,10 +60,16 @@ import java.nio.file.Paths;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.Map;
 
-public class BaseTest {
-    public static WebDriver driver;
+import static org.apache.logging.log4j.util.Unbox.box;
+
+public class BaseTest implements IHookable {
+    // One browser session per worker: classes and data rows run on parallel threads
+    private static final ThreadLocal<WebDriver> drivers = new ThreadLocal<>();
+    // Account of the running @UseTestAccount test, deleted over the API in tearDown
+    private static final ThreadLocal<Map<String, String>> accounts = new ThreadLocal<>();
     public static Logger log = LogManager.getLogger(BaseTest.class.getName());
 
     public static ExtentReports extent;
@@ -42,7 +78,7 @@ public class BaseTest {
     private boolean takeScreenshotAfterEachStep;
 
     @BeforeSuite
-    public void setupExtentReports() {
+    public void setupExtentReports(ITestContext context) {
         log.info("Setting up ExtentReports...");
         String reportPath = System.getProperty("user.dir") + "/reports/ExtentReport_" +
                 LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".html";
@@ -54,26 +90,31 @@ public class BaseTest {
 
         extent = new ExtentReports();
         extent.attachReporter(sparkReporter);
+        if (ShardSelector.isSharded()) {
+            // Raw report data of this shard, merged with the other shards' by ReportMerger
+            extent.attachReporter(new JsonFormatter(System.getProperty("user.dir") + "/reports/" + ReportMerger.EXTENT_JSON));
+        }
 
         extent.setSystemInfo("Tester", "Sagar Automation Team");
         extent.setSystemInfo("OS", System.getProperty("os.name"));
         extent.setSystemInfo("Java Version", System.getProperty("java.version"));
-        log.info("ExtentReports setup complete. Report will be generated at: " + reportPath);
+        extent.setSystemInfo("Run Id", TestDataTemplate.getRunId()); // ${runId} in test data, e.g. in generated emails
+        log.info("ExtentReports setup complete. Report will be generated at: {}", reportPath);
+
+        // Live OpenMetrics endpoint for the run, only if 'metrics.port' is set
+        SuiteMetrics.startServer();
+        // Live progress over Server-Sent Events, only if 'live.dashboard.enabled' is true
+        LiveDashboard.start(context.getSuite().getAllMethods().size());
     }
 
     @BeforeMethod
-    public void setUp(Method method) {
-        log.info("Starting test setup for: " + method.getName());
-
+    @SuppressWarnings("try") // TimeAccounting spans are try-with-resources that the body never references
+    public void setUp(Method method, Object[] testArgs, ITestContext context) {
+        // Attribute this test's wall time (setup and teardown included) to launch, navigation, waits, actions, ...
+        TimeAccounting.beginTest();
+        FlightRecorderEvents.testStarted();
+        SuiteMetrics.TESTS_STARTED.labels().inc();
         ConfigReader.initializeProperties();
-        this.takeScreenshotAfterEachStep = Boolean.parseBoolean(ConfigReader.getProperty("screenshot.after.each.step", "false"));
-
-        ExtentTest test = extent.createTest(method.getName(), method.getAnnotation(Test.class).description());
-        extentTest.set(test);
-
-        // Moved this block AFTER driver initialization
-        // logAndCapture(Status.INFO, "Test '" + method.getName() + "' started.", "Test_Start"); // <-- OLD POSITION
-
         String browserName = ConfigReader.getProperty("browser");
         String appUrl = ConfigReader.getProperty("url.automationExercise");
 
@@ -83,26 +124,87 @@ public class BaseTest {
             // No screenshot here, as driver might not be initialized yet
         }
 
-        switch (browserName.toLowerCase()) {
-            case "chrome":
-                driver = new ChromeDriver();
-                log.info("Chrome browser launched.");
-                break;
-            case "firefox":
-                driver = new FirefoxDriver();
-                log.info("Firefox driver launched.");
-                break;
-            case "edge":
-                driver = new EdgeDriver();
-                log.info("Edge browser launched.");
-                break;
-            default:
-                log.error("Invalid browser specified in config.properties: " + browserName);
-                extentTest.get().log(Status.FAIL, "Invalid browser specified: " + browserName); // Log to report without screenshot
-                throw new IllegalArgumentException("Invalid browser specified: " + browserName);
+        // Tag every log line of this test (method, data row, browser, worker) and route it to its own file
+        String testId = TestLogContext.begin(method.getName(), testArgs, browserName);
+        log.info("Starting test setup for: {} (test log: {})", TestLogContext.currentTestName(), TestLogContext.getLogFilePath(testId));
+        LiveDashboard.testStarted(testId, TestLogContext.currentTestName());
+
+        // Page budgets are soft by default; the perf suite sets perf.budget.mode=hard on its <test>
+        PerformanceBudget.beginTest(context.getCurrentXmlTest().getParameter("perf.budget.mode"));
+
+        this.takeScreenshotAfterEachStep = Boolean.parseBoolean(ConfigReader.getProperty("screenshot.after.each.step", "false"));
+
+        ExtentTest test = extent.createTest(method.getName(), method.getAnnotation(Test.class).description());
+        // A method selected by several <test>s runs once; list it under each of them
+        for (String selectingTest : SuitePlanner.getSelectingTests(context.getName(), getClass(), method.getName())) {
+            test.assignCategory(selectingTest);
+        }
+        if (ShardSelector.isSharded()) {
+            test.assignCategory(ShardSelector.getShardLabel());
+        }
+        extentTest.set(test);
+
+        // Same test code, page objects, data row and site build as a previous pass: report it without a browser
+        if (ResultCache.beginTest(getClass(), method, testArgs, browserName)) {
+            test.pass("Passed (cached): unchanged since its pass at " + ResultCache.cachedSince()
+                    + " against build " + ConfigReader.getProperty("target.build.id"));
+            log.info("Test setup skipped: result served from the cache");
+            return;
+        }
+
+        // ${uniqueEmail}, ${runId}, ... get fresh values for this execution; listeners keep seeing the raw row
+        if (TestDataTemplate.resolveArguments(testArgs)) {
+            log.info("Test data resolved for this execution: {}", testArgs[0]);
         }
 
-        // --- Driver is now initialized ---
+        // Moved this block AFTER driver initialization
+        // logAndCapture(Status.INFO, "Test '" + method.getName() + "' started.", "Test_Start"); // <-- OLD POSITION
+
+        WebDriver driver;
+        try (TimeAccounting.Span ignored = TimeAccounting.enter(TimeAccounting.Phase.DRIVER)) {
+            long launchStart = System.nanoTime();
+            switch (browserName.toLowerCase()) {
+                case "chrome":
+                    driver = new ChromeDriver();
+                    log.info("Chrome browser launched.");
+                    break;
+                case "firefox":
+                    driver = new FirefoxDriver();
+                    log.info("Firefox driver launched.");
+                    break;
+                case "edge":
+                    driver = new EdgeDriver();
+                    log.info("Edge browser launched.");
+                    break;
+                default:
+                    log.error("Invalid browser specified in config.properties: {}", browserName);
+                    extentTest.get().log(Status.FAIL, "Invalid browser specified: " + browserName); // Log to report without screenshot
+                    throw new IllegalArgumentException("Invalid browser specified: " + browserName);
+            }
+            SuiteMetrics.DRIVER_LAUNCHES.labels(browserName.toLowerCase()).inc();
+            SuiteMetrics.DRIVER_LAUNCH_SECONDS.labels(browserName.toLowerCase()).observe(SuiteMetrics.seconds(System.nanoTime() - launchStart));
+
+            // --- Driver is now initialized ---
+
+            // A failed smoke gate quits this session if its <test> skips on gate failure. It gets the undecorated
+            // driver: quitting from the gate's thread must not run this test's command listeners
+            SuiteGate.sessionStarted(driver, context);
+
+            // Trace every WebDriver command of this test (per-test command profile, suite-wide slowest locators)
+            driver = CommandTracer.decorate(driver);
+            drivers.set(driver);
+
+            // Block ads/analytics/fonts before the first navigation; the perf suite turns this off to measure the real page
+            String blockParameter = context.getCurrentXmlTest().getParameter("thirdparty.block.enabled");
+            boolean blockThirdParty = Boolean.parseBoolean(blockParameter != null ? blockParameter
+                    : ConfigReader.getProperty("thirdparty.block.enabled", "false"));
+            ThirdPartyBlocker.begin(driver, blockThirdParty);
+
+            String captureParameter = context.getCurrentXmlTest().getParameter("network.capture");
+            if (Boolean.parseBoolean(captureParameter != null ? captureParameter : ConfigReader.getProperty("network.capture", "false"))) {
+                NetworkRecorder.begin(driver, testId);
+            }
+        }
 
         // Now it's safe to take screenshots
         logAndCapture(Status.INFO, "Test '" + method.getName() + "' started.", "Test_Start"); // <-- NEW POSITION
@@ -113,59 +215,302 @@ public class BaseTest {
 
         long implicitWait = Long.parseLong(ConfigReader.getProperty("implicit.wait"));
         driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(implicitWait));
-        log.info("Implicit wait set to " + implicitWait + " seconds.");
+        log.info("Implicit wait set to {} seconds.", box(implicitWait));
         logAndCapture(Status.INFO, "Implicit wait set to " + implicitWait + " seconds.", "Implicit_Wait_Set");
 
         long pageLoadTimeout = Long.parseLong(ConfigReader.getProperty("page.load.timeout"));
         driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(pageLoadTimeout));
-        log.info("Page load timeout set to " + pageLoadTimeout + " seconds.");
+        log.info("Page load timeout set to {} seconds.", box(pageLoadTimeout));
         logAndCapture(Status.INFO, "Page load timeout set to " + pageLoadTimeout + " seconds.", "Page_Load_Timeout_Set");
 
-        driver.get(appUrl);
-        log.info("Navigated to URL: " + appUrl);
+        try (TimeAccounting.Span ignored = TimeAccounting.enter(TimeAccounting.Phase.NAVIGATION)) {
+            driver.get(appUrl);
+        }
+        log.info("Navigated to URL: {}", appUrl);
         logAndCapture(Status.INFO, "Navigated to URL: <a href='" + appUrl + "'>" + appUrl + "</a>", "Navigated_to_URL");
+        PagePerformance.Sample pageLoad = PagePerformance.capture(driver);
+        if (pageLoad != null) {
+            try (TimeAccounting.Span ignored = TimeAccounting.enter(TimeAccounting.Phase.REPORTING)) {
+                extentTest.get().info("Page performance: " + pageLoad);
+            }
+        }
+
+        // Throttle after the initial page load so that only the test's own navigations run under the profile
+        NetworkProfile requestedProfile = resolveNetworkProfile(method, context);
+        NetworkProfile appliedProfile = NetworkThrottling.apply(driver, requestedProfile);
+        if (requestedProfile != NetworkProfile.NONE) {
+            if (appliedProfile == requestedProfile) {
+                extentTest.get().info("Network profile: " + appliedProfile);
+            } else {
+                extentTest.get().warning("Network profile " + requestedProfile + " is not supported on " + browserName + ". Running unthrottled.");
+            }
+        }
+
+        // Last step of setup: a failure above leaves no account behind, since tearDown does not run then
+        UseTestAccount accountFixture = method.getAnnotation(UseTestAccount.class);
+        if (accountFixture != null) {
+            try {
+                setUpAccount(accountFixture, testArgs);
+            } catch (RuntimeException e) {
+                // Nor does it run after this failure: end the browser session here
+                quitDriver();
+                throw e;
+            }
+        }
         log.info("Test Setup completed");
     }
 
+    /**
+     * Registers the account of the test's data row for deletion after the test and, unless the test creates it
+     * itself, creates it over the API.
+     */
+    @SuppressWarnings("unchecked")
+    private void setUpAccount(UseTestAccount accountFixture, Object[] testArgs) {
+        if (testArgs.length == 0 || !(testArgs[0] instanceof Map)) {
+            throw new IllegalStateException("@UseTestAccount needs a data row (Map) as the first test argument");
+        }
+        Map<String, String> account = (Map<String, String>) testArgs[0];
+        if (accountFixture.create()) {
+            AccountApi.createAccount(account);
+            extentTest.get().info("Test account created over the API: " + account.get("EMAIL"));
+        }
+        accounts.set(account);
+    }
+
+    /**
+     * Deletes the account of a @UseTestAccount test over the API, if the test left it. A failed cleanup is reported
+     * but does not change the test's outcome.
+     */
+    private void tearDownAccount() {
+        Map<String, String> account = accounts.get();
+        accounts.remove();
+        if (account == null) {
+            return;
+        }
+        try {
+            if (AccountApi.deleteAccount(account.get("EMAIL"), account.get("PASSWORD")) && extentTest.get() != null) {
+                extentTest.get().info("Test account deleted over the API: " + account.get("EMAIL"));
+            }
+        } catch (Exception e) { // REST Assured also throws I/O errors unchecked
+            log.warn("Could not delete test account {}: {}", account.get("EMAIL"), e.getMessage());
+            if (extentTest.get() != null) {
+                extentTest.get().warning("Could not delete test account " + account.get("EMAIL") + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Runs the test method, unless setUp found its result in the {@link ResultCache}.
+     */
+    @Override
+    public void run(IHookCallBack callBack, ITestResult testResult) {
+        if (ResultCache.cachedSince() != null) {
+            testResult.setAttribute(ResultCache.CACHED_ATTRIBUTE, true);
+            return;
+        }
+        callBack.runTestMethod(testResult);
+    }
+
     @AfterMethod
+    @SuppressWarnings("try")
     public void tearDown(ITestResult result) {
-        if (result.getStatus() == ITestResult.FAILURE) {
-            ExtentTest currentTest = extentTest.get();
-            if (currentTest != null) {
-                currentTest.log(Status.FAIL, "Test Failed: " + result.getName());
-                currentTest.log(Status.FAIL, "Exception: " + result.getThrowable());
-                String screenshotPath = takeScreenshot(result.getName() + "_FAILURE");
-                if (screenshotPath != null) {
-                    currentTest.fail("Screenshot on Failure", MediaEntityBuilder.createScreenCaptureFromPath(screenshotPath, "Screenshot on Failure").build());
-                    log.error("Screenshot captured for failed test: " + result.getName() + " at " + screenshotPath);
+        // The account goes whatever fails while reporting; the next test on this thread must not inherit it
+        try {
+            boolean cached = ResultCache.cachedSince() != null;
+            try (TimeAccounting.Span ignored = TimeAccounting.enter(TimeAccounting.Phase.REPORTING)) {
+                if (result.getStatus() == ITestResult.FAILURE) {
+                    ExtentTest currentTest = extentTest.get();
+                    if (currentTest != null) {
+                        currentTest.log(Status.FAIL, "Test Failed: " + result.getName());
+                        currentTest.log(Status.FAIL, "Exception: " + result.getThrowable());
+                        String testId = TestLogContext.currentTestId();
+                        if (testId != null) {
+                            // Report lives in reports/, per-test logs in logs/tests/
+                            String logPath = TestLogContext.getLogFilePath(testId);
+                            currentTest.info("Test log: <a href='../" + logPath + "'>" + logPath + "</a>");
+                        }
+                        String screenshotPath = takeScreenshot(result.getName() + "_FAILURE");
+                        if (screenshotPath != null) {
+                            currentTest.fail("Screenshot on Failure", MediaEntityBuilder.createScreenCaptureFromPath(screenshotPath, "Screenshot on Failure").build());
+                            log.error("Screenshot captured for failed test: {} at {}", result.getName(), screenshotPath);
+                        }
+                    }
+                } else if (result.getStatus() == ITestResult.SUCCESS) {
+                    ExtentTest currentTest = extentTest.get();
+                    if (currentTest != null) {
+                        currentTest.log(Status.PASS, (cached ? "Test Passed (cached): " : "Test Passed: ") + result.getName());
+                    }
+                } else if (result.getStatus() == ITestResult.SKIP) {
+                    ExtentTest currentTest = extentTest.get();
+                    if (currentTest != null) {
+                        currentTest.log(Status.SKIP, "Test Skipped: " + result.getName());
+                    }
+                }
+
+                ExtentTest budgetTest = extentTest.get();
+                for (String violation : PerformanceBudget.endTest()) {
+                    if (budgetTest != null) {
+                        budgetTest.warning("Performance budget: " + violation);
+                    }
+                }
+
+                NetworkThrottling.clear();
+                String networkSummary = NetworkRecorder.end(Paths.get(System.getProperty("user.dir"), "reports"));
+                if (networkSummary != null && extentTest.get() != null) {
+                    // Written in the background; the link is valid once the suite has finished
+                    extentTest.get().info("Network capture: <a href='" + networkSummary + "'>" + networkSummary + "</a>");
+                }
+                String thirdPartySummary = ThirdPartyBlocker.end();
+                if (thirdPartySummary != null && extentTest.get() != null) {
+                    extentTest.get().info(thirdPartySummary);
                 }
             }
-        } else if (result.getStatus() == ITestResult.SUCCESS) {
-            ExtentTest currentTest = extentTest.get();
-            if (currentTest != null) {
-                currentTest.log(Status.PASS, "Test Passed: " + result.getName());
+            quitDriver(); // a cached result never started one
+            String[][] commandProfile = CommandTracer.endTest();
+            if (commandProfile != null && commandProfile.length > 1 && extentTest.get() != null) {
+                extentTest.get().info("WebDriver command profile (slowest first):");
+                extentTest.get().info(MarkupHelper.createTable(commandProfile));
             }
-        } else if (result.getStatus() == ITestResult.SKIP) {
-            ExtentTest currentTest = extentTest.get();
-            if (currentTest != null) {
-                currentTest.log(Status.SKIP, "Test Skipped: " + result.getName());
+            String[][] timeBreakdown = TimeAccounting.endTest();
+            if (timeBreakdown != null && extentTest.get() != null) {
+                extentTest.get().info("Where the time went:");
+                extentTest.get().info(MarkupHelper.createTable(timeBreakdown));
             }
+            ResultCache.endTest(result.getStatus() == ITestResult.SUCCESS, result.getStatus() == ITestResult.FAILURE);
+        } finally {
+            tearDownAccount();
         }
+        extentTest.remove();
+        log.info("Test tear down completed for: {}", result.getName());
+        String outcome = result.getStatus() == ITestResult.SUCCESS ? "PASS"
+                : result.getStatus() == ITestResult.FAILURE ? "FAIL" : result.getStatus() == ITestResult.SKIP ? "SKIP" : "UNKNOWN";
+        SuiteMetrics.TESTS_FINISHED.labels(outcome.toLowerCase()).inc();
+        FlightRecorderEvents.testFinished(outcome);
+        LiveDashboard.testFinished(TestLogContext.currentTestId(), TestLogContext.currentTestName(), outcome, result.getEndMillis() - result.getStartMillis());
+        TestLogContext.end();
+    }
 
+    /**
+     * Ends the browser session of the current test, if it started one.
+     */
+    @SuppressWarnings("try")
+    private void quitDriver() {
+        SuiteGate.sessionEnded();
+        WebDriver driver = drivers.get();
+        drivers.remove();
         if (driver != null) {
-            log.info("Closing browser...");
-            driver.quit();
-            log.info("Browser closed successfully.");
+            try (TimeAccounting.Span ignored = TimeAccounting.enter(TimeAccounting.Phase.DRIVER)) {
+                log.info("Closing browser...");
+                driver.quit();
+                log.info("Browser closed successfully.");
+            }
         }
-        extentTest.remove();
-        log.info("Test tear down completed for: " + result.getName());
+    }
+
+    /**
+     * Picks the network profile for a test: @UseNetworkProfile on the method, then on the class,
+     * then the 'network.profile' parameter of the TestNG &lt;test&gt;, then config.properties.
+     * @param method  The test method.
+     * @param context The TestNG context of the running &lt;test&gt;.
+     * @return The profile to apply; NONE if nothing is configured.
+     */
+    private NetworkProfile resolveNetworkProfile(Method method, ITestContext context) {
+        UseNetworkProfile annotation = method.getAnnotation(UseNetworkProfile.class);
+        if (annotation == null) {
+            annotation = method.getDeclaringClass().getAnnotation(UseNetworkProfile.class);
+        }
+        if (annotation != null) {
+            return annotation.value();
+        }
+        String suiteProfile = context.getCurrentXmlTest().getParameter("network.profile");
+        return NetworkProfile.fromName(suiteProfile != null ? suiteProfile : ConfigReader.getProperty("network.profile", "none"));
     }
 
     @AfterSuite
-    public void tearDownExtentReports() {
+    public void tearDownExtentReports(ITestContext context) {
+        boolean sloBreached = reportApiLatencySlos(context);
+        reportPagePerformance();
+        if (CommandTracer.hasSuiteTotals()) {
+            ExtentTest locatorTest = extent.createTest("Slowest Locators", "WebDriver command time per locator across the suite");
+            locatorTest.info(MarkupHelper.createTable(CommandTracer.getSuiteLocatorTable(20)));
+        }
+        if (TimeAccounting.hasSuiteTotals()) {
+            ExtentTest timeTest = extent.createTest("Time Accounting", "Test wall time by phase, summed over the suite");
+            timeTest.info(MarkupHelper.createTable(TimeAccounting.getSuiteTable()));
+        }
+        if (SuiteGate.isTripped()) {
+            ExtentTest gateTest = extent.createTest("Gate Failure", "The smoke gate failed; the rest of the suite was cut short");
+            gateTest.fail(String.join("<br>", SuiteGate.getSummary()));
+        }
+        if (SuitePlanner.hasPlan()) {
+            ExtentTest planTest = extent.createTest("Suite Plan", "Test methods selected by several <test>s run once");
+            planTest.info(MarkupHelper.createTable(SuitePlanner.getPlanTable()));
+        }
+        if (DurationScheduler.hasMakespans()) {
+            ExtentTest scheduleTest = extent.createTest("Schedule", "Predicted vs actual <test> makespan");
+            scheduleTest.info(MarkupHelper.createTable(DurationScheduler.getMakespanTable()));
+        }
+        ThirdPartyBlocker.persistLearnedSizes();
+        ResultCache.persist();
+        NetworkRecorder.awaitPendingWrites(30);
+        SuiteMetrics.write(Paths.get(System.getProperty("user.dir"), "reports", "metrics.txt"));
+        SuiteMetrics.stopServer();
+        LiveDashboard.stop();
+
         log.info("Flushing ExtentReports...");
         extent.flush();
         log.info("ExtentReports flushed successfully.");
+
+        if (sloBreached && Boolean.parseBoolean(ConfigReader.getProperty("api.slo.enforce", "false"))) {
+            throw new AssertionError("API latency SLOs breached. See 'API Latency SLOs' in the Extent report.");
+        }
+    }
+
+    /**
+     * Checks the API latency SLOs of this run, adds them to ExtentReports and stores the run as a baseline.
+     * @param context The TestNG context, used to find out whether the suite was green.
+     * @return True if at least one latency check failed.
+     */
+    private boolean reportApiLatencySlos(ITestContext context) {
+        if (!ApiLatencySlo.hasSamples()) {
+            return false;
+        }
+        List<ApiLatencySlo.Result> results = ApiLatencySlo.evaluate();
+        ExtentTest sloTest = extent.createTest("API Latency SLOs", "Per-endpoint response time percentiles and latency objectives");
+        sloTest.info(MarkupHelper.createTable(ApiLatencySlo.getPercentileTable()));
+
+        boolean breached = false;
+        for (ApiLatencySlo.Result result : results) {
+            sloTest.log(result.passed ? Status.PASS : Status.FAIL, result.toString());
+            if (result.passed) {
+                log.info("API latency check passed: {}", result);
+            } else {
+                log.error("API latency check failed: {}", result);
+                breached = true;
+            }
+        }
+
+        boolean suiteGreen = true;
+        for (ISuiteResult suiteResult : context.getSuite().getResults().values()) {
+            if (suiteResult.getTestContext().getFailedTests().size() > 0) {
+                suiteGreen = false;
+            }
+        }
+        ApiLatencySlo.persistRun(suiteGreen && !breached);
+        return breached;
+    }
+
+    /**
+     * Adds the per-page percentile table of all captured page loads to ExtentReports and writes the raw samples
+     * next to the report.
+     */
+    private void reportPagePerformance() {
+        if (!PagePerformance.hasSamples()) {
+            return;
+        }
+        ExtentTest perfTest = extent.createTest("Page Performance", "Browser-side Navigation Timing and paint metrics per page");
+        perfTest.info(MarkupHelper.createTable(PagePerformance.getPercentileTable()));
+        PagePerformance.writeSamples(Paths.get(System.getProperty("user.dir"), "reports", "page-performance.json"));
     }
 
     /**
@@ -173,28 +518,40 @@ public class BaseTest {
      * @param screenshotName Name of the screenshot file.
      * @return Path to the saved screenshot, or null if failed.
      */
+    @SuppressWarnings("try")
     protected String takeScreenshot(String screenshotName) {
+        WebDriver driver = getDriver();
         if (driver == null) {
             log.warn("Cannot take screenshot: WebDriver is null. Returning null path.");
             return null;
         }
-        try {
+        FlightRecorderEvents.ScreenshotEvent event = FlightRecorderEvents.beginScreenshot();
+        long start = System.nanoTime();
+        Path destPath = null;
+        try (TimeAccounting.Span ignored = TimeAccounting.enter(TimeAccounting.Phase.SCREENSHOTS)) {
             File srcFile = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
             String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmssSSS"));
             String fileName = screenshotName.replaceAll("[^a-zA-Z0-9_.-]", "") + "_" + timestamp + ".png";
-            Path destPath = Paths.get(System.getProperty("user.dir"), "reports", "screenshots", fileName);
+            destPath = Paths.get(System.getProperty("user.dir"), "reports", "screenshots", fileName);
             Files.createDirectories(destPath.getParent());
             Files.copy(srcFile.toPath(), destPath);
 
+            SuiteMetrics.SCREENSHOT_SECONDS.labels().observe(SuiteMetrics.seconds(System.nanoTime() - start));
+            SuiteMetrics.SCREENSHOT_BYTES.labels().observe(Files.size(destPath));
+
             String relativePath = "screenshots/" + fileName;
-            log.info("Screenshot captured for step '" + screenshotName + "': " + destPath.toString());
+            log.info("Screenshot captured for step '{}': {}", screenshotName, destPath);
             return relativePath;
         } catch (IOException e) {
-            log.error("Failed to take screenshot for step '" + screenshotName + "': " + e.getMessage(), e); // Log exception
+            log.error("Failed to take screenshot for step '{}': {}", screenshotName, e.getMessage(), e); // Log exception
+            destPath = null;
             return null;
         } catch (WebDriverException e) { // Catch WebDriver-specific exceptions if driver becomes invalid mid-test
-            log.error("WebDriver exception while taking screenshot for step '" + screenshotName + "': " + e.getMessage(), e);
+            log.error("WebDriver exception while taking screenshot for step '{}': {}", screenshotName, e.getMessage(), e);
+            destPath = null;
             return null;
+        } finally {
+            FlightRecorderEvents.endScreenshot(event, screenshotName, destPath);
         }
     }
 
@@ -204,21 +561,28 @@ public class BaseTest {
      * @param message The message to log.
      * @param screenshotName A descriptive name for the screenshot (used for filename and report).
      */
+    @SuppressWarnings("try")
     protected void logAndCapture(Status status, String message, String screenshotName) {
         ExtentTest currentTest = extentTest.get();
         if (currentTest != null) {
-            if (takeScreenshotAfterEachStep) {
-                String path = takeScreenshot(screenshotName);
-                if (path != null) {
-                    currentTest.log(status, message, MediaEntityBuilder.createScreenCaptureFromPath(path, screenshotName).build());
+            FlightRecorderEvents.StepEvent event = FlightRecorderEvents.beginStep();
+            LiveDashboard.step(TestLogContext.currentTestId(), TestLogContext.currentTestName(), status.toString(), message);
+            try (TimeAccounting.Span ignored = TimeAccounting.enter(TimeAccounting.Phase.REPORTING)) {
+                if (takeScreenshotAfterEachStep) {
+                    String path = takeScreenshot(screenshotName);
+                    if (path != null) {
+                        currentTest.log(status, message, MediaEntityBuilder.createScreenCaptureFromPath(path, screenshotName).build());
+                    } else {
+                        currentTest.log(status, message + " (Screenshot failed to attach)"); // More descriptive message
+                    }
                 } else {
-                    currentTest.log(status, message + " (Screenshot failed to attach)"); // More descriptive message
+                    currentTest.log(status, message);
                 }
-            } else {
-                currentTest.log(status, message);
+            } finally {
+                FlightRecorderEvents.endStep(event, status, message, screenshotName);
             }
         } else {
-            log.warn("ExtentTest instance is null. Cannot log to ExtentReports for message: " + message);
+            log.warn("ExtentTest instance is null. Cannot log to ExtentReports for message: {}", message);
         }
     }
 
@@ -230,6 +594,14 @@ public class BaseTest {
         return extentTest.get();
     }
 
+    /**
+     * Helper method to get the browser session of the current test.
+     * @return The WebDriver of the current thread, or null outside a test.
+     */
+    public static WebDriver getDriver() {
+        return drivers.get();
+    }
+
     /**
      * Generic DataProvider to fetch test data from Excel based on the test method's name.
      * This DataProvider can be used by any test method in classes extending BaseTest.
@@ -238,9 +610,10 @@ public class BaseTest {
      * @return Object[][] containing test data for the specific method, where each inner array has one Map<String, String>.
      * @throws IOException If there's an issue reading the Excel file.
      */
-    @DataProvider(name = "testDataFromExcel")
+    @DataProvider(name = "testDataFromExcel", parallel = true)
     public Object[][] getTestDataFromExcel(Method method) throws IOException {
-        log.info("DataProvider: Fetching data for test method: " + method.getName() + " from ExcelReader.");
-        return ExcelReader.getTestData(method.getName());
+        log.info("DataProvider: Fetching data for test method: {} from ExcelReader.", method.getName());
+        // On a rerun only the failed/skipped rows of the manifest; in a sharded run only the rows of this shard
+        return ShardSelector.selectRows(method, RerunManifest.selectRows(method, ExcelReader.getTestData(method.getName())));
     }
 }
@@ -0,0 +1,150 @@
+package com.sagar.automation.tests.benchmarks;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationFactory;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what one page-object log statement costs the calling test thread under the
+ * synchronous profile (log4j2.xml) and the asynchronous profile (log4j2-async.xml).
+ * Not part of testng.xml and not matched by Surefire's default includes; run it explicitly:
+ * mvn test -Dtest=LoggingOverheadBenchmark [-Pasync-logging] [-Dbench.threads=16 -Dbench.steps=20000]
+ * Results are logged and written to target/logging-benchmark.txt.
+ */
+public class LoggingOverheadBenchmark {
+    private static final Logger log = LogManager.getLogger(LoggingOverheadBenchmark.class.getName());
+
+    private static final int THREADS = Integer.getInteger("bench.threads", 16);
+    private static final int STEPS = Integer.getInteger("bench.steps", 20_000);
+    private static final int WARMUP_STEPS = 5_000;
+
+    @Test(description = "Compare per-step logging overhead of the synchronous and asynchronous logging profiles")
+    public void LoggingOverheadBenchmarkTest() throws Exception {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("Logging overhead: %d threads x %d steps per scenario on %d CPUs",
+                THREADS, STEPS, Runtime.getRuntime().availableProcessors()));
+        lines.add(String.format("%-40s %15s %15s", "Scenario", "Caller ns/step", "Drained (ms)"));
+
+        long before = 0;
+        long after = 0;
+        for (Scenario scenario : Scenario.values()) {
+            long[] result = run(scenario);
+            lines.add(String.format("%-40s %15d %15d", scenario.label, result[0], result[1]));
+            if (scenario == Scenario.SYNC_CONCATENATION) {
+                before = result[0];
+            } else if (scenario == Scenario.ASYNC_PARAMETERIZED) {
+                after = result[0];
+            }
+        }
+        lines.add(String.format("Caller-side speed-up, before (sync + concatenation) vs after (async + parameterized): %.2fx",
+                before / (double) Math.max(1, after)));
+
+        for (String line : lines) {
+            log.info(line);
+        }
+        Path output = Paths.get("target", "logging-benchmark.txt");
+        Files.createDirectories(output.getParent());
+        Files.write(output, lines, StandardCharsets.UTF_8);
+        Assert.assertTrue(before > 0 && after > 0, "Benchmark did not produce timings");
+    }
+
+    /**
+     * Runs one scenario in its own LoggerContext so that the profiles do not interfere.
+     * @return {average caller-side nanos per step, wall millis until every event was written}
+     */
+    private long[] run(Scenario scenario) throws Exception {
+        LoggerContext context = startContext(scenario);
+        try {
+            Logger logger = context.getLogger("com.sagar.automation.pages.LoginPage");
+            runWorkers(logger, scenario.parameterized, WARMUP_STEPS);
+
+            long wallStart = System.nanoTime();
+            long callerNanos = runWorkers(logger, scenario.parameterized, STEPS);
+            context.stop(30, TimeUnit.SECONDS); // Waits for the async ring buffer to drain
+            long drainedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - wallStart);
+            return new long[]{callerNanos / ((long) THREADS * STEPS), drainedMillis};
+        } finally {
+            if (!context.isStopped()) {
+                context.stop();
+            }
+        }
+    }
+
+    /**
+     * Logs a typical page-object step from every worker thread at the same time.
+     * @return Sum of the time each worker spent inside the logging calls.
+     */
+    private long runWorkers(Logger logger, boolean parameterized, int steps) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startGate = new CountDownLatch(1);
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                String email = "worker" + t + "@example.com";
+                futures.add(pool.submit(() -> {
+                    startGate.await();
+                    long start = System.nanoTime();
+                    for (int i = 0; i < steps; i++) {
+                        if (parameterized) {
+                            logger.info("Entering login email: {}", email);
+                        } else {
+                            logger.info("Entering login email: " + email);
+                        }
+                    }
+                    return System.nanoTime() - start;
+                }));
+            }
+            startGate.countDown();
+            long total = 0;
+            for (Future<Long> future : futures) {
+                total += future.get();
+            }
+            return total;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private LoggerContext startContext(Scenario scenario) {
+        File configFile = new File("src/test/resources/benchmarks/" + scenario.configFile);
+        LoggerContext context = new LoggerContext(scenario.name());
+        Configuration configuration = ConfigurationFactory.getInstance()
+                .getConfiguration(context, scenario.name(), configFile.toURI());
+        context.start(configuration);
+        return context;
+    }
+
+    private enum Scenario {
+        SYNC_CONCATENATION("sync appenders + string concatenation", "log4j2-bench-sync.xml", false),
+        SYNC_PARAMETERIZED("sync appenders + parameterized", "log4j2-bench-sync.xml", true),
+        ASYNC_CONCATENATION("async loggers + string concatenation", "log4j2-bench-async.xml", false),
+        ASYNC_PARAMETERIZED("async loggers + parameterized", "log4j2-bench-async.xml", true);
+
+        private final String label;
+        private final String configFile;
+        private final boolean parameterized;
+
+        Scenario(String label, String configFile, boolean parameterized) {
+            this.label = label;
+            this.configFile = configFile;
+            this.parameterized = parameterized;
+        }
+    }
+}